@@ -0,0 +1,108 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.benchmark;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.async.AsyncRequestValues;
+import io.github.matyrobbrt.curseforgeapi.request.async.MapAsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.async.OfValueAsyncRequest;
+
+/**
+ * Measures the cost of a request mapped three times, as in
+ * {@code makeAsyncRequest(...).map(...).map(...).map(...)}. <br>
+ * The {@code unfused} benchmarks build the chain of wrappers that
+ * {@link AsyncRequest#map(Function)} used to build, and the {@code fused} ones
+ * go through {@link AsyncRequest#map(Function)}. Run with the {@code gc}
+ * profiler (configured in the build) to compare the {@code gc.alloc.rate.norm}
+ * of each, which is the amount of bytes allocated per request.
+ * 
+ * @author matyrobbrt
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncRequestMapBenchmark {
+
+    private final Function<Integer, Integer> increment = i -> i + 1;
+    private final CompletableFuture<Integer> completed = CompletableFuture.completedFuture(1);
+
+    private AsyncRequest<Integer> futureRequest() {
+        return AsyncRequest.fromStage(completed, AsyncRequestValues.directExecutor());
+    }
+
+    @Benchmark
+    public void futureUnfused(Blackhole blackhole) {
+        new MapAsyncRequest<>(new MapAsyncRequest<>(new MapAsyncRequest<>(futureRequest(), increment), increment), increment)
+            .queue(blackhole::consume);
+    }
+
+    @Benchmark
+    public void futureFused(Blackhole blackhole) {
+        futureRequest().map(increment).map(increment).map(increment).queue(blackhole::consume);
+    }
+
+    @Benchmark
+    public Object futureUnfusedStage() {
+        return new MapAsyncRequest<>(new MapAsyncRequest<>(new MapAsyncRequest<>(futureRequest(), increment), increment), increment)
+            .toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public Object futureFusedStage() {
+        return futureRequest().map(increment).map(increment).map(increment).toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public void valueUnfused(Blackhole blackhole) {
+        new MapAsyncRequest<>(new MapAsyncRequest<>(new MapAsyncRequest<>(new OfValueAsyncRequest<>(1), increment), increment), increment)
+            .queue(blackhole::consume);
+    }
+
+    @Benchmark
+    public void valueFused(Blackhole blackhole) {
+        AsyncRequest.of(1).map(increment).map(increment).map(increment).queue(blackhole::consume);
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import io.github.matyrobbrt.curseforgeapi.CurseForgeAPI;
+import io.github.matyrobbrt.curseforgeapi.schemas.mod.Mod;
+import io.github.matyrobbrt.curseforgeapi.util.gson.RecordTypeAdapterFactory;
+
+/**
+ * Measures decoding a page of 50 mods, shaped like a {@code searchMods}
+ * response, with each mod having a few categories, screenshots and latest
+ * files. <br>
+ * The {@code reflective} benchmark decodes with the adapter that
+ * {@link RecordTypeAdapterFactory} used to create, which looked up the record
+ * components, their adapters and the constructor for every decoded object, and
+ * the {@code precompiled} one decodes with the current factory.
+ * 
+ * @author matyrobbrt
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordDecodingBenchmark {
+
+    private static final Type MOD_LIST = new TypeToken<List<Mod>>() {}.getType();
+
+    private final Gson precompiled = CurseForgeAPI.DEFAULT_GSON;
+    // Factories registered last take precedence
+    private final Gson reflective = CurseForgeAPI.DEFAULT_GSON.newBuilder()
+        .registerTypeAdapterFactory(new ReflectiveRecordTypeAdapterFactory()).create();
+
+    private String page;
+
+    @Setup
+    public void setup() {
+        final var builder = new StringBuilder("[");
+        for (int i = 0; i < 50; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            appendMod(builder, 238222 + i);
+        }
+        page = builder.append(']').toString();
+    }
+
+    @Benchmark
+    public List<Mod> precompiled() {
+        return precompiled.fromJson(new StringReader(page), MOD_LIST);
+    }
+
+    @Benchmark
+    public List<Mod> reflective() {
+        return reflective.fromJson(new StringReader(page), MOD_LIST);
+    }
+
+    private static void appendMod(StringBuilder builder, int id) {
+        builder.append("{\"id\":").append(id).append(",\"gameId\":432,\"name\":\"Just Enough Items (JEI)\",\"slug\":\"jei\",")
+            .append("\"links\":{\"websiteUrl\":\"https://www.curseforge.com/minecraft/mc-mods/jei\",\"wikiUrl\":\"\",")
+            .append("\"issuesUrl\":\"https://github.com/mezz/JustEnoughItems/issues\",\"sourceUrl\":\"https://github.com/mezz/JustEnoughItems\"},")
+            .append("\"summary\":\"View Items and Recipes\",\"status\":4,\"downloadCount\":243015837,\"isFeatured\":false,")
+            .append("\"primaryCategoryId\":423,\"categories\":[");
+        for (int i = 0; i < 3; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"id\":").append(420 + i).append(",\"gameId\":432,\"name\":\"Map and Information\",")
+                .append("\"slug\":\"map-information\",\"url\":\"https://www.curseforge.com/minecraft/mc-mods/map-information\",")
+                .append("\"iconUrl\":\"https://media.forgecdn.net/avatars/6/38/635351497437388438.png\",")
+                .append("\"dateModified\":\"2014-05-08T17:42:23.74Z\",\"isClass\":false,\"classId\":6,\"parentCategoryId\":6}");
+        }
+        builder.append("],\"classId\":6,\"authors\":[{\"id\":17072262,\"name\":\"mezz\",\"url\":\"https://www.curseforge.com/members/17072262-mezz?username=mezz\"}],")
+            .append("\"logo\":");
+        appendAsset(builder, id);
+        builder.append(",\"screenshots\":[");
+        appendAsset(builder, id);
+        builder.append(',');
+        appendAsset(builder, id);
+        builder.append("],\"mainFileId\":3847103,\"latestFiles\":[");
+        for (int i = 0; i < 3; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            appendFile(builder, id, 3847103 + i);
+        }
+        builder.append("],\"latestFilesIndexes\":[");
+        for (int i = 0; i < 6; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"gameVersion\":\"1.19.").append(i).append("\",\"fileId\":").append(3847103 + i)
+                .append(",\"filename\":\"jei-1.19.2-11.2.0.256.jar\",\"releaseType\":1,\"gameVersionTypeId\":73407,\"modLoader\":1}");
+        }
+        builder.append("],\"dateCreated\":\"2015-11-23T06:19:27.99Z\",\"dateModified\":\"2022-07-10T22:43:34.587Z\",")
+            .append("\"dateReleased\":\"2022-07-10T22:33:07.293Z\",\"allowModDistribution\":true,\"gamePopularityRank\":1,")
+            .append("\"isAvailable\":true,\"thumbsUpCount\":0}");
+    }
+
+    private static void appendAsset(StringBuilder builder, int modId) {
+        builder.append("{\"id\":29069,\"modId\":").append(modId).append(",\"title\":\"635838945588716414.jpeg\",")
+            .append("\"description\":\"\",\"thumbnailUrl\":\"https://media.forgecdn.net/avatars/thumbnails/29/69/256/256/635838945588716414.jpeg\",")
+            .append("\"url\":\"https://media.forgecdn.net/avatars/29/69/635838945588716414.jpeg\"}");
+    }
+
+    private static void appendFile(StringBuilder builder, int modId, int fileId) {
+        builder.append("{\"id\":").append(fileId).append(",\"gameId\":432,\"modId\":").append(modId)
+            .append(",\"isAvailable\":true,\"displayName\":\"jei-1.19.2-11.2.0.256.jar\",\"fileName\":\"jei-1.19.2-11.2.0.256.jar\",")
+            .append("\"releaseType\":1,\"fileStatus\":4,\"hashes\":[{\"value\":\"a1d8f6e1ab5dbc3c3c8b3c0d1b5e9bd0f6b4a6a5\",\"algo\":1},")
+            .append("{\"value\":\"0f4c53b69a4a6c84e1e5cbe3f1d1b2a1\",\"algo\":2}],\"fileDate\":\"2022-07-10T22:33:07.293Z\",")
+            .append("\"fileLength\":1107464,\"downloadCount\":35012,")
+            .append("\"downloadUrl\":\"https://edge.forgecdn.net/files/3847/103/jei-1.19.2-11.2.0.256.jar\",")
+            .append("\"gameVersions\":[\"Forge\",\"1.19.2\"],\"sortableGameVersions\":[")
+            .append("{\"gameVersionName\":\"Forge\",\"gameVersionPadded\":\"0\",\"gameVersion\":\"\",")
+            .append("\"gameVersionReleaseDate\":\"2019-08-01T00:00:00Z\",\"gameVersionTypeId\":68441},")
+            .append("{\"gameVersionName\":\"1.19.2\",\"gameVersionPadded\":\"0000000001.0000000019.0000000002\",")
+            .append("\"gameVersion\":\"1.19.2\",\"gameVersionReleaseDate\":\"2022-08-05T14:12:22.413Z\",\"gameVersionTypeId\":73407}],")
+            .append("\"dependencies\":[{\"modId\":306612,\"fileId\":0,\"relationType\":2}],\"alternateFileId\":0,")
+            .append("\"isServerPack\":false,\"fileFingerprint\":3089143260,\"modules\":[")
+            .append("{\"name\":\"META-INF\",\"fingerprint\":2786531649},{\"name\":\"mezz\",\"fingerprint\":3124624149}]}");
+    }
+
+    /**
+     * The record adapter factory as it was before the record metadata was
+     * precompiled.
+     */
+    private static final class ReflectiveRecordTypeAdapterFactory implements TypeAdapterFactory {
+
+        private static final Map<Class<?>, Object> PRIMITIVE_DEFAULTS = Map.of(byte.class, (byte) 0, int.class, 0,
+            long.class, 0L, short.class, (short) 0, double.class, 0D, float.class, 0F, char.class, '\0', boolean.class, false);
+
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            @SuppressWarnings("unchecked")
+            Class<T> clazz = (Class<T>) type.getRawType();
+            if (!clazz.isRecord()) {
+                return null;
+            }
+            TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+
+            return new TypeAdapter<T>() {
+                @Override
+                public void write(JsonWriter out, T value) throws IOException {
+                    delegate.write(out, value);
+                }
+
+                @Override
+                public T read(JsonReader reader) throws IOException {
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+                        return null;
+                    }
+                    var recordComponents = clazz.getRecordComponents();
+                    var typeMap = new HashMap<String, TypeToken<?>>();
+                    for (int i = 0; i < recordComponents.length; i++) {
+                        typeMap.put(recordComponents[i].getName(), TypeToken.get(recordComponents[i].getGenericType()));
+                    }
+                    var argsMap = new HashMap<String, Object>();
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String name = reader.nextName();
+                        if (typeMap.containsKey(name)) {
+                            argsMap.put(name, gson.getAdapter(typeMap.get(name)).read(reader));
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+
+                    var argTypes = new Class<?>[recordComponents.length];
+                    var args = new Object[recordComponents.length];
+                    for (int i = 0; i < recordComponents.length; i++) {
+                        argTypes[i] = recordComponents[i].getType();
+                        String name = recordComponents[i].getName();
+                        Object value = argsMap.get(name);
+                        TypeToken<?> type = typeMap.get(name);
+                        if (value == null && (type != null && type.getRawType().isPrimitive())) {
+                            value = PRIMITIVE_DEFAULTS.get(type.getRawType());
+                        }
+                        args[i] = value;
+                    }
+                    try {
+                        Constructor<T> constructor = clazz.getDeclaredConstructor(argTypes);
+                        constructor.setAccessible(true);
+                        return constructor.newInstance(args);
+                    } catch (NoSuchMethodException | InstantiationException | SecurityException | IllegalAccessException
+                        | IllegalArgumentException | InvocationTargetException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            };
+        }
+    }
+}
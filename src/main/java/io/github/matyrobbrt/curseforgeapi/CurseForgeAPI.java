@@ -35,8 +35,12 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -49,45 +53,56 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
 
 import io.github.matyrobbrt.curseforgeapi.annotation.Nonnull;
 import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
 import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
 import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.request.GenericRequest;
+import io.github.matyrobbrt.curseforgeapi.request.JsonBodyHandler;
 import io.github.matyrobbrt.curseforgeapi.request.Request;
 import io.github.matyrobbrt.curseforgeapi.request.Requests;
 import io.github.matyrobbrt.curseforgeapi.request.Response;
+import io.github.matyrobbrt.curseforgeapi.request.async.AsyncRequestValues;
 import io.github.matyrobbrt.curseforgeapi.request.async.OfHttpResponseAsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.cache.CachedHttpResponse;
+import io.github.matyrobbrt.curseforgeapi.request.cache.DiskCache;
+import io.github.matyrobbrt.curseforgeapi.request.cache.ResponseCache;
 import io.github.matyrobbrt.curseforgeapi.request.helper.AsyncRequestHelper;
 import io.github.matyrobbrt.curseforgeapi.request.helper.RequestHelper;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.CallingThreadExecutor;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.CoalescingInterceptor;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.ConcurrencyLimiter;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.PipelineRequest;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.PipelineRequest.Target;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.RateLimitInterceptor;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.RateLimiter;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.RequestInterceptor;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.RequestPipeline;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.RetryInterceptor;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.RetryPolicy;
 import io.github.matyrobbrt.curseforgeapi.request.uploadapi.UploadApiRequest;
 import io.github.matyrobbrt.curseforgeapi.request.uploadapi.UploadApiRequests;
-import io.github.matyrobbrt.curseforgeapi.schemas.ApiStatus;
-import io.github.matyrobbrt.curseforgeapi.schemas.HashAlgo;
-import io.github.matyrobbrt.curseforgeapi.schemas.Status;
-import io.github.matyrobbrt.curseforgeapi.schemas.file.FileRelationType;
-import io.github.matyrobbrt.curseforgeapi.schemas.file.FileReleaseType;
-import io.github.matyrobbrt.curseforgeapi.schemas.file.FileStatus;
-import io.github.matyrobbrt.curseforgeapi.schemas.mod.ModStatus;
 import io.github.matyrobbrt.curseforgeapi.util.Constants;
 import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
 import io.github.matyrobbrt.curseforgeapi.util.Utils;
 import io.github.matyrobbrt.curseforgeapi.util.Constants.GameIDs;
-import io.github.matyrobbrt.curseforgeapi.util.Constants.StatusCodes;
-import io.github.matyrobbrt.curseforgeapi.util.gson.CFSchemaEnumTypeAdapter;
+import io.github.matyrobbrt.curseforgeapi.util.gson.CFSchemaEnums;
 import io.github.matyrobbrt.curseforgeapi.util.gson.RecordTypeAdapterFactory;
 
 /**
  * The main class used for communicating with
  * <a href="https://docs.curseforge.com/">the CurseForge API</a> through HTTP
- * requests.
+ * requests. <br>
+ * {@link #close() Closing} the API shuts down the executors it created itself.
  * 
  * @author matyrobbrt
  *
  */
 @ParametersAreNonnullByDefault
-public class CurseForgeAPI {
+public class CurseForgeAPI implements AutoCloseable {
 
     /**
      * The base URL for requests to the CurseForge API.
@@ -106,12 +121,7 @@ public class CurseForgeAPI {
     public static final Gson DEFAULT_GSON = Utils.makeWithSupplier(() -> {
         final var gsonBuilder = new GsonBuilder().setPrettyPrinting().setLenient().disableHtmlEscaping().serializeNulls()
             .registerTypeAdapterFactory(new RecordTypeAdapterFactory());
-
-        final List<Class<? extends Enum<?>>> cfSchemaEnums = List.of(ApiStatus.class, FileRelationType.class,
-            FileReleaseType.class, FileStatus.class, HashAlgo.class, Status.class,
-            ModStatus.class);
-        cfSchemaEnums.forEach(e -> gsonBuilder.registerTypeAdapter(e, CFSchemaEnumTypeAdapter.constructUnsafe(e)));
-        return gsonBuilder.create();
+        return CFSchemaEnums.DEFAULT.registerTo(gsonBuilder).create();
     });
     /**
      * The factory that supplies default {@link java.net.http.HttpClient} used for
@@ -131,6 +141,13 @@ public class CurseForgeAPI {
     private final HttpClient httpClient;
     private final Gson gson;
     private final Logger logger;
+    private final RequestPipeline pipeline;
+    private final Executor callbackExecutor;
+    private final Executor decodingExecutor;
+    /**
+     * The executors created by, and only used by, this API.
+     */
+    private final List<ExecutorService> ownedExecutors;
 
     private final RequestHelper helper = new RequestHelper(this);
     private final AsyncRequestHelper asyncHelper = new AsyncRequestHelper(this);
@@ -143,7 +160,8 @@ public class CurseForgeAPI {
      *          {@link IllegalCallerException}.
      */
     private CurseForgeAPI(@Nullable String apiKey, @Nullable String uploadApiToken, HttpClient httpClient, Gson gson,
-        Logger logger) {
+        Logger logger, RequestPipeline pipeline, Executor callbackExecutor, Executor decodingExecutor,
+        List<ExecutorService> ownedExecutors) {
         // Make sure that the constructor is not called illegally, because that can
         // prevent
         // the token check, which is mandatory
@@ -155,6 +173,10 @@ public class CurseForgeAPI {
         this.httpClient = httpClient;
         this.gson = gson;
         this.logger = logger;
+        this.pipeline = pipeline;
+        this.callbackExecutor = callbackExecutor;
+        this.decodingExecutor = decodingExecutor;
+        this.ownedExecutors = ownedExecutors;
     }
 
     /**
@@ -179,6 +201,11 @@ public class CurseForgeAPI {
         this.gson = DEFAULT_GSON;
         this.httpClient = DEFAULT_HTTP_CLIENT_FACTORY.get();
         this.logger = LoggerFactory.getLogger(CurseForgeAPI.class);
+        this.pipeline = new RequestPipeline(httpClient, List.of());
+        final var executor = newCallbackExecutor();
+        this.callbackExecutor = executor;
+        this.decodingExecutor = executor;
+        this.ownedExecutors = List.of(executor);
         if (!isAuthorized())
             throw new IllegalArgumentException("Invalid API Key!");
     }
@@ -198,6 +225,11 @@ public class CurseForgeAPI {
         this.gson = gson;
         this.logger = logger;
         this.uploadApiToken = null;
+        this.pipeline = new RequestPipeline(httpClient, List.of());
+        final var executor = newCallbackExecutor();
+        this.callbackExecutor = executor;
+        this.decodingExecutor = executor;
+        this.ownedExecutors = List.of(executor);
         if (!isAuthorized())
             throw new IllegalArgumentException("Invalid API Key!");
     }
@@ -252,6 +284,34 @@ public class CurseForgeAPI {
         return httpClient;
     }
 
+    /**
+     * Gets the executor which runs the callbacks of the {@link AsyncRequest
+     * AsyncRequests} created by this API.
+     * 
+     * @return the callback executor
+     */
+    public Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    /**
+     * Shuts down the executors created by this API, such as the default callback
+     * executor. Executors given to the {@link Builder} are left running. <br>
+     * The threads of the default executors are daemon threads, so APIs which are
+     * used until the JVM exits do not need to be closed.
+     */
+    @Override
+    public void close() {
+        ownedExecutors.forEach(ExecutorService::shutdown);
+    }
+
+    /**
+     * @return the pipeline all requests go through
+     */
+    public RequestPipeline getPipeline() {
+        return pipeline;
+    }
+
     @Nullable
     public String getApiKey() {
         return apiKey;
@@ -279,18 +339,21 @@ public class CurseForgeAPI {
     }
 
     /**
-     * Sends a <b>blocking</b> request to the API
+     * Sends a <b>blocking</b> request to the API. <br>
+     * The response is decoded directly from the response stream, using
+     * {@link Request#decodeResponse(Gson, JsonReader)}.
      * 
      * @param  <R>                 the type of the request result
      * @param  request             the request to send
-     * @return                     the response of the request, deserialized from a
-     *                             {@link JsonObject} using
-     *                             {@link Request#decodeResponse(Gson, JsonObject)}}, if
+     * @return                     the response of the request, deserialized using
+     *                             {@link Request#decodeResponse(Gson, JsonReader)}, if
      *                             present
      * @throws CurseForgeException
      */
     public <R> Response<R> makeRequest(Request<? extends R> request) throws CurseForgeException {
-        return makeGenericRequest(request).map(j -> request.decodeResponse(getGson(), j));
+        try (final var decoder = new CallingThreadExecutor(decodingExecutor)) {
+            return send(apiRequest(request, JsonBodyHandler.of(gson, request, decoder)), decoder);
+        }
     }
 
     /**
@@ -302,36 +365,8 @@ public class CurseForgeAPI {
      */
     @Nonnull
     public Response<JsonObject> makeGenericRequest(GenericRequest genericRequest) throws CurseForgeException {
-        if (apiKey == null)
-            throw new CurseForgeException("Cannot make requests with a null API key!");
-        int statusCode = 0;
-        try {
-            final URL target = new URL(REQUEST_TARGET + genericRequest.endpoint());
-            final var httpRequest = Utils.makeWithSupplier(() -> {
-                var r = HttpRequest.newBuilder(URI.create(target.toString())).header("Accept", "application/json")
-                    .header("x-api-key", apiKey);
-                r = switch (genericRequest.method()) {
-                case GET -> r.GET();
-                case POST -> r.POST(BodyPublishers.ofString(genericRequest.body().toString())).header("Content-Type",
-                    "application/json");
-                case PUT -> r.PUT(BodyPublishers.ofString(genericRequest.body().toString()));
-                };
-                return r;
-            }).build();
-            final var response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-            statusCode = response.statusCode();
-            if (statusCode == StatusCodes.NOT_FOUND || statusCode == StatusCodes.API_UNAVAILABLE || statusCode == StatusCodes.GATEWAY_TIMEOUT) {
-                return Response.empty(statusCode);
-            }
-            return Response.ofNullableAndStatusCode(gson.fromJson(response.body(), JsonObject.class), statusCode);
-        } catch (InterruptedException ine) {
-            logger.error(
-                "InterruptedException while awaiting CurseForge response, which returned with the status code: ", ine);
-            Thread.currentThread().interrupt();
-            return Response.empty(statusCode);
-        } catch (Exception e) {
-            logger.info("Status code was {}", statusCode);
-            throw new CurseForgeException(e);
+        try (final var decoder = new CallingThreadExecutor(decodingExecutor)) {
+            return send(apiRequest(genericRequest, JsonBodyHandler.ofTree(gson, decoder)), decoder).map(CurseForgeAPI::asObject);
         }
     }
 
@@ -344,13 +379,13 @@ public class CurseForgeAPI {
      * @param  request             the request to send
      * @return                     the async request, which will be sent when
      *                             {@link AsyncRequest#queue} is called. The result
-     *                             is deserialized from a {@link JsonObject} using
-     *                             {@link Request#decodeResponse(Gson, JsonObject)}}, if
+     *                             is deserialized using
+     *                             {@link Request#decodeResponse(Gson, JsonReader)}, if
      *                             present
      * @throws CurseForgeException
      */
     public <R> AsyncRequest<Response<R>> makeAsyncRequest(Request<? extends R> request) throws CurseForgeException {
-        return makeAsyncGenericRequest(request).map(r -> r.map(j -> request.decodeResponse(getGson(), j)));
+        return sendAsync(apiRequest(request, JsonBodyHandler.of(gson, request, decodingExecutor)));
     }
 
     /**
@@ -364,33 +399,7 @@ public class CurseForgeAPI {
     @Nonnull
     public AsyncRequest<Response<JsonObject>> makeAsyncGenericRequest(GenericRequest genericRequest)
         throws CurseForgeException {
-        if (apiKey == null)
-            throw new CurseForgeException("Cannot make requests with a null API key!");
-        try {
-            final URL target = new URL(REQUEST_TARGET + genericRequest.endpoint());
-            final var httpRequest = Utils.makeWithSupplier(() -> {
-                var r = HttpRequest.newBuilder(URI.create(target.toString())).header("Accept", "application/json")
-                    .header("x-api-key", apiKey);
-                r = switch (genericRequest.method()) {
-                case GET -> r.GET();
-                case POST -> r.POST(BodyPublishers.ofString(genericRequest.body().toString())).header("Content-Type",
-                    "application/json");
-                case PUT -> r.PUT(BodyPublishers.ofString(genericRequest.body().toString()));
-                };
-                return r;
-            }).build();
-            return new OfHttpResponseAsyncRequest<>(httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
-                .thenApply(response -> {
-                    if (response.statusCode() == StatusCodes.NOT_FOUND || response.statusCode() == StatusCodes.API_UNAVAILABLE || response.statusCode() == StatusCodes.GATEWAY_TIMEOUT) {
-                        return Response.empty(response.statusCode());
-                    } else {
-                        return Response
-                         .ofNullableAndStatusCode(gson.fromJson(response.body(), JsonObject.class), response.statusCode());
-                    }
-                }));
-        } catch (Exception e) {
-            throw new CurseForgeException(e);
-        }
+        return sendAsync(apiRequest(genericRequest, JsonBodyHandler.ofTree(gson, decodingExecutor))).map(r -> r.map(CurseForgeAPI::asObject));
     }
 
     /********************************
@@ -406,45 +415,15 @@ public class CurseForgeAPI {
      * @param  gameSlug            the slug of the game to make the request to
      * @param  request             the request to send
      * @return                     the response of the request, deserialized from a
-     *                             {@link JsonObject} using
-     *                             {@link UploadApiRequest#decodeResponse(WrappedJson)},
-     *                             if present
+     *                             {@link JsonElement} using
+     *                             {@link UploadApiRequest#responseDecoder()}, if
+     *                             present
      * @throws CurseForgeException
      */
     public <R> Response<R> makeUploadApiRequest(String gameSlug, UploadApiRequest<? extends R> request)
         throws CurseForgeException {
-        if (uploadApiToken == null)
-            throw new CurseForgeException("Cannot make requests with a null Upload API token!");
-        int statusCode = 0;
-        try {
-            final URL target = new URL(UPLOAD_REQUEST_TARGET.formatted(gameSlug) + request.endpoint());
-            final var httpRequest = Utils.makeWithSupplier(() -> {
-                var r = HttpRequest.newBuilder(URI.create(target.toString())).header("X-Api-Token", uploadApiToken)
-                    .header("Content-Type", request.contentType() == null ? "application/json" : request.contentType());
-                r = switch (request.method()) {
-                case GET -> r.GET();
-                case POST -> r.POST(request.bodyPublisher());
-                case PUT -> r.PUT(request.bodyPublisher());
-                };
-                return r;
-            }).build();
-            final var response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-            statusCode = response.statusCode();
-            if (statusCode == StatusCodes.NOT_FOUND || statusCode == StatusCodes.API_UNAVAILABLE || statusCode == StatusCodes.GATEWAY_TIMEOUT) {
-             // A 404 returns the request apparently?
-             return Response.empty(statusCode);
-            }
-            return Response.ofNullableAndStatusCode(gson.fromJson(response.body(), JsonElement.class), statusCode)
-                .map(j -> request.responseDecoder().apply(gson, j));
-        } catch (InterruptedException ine) {
-            logger.error(
-                "InterruptedException while awaiting CurseForge Upload API response, which returned with the status code: ",
-                ine);
-            Thread.currentThread().interrupt();
-            return Response.empty(statusCode);
-        } catch (Exception e) {
-            logger.info("Status code was {}", statusCode);
-            throw new CurseForgeException(e);
+        try (final var decoder = new CallingThreadExecutor(decodingExecutor)) {
+            return send(uploadApiRequest(gameSlug, request, decoder), decoder);
         }
     }
 
@@ -458,20 +437,56 @@ public class CurseForgeAPI {
      * @param  request             the request to send
      * @return                     the async request, which will be sent when
      *                             {@link AsyncRequest#queue} is called. The result
-     *                             is deserialized from a {@link JsonObject} using
-     *                             {@link UploadApiRequest#decodeResponse(WrappedJson)},
-     *                             if present
+     *                             is deserialized from a {@link JsonElement} using
+     *                             {@link UploadApiRequest#responseDecoder()}, if
+     *                             present
      * @throws CurseForgeException
      */
     public <R> AsyncRequest<Response<R>> makeAsyncUploadApiRequest(String gameSlug,
         UploadApiRequest<? extends R> request) throws CurseForgeException {
+        return sendAsync(uploadApiRequest(gameSlug, request, decodingExecutor));
+    }
+
+    /********************************
+     * 
+     * Pipeline
+     * 
+     ********************************/
+
+    private <T> PipelineRequest<T> apiRequest(GenericRequest genericRequest, HttpResponse.BodyHandler<T> bodyHandler)
+        throws CurseForgeException {
+        if (apiKey == null)
+            throw new CurseForgeException("Cannot make requests with a null API key!");
+        try {
+            final URL target = new URL(REQUEST_TARGET + genericRequest.endpoint());
+            final var body = genericRequest.serializedBody();
+            final var httpRequest = Utils.makeWithSupplier(() -> {
+                var r = HttpRequest.newBuilder(URI.create(target.toString())).header("Accept", "application/json")
+                    .header("x-api-key", apiKey);
+                r = switch (genericRequest.method()) {
+                case GET -> r.GET();
+                case POST -> r.POST(BodyPublishers.ofString(body)).header("Content-Type", "application/json");
+                case PUT -> r.PUT(BodyPublishers.ofString(body));
+                };
+                return r;
+            }).build();
+            return new PipelineRequest<>(Target.API, genericRequest.method(), genericRequest.endpoint(), body,
+                httpRequest, bodyHandler);
+        } catch (Exception e) {
+            throw new CurseForgeException(e);
+        }
+    }
+
+    private <R> PipelineRequest<R> uploadApiRequest(String gameSlug, UploadApiRequest<? extends R> request,
+        Executor decodingExecutor) throws CurseForgeException {
         if (uploadApiToken == null)
             throw new CurseForgeException("Cannot make requests with a null Upload API token!");
         try {
             final URL target = new URL(UPLOAD_REQUEST_TARGET.formatted(gameSlug) + request.endpoint());
             final var httpRequest = Utils.makeWithSupplier(() -> {
                 var r = HttpRequest.newBuilder(URI.create(target.toString())).header("Accept", "application/json")
-                    .header("X-Api-Token", uploadApiToken);
+                    .header("X-Api-Token", uploadApiToken)
+                    .header("Content-Type", request.contentType() == null ? "application/json" : request.contentType());
                 r = switch (request.method()) {
                 case GET -> r.GET();
                 case POST -> r.POST(request.bodyPublisher());
@@ -479,16 +494,60 @@ public class CurseForgeAPI {
                 };
                 return r;
             }).build();
-            return new OfHttpResponseAsyncRequest<>(httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
-                .thenApply(response -> Response
-                    // A 404 returns the request apparently?
-                    .ofNullableAndStatusCode((response.statusCode() == StatusCodes.NOT_FOUND || response.statusCode() == StatusCodes.API_UNAVAILABLE || response.statusCode() == StatusCodes.GATEWAY_TIMEOUT) ? null : gson.fromJson(response.body(), JsonElement.class), response.statusCode())
-                    .map(j -> request.responseDecoder().apply(gson, j))));
+            final Request.StreamDecoder<R> decoder = (g, reader) -> request.responseDecoder().apply(g, JsonParser.parseReader(reader));
+            return new PipelineRequest<>(Target.UPLOAD_API, request.method(), request.endpoint(), null, httpRequest,
+                new JsonBodyHandler<>(gson, decoder, decoder, decodingExecutor));
         } catch (Exception e) {
             throw new CurseForgeException(e);
         }
     }
 
+    private static ExecutorService newCallbackExecutor() {
+        return Executors.newWorkStealingPool();
+    }
+
+    private <T> Response<T> send(PipelineRequest<T> request, CallingThreadExecutor decoder) throws CurseForgeException {
+        try {
+            // Blocking requests are decoded by the calling thread, so that they do not
+            // depend on a free thread of the decoding executor
+            return toResponse(pipeline.send(request, decoder));
+        } catch (InterruptedException ine) {
+            logger.error("InterruptedException while awaiting CurseForge {}response: ",
+                request.target() == Target.UPLOAD_API ? "Upload API " : "", ine);
+            Thread.currentThread().interrupt();
+            return Response.empty(0);
+        } catch (Exception e) {
+            throw new CurseForgeException(e);
+        }
+    }
+
+    private <T> AsyncRequest<Response<T>> sendAsync(PipelineRequest<T> request) {
+        final var exchange = pipeline.sendAsync(request);
+        final var future = exchange.thenApply(this::toResponse);
+        // Cancelling the request must abort the exchange, not only the mapping
+        future.whenComplete((r, t) -> {
+            if (future.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return new OfHttpResponseAsyncRequest<>(future, callbackExecutor);
+    }
+
+    @Nullable
+    private static JsonObject asObject(JsonElement element) {
+        return element.isJsonNull() ? null : element.getAsJsonObject();
+    }
+
+    private <T> Response<T> toResponse(HttpResponse<T> response) {
+        final var statusCode = response.statusCode();
+        if (!JsonBodyHandler.hasDecodableBody(statusCode)) {
+            // A 404 returns the request apparently?
+            return Response.empty(statusCode);
+        }
+        return Response.ofNullableAndStatusCode(response.body(), statusCode)
+            .withFreshness(CachedHttpResponse.freshnessOf(response));
+    }
+
     /**
      * A builder class used for creating {@link CurseForgeAPI} instances.
      * 
@@ -506,6 +565,16 @@ public class CurseForgeAPI {
         private Gson gson = DEFAULT_GSON;
         private Logger logger = LoggerFactory.getLogger(CurseForgeAPI.class);
         private Supplier<HttpClient> httpClient = DEFAULT_HTTP_CLIENT_FACTORY;
+        private final List<RequestInterceptor> interceptors = new ArrayList<>();
+        private RetryPolicy retryPolicy;
+        private RateLimiter rateLimiter;
+        private ConcurrencyLimiter concurrencyLimiter;
+        private boolean coalesceRequests;
+        private ResponseCache responseCache;
+        private DiskCache diskCache;
+        @Nullable
+        private Supplier<Executor> callbackExecutor;
+        private boolean ownsCallbackExecutor;
 
         /**
          * Sets the API Key used for requests to the
@@ -594,6 +663,157 @@ public class CurseForgeAPI {
             return this;
         }
 
+        /**
+         * Adds an interceptor which will be invoked for every request sent by the
+         * API. <br>
+         * Interceptors are invoked in the order they were added in, the first one
+         * being the outermost.
+         * 
+         * @param  interceptor the interceptor to add
+         * @return             the builder instance, for chaining purposes
+         */
+        public Builder addInterceptor(RequestInterceptor interceptor) {
+            this.interceptors.add(Objects.requireNonNull(interceptor, "Cannot add a null interceptor."));
+            return this;
+        }
+
+        /**
+         * Sets the policy used for retrying failed idempotent requests, such as
+         * requests which failed due to an I/O error, or that were answered with a
+         * {@link Constants.StatusCodes#API_UNAVAILABLE 503}. <br>
+         * By default, requests are not retried.
+         * 
+         * @param  retryPolicy the retry policy, or {@code null} to disable retries
+         * @return             the builder instance, for chaining purposes
+         * @see                RetryPolicy#DEFAULT
+         */
+        public Builder retryPolicy(@Nullable RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the rate limiter used for throttling requests. <br>
+         * The same rate limiter can be shared by multiple
+         * {@link CurseForgeAPI CurseForgeAPIs} using the same key. <br>
+         * By default, requests are not throttled.
+         * 
+         * @param  rateLimiter the rate limiter, or {@code null} to disable
+         *                     throttling
+         * @return             the builder instance, for chaining purposes
+         */
+        public Builder rateLimiter(@Nullable RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        /**
+         * Sets the limiter used for bounding the amount of async requests in
+         * flight. <br>
+         * By default, async requests are not limited.
+         * 
+         * @param  concurrencyLimiter the concurrency limiter, or {@code null} to
+         *                            disable limiting
+         * @return                    the builder instance, for chaining purposes
+         */
+        public Builder concurrencyLimiter(@Nullable ConcurrencyLimiter concurrencyLimiter) {
+            this.concurrencyLimiter = concurrencyLimiter;
+            return this;
+        }
+
+        /**
+         * Sets if identical idempotent requests in flight should be coalesced into
+         * a single HTTP exchange, and share the decoded response. <br>
+         * By default, requests are not coalesced.
+         * 
+         * @param  coalesceRequests if requests should be coalesced
+         * @return                  the builder instance, for chaining purposes
+         * @see                     CoalescingInterceptor
+         */
+        public Builder coalesceRequests(boolean coalesceRequests) {
+            this.coalesceRequests = coalesceRequests;
+            return this;
+        }
+
+        /**
+         * Sets the in-memory cache of decoded responses. <br>
+         * By default, responses are not cached.
+         * 
+         * @param  responseCache the response cache, or {@code null} to disable
+         *                       caching
+         * @return               the builder instance, for chaining purposes
+         */
+        public Builder responseCache(@Nullable ResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
+        /**
+         * Sets the persistent cache of responses. If an
+         * {@link #responseCache(ResponseCache) in-memory cache} is used as well,
+         * the disk cache is only used when the in-memory one misses. <br>
+         * The disk cache is not closed with the API, and should be closed by its
+         * owner. <br>
+         * By default, responses are not persisted.
+         * 
+         * @param  diskCache the disk cache, or {@code null} to disable persistence
+         * @return           the builder instance, for chaining purposes
+         */
+        public Builder diskCache(@Nullable DiskCache diskCache) {
+            this.diskCache = diskCache;
+            return this;
+        }
+
+        /**
+         * Sets the executor which runs the callbacks of the {@link AsyncRequest
+         * AsyncRequests} created by the API. Requests derived from those, such as
+         * {@link AsyncRequest#map(java.util.function.Function) mapped} ones, use the
+         * same executor. <br>
+         * By default, each API creates its own work-stealing pool, with a
+         * parallelism equal to the amount of available processors, which is shut
+         * down when the API is {@link CurseForgeAPI#close() closed}. The given
+         * executor is not shut down by the API.
+         * 
+         * @param  callbackExecutor the callback executor
+         * @return                  the builder instance, for chaining purposes
+         */
+        public Builder callbackExecutor(Executor callbackExecutor) {
+            Objects.requireNonNull(callbackExecutor, "Cannot build a CurseForgeAPI with a null callback executor.");
+            this.callbackExecutor = () -> callbackExecutor;
+            this.ownsCallbackExecutor = false;
+            return this;
+        }
+
+        /**
+         * Makes the API run each callback of the {@link AsyncRequest AsyncRequests}
+         * it creates on a new virtual thread. <br>
+         * Virtual threads are only available on Java 21 or newer.
+         * 
+         * @return                               the builder instance, for chaining
+         *                                       purposes
+         * @throws UnsupportedOperationException if the runtime does not support
+         *                                       virtual threads
+         * @see                                  #callbackExecutor(Executor)
+         */
+        public Builder virtualThreadCallbacks() {
+            // Looked up reflectively, as the library targets Java 17
+            final java.lang.reflect.Method factory;
+            try {
+                factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            } catch (NoSuchMethodException e) {
+                throw new UnsupportedOperationException("Virtual threads require Java 21 or newer.", e);
+            }
+            this.callbackExecutor = () -> {
+                try {
+                    return (Executor) factory.invoke(null);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Could not create a virtual thread executor.", e);
+                }
+            };
+            this.ownsCallbackExecutor = true;
+            return this;
+        }
+
         /**
          * Builds the {@link io.github.matyrobbrt.curseforgeapi.CurseForgeAPI} based on
          * the configurations of this Builder.
@@ -603,12 +823,55 @@ public class CurseForgeAPI {
          *                        but invalid
          */
         public CurseForgeAPI build() throws LoginException {
-            final var api = new CurseForgeAPI(apiKey, uploadApiToken, httpClient.get(), gson, logger);
-            if (apiKey != null && !api.isAuthorized())  throw new LoginException("The apiKey provided is invalid.");
+            final var client = httpClient.get();
+            final var ownedExecutors = new ArrayList<ExecutorService>(2);
+            final var callbacks = callbackExecutor == null ? newCallbackExecutor() : callbackExecutor.get();
+            if (callbackExecutor == null || ownsCallbackExecutor) {
+                ownedExecutors.add((ExecutorService) callbacks);
+            }
+            // Decoding blocks on the response stream, so it cannot run directly on
+            // the thread delivering the response
+            Executor decoding = callbacks;
+            if (callbacks == AsyncRequestValues.directExecutor()) {
+                final var executor = newCallbackExecutor();
+                ownedExecutors.add(executor);
+                decoding = executor;
+            }
+            final var api = new CurseForgeAPI(apiKey, uploadApiToken, client, gson, logger,
+                new RequestPipeline(client, buildInterceptors()), callbacks, decoding, List.copyOf(ownedExecutors));
+            if (apiKey != null && !api.isAuthorized()) {
+                api.close();
+                throw new LoginException("The apiKey provided is invalid.");
+            }
             if (uploadApiToken != null && !api.isAuthorizedForUpload()) {
+                api.close();
                 throw new LoginException("The uploadApiToken provided is invalid.");
             }
             return api;
         }
+
+        private List<RequestInterceptor> buildInterceptors() {
+            final var all = new ArrayList<RequestInterceptor>();
+            if (responseCache != null) {
+                all.add(responseCache);
+            }
+            if (diskCache != null) {
+                all.add(diskCache);
+            }
+            if (coalesceRequests) {
+                all.add(new CoalescingInterceptor());
+            }
+            all.addAll(interceptors);
+            if (retryPolicy != null) {
+                all.add(new RetryInterceptor(retryPolicy));
+            }
+            if (rateLimiter != null) {
+                all.add(new RateLimitInterceptor(rateLimiter));
+            }
+            if (concurrencyLimiter != null) {
+                all.add(concurrencyLimiter);
+            }
+            return all;
+        }
     }
 }
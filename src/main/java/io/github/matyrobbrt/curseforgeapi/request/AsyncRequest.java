@@ -27,8 +27,14 @@
 
 package io.github.matyrobbrt.curseforgeapi.request;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
@@ -40,7 +46,10 @@ import org.slf4j.LoggerFactory;
 
 import io.github.matyrobbrt.curseforgeapi.annotation.Nonnull;
 import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.request.async.AllOfAsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.async.AnyOfAsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.request.async.AsyncRequestValues;
+import io.github.matyrobbrt.curseforgeapi.request.async.DeadlineAsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.request.async.EmptyAsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.request.async.FlatMapAsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.request.async.MapAsyncRequest;
@@ -61,6 +70,16 @@ public interface AsyncRequest<T> {
 
     Logger LOGGER = LoggerFactory.getLogger(AsyncRequest.class);
 
+    /**
+     * Sets the executor used for running the callbacks of requests which were not
+     * created by a {@link io.github.matyrobbrt.curseforgeapi.CurseForgeAPI}.
+     * 
+     * @param      executor the executor
+     * @deprecated          This executor is shared by the whole JVM. Use a
+     *                      per-API executor, set through
+     *                      {@link io.github.matyrobbrt.curseforgeapi.CurseForgeAPI.Builder#callbackExecutor(Executor)}.
+     */
+    @Deprecated(since = "2.3.2")
     static void setFutureExecutor(@Nonnull Executor executor) {
         AsyncRequestValues.setFutureExecutor(executor);
     }
@@ -99,6 +118,32 @@ public interface AsyncRequest<T> {
         return new OfCompletableFutureAsyncRequest<>(CompletableFuture.supplyAsync(supplier));
     }
 
+    /**
+     * Makes an {@link AsyncRequest} backed by the given {@code stage}. Its
+     * callbacks run directly on the thread completing the stage.
+     * 
+     * @param  <T>   the type of the request
+     * @param  stage the stage backing the request
+     * @return       the request
+     */
+    public static <T> AsyncRequest<T> fromStage(@Nonnull CompletionStage<T> stage) {
+        return fromStage(stage, AsyncRequestValues.directExecutor());
+    }
+
+    /**
+     * Makes an {@link AsyncRequest} backed by the given {@code stage}, running its
+     * callbacks on the {@code executor}.
+     * 
+     * @param  <T>      the type of the request
+     * @param  stage    the stage backing the request
+     * @param  executor the executor running the callbacks of the request
+     * @return          the request
+     */
+    public static <T> AsyncRequest<T> fromStage(@Nonnull CompletionStage<T> stage, @Nonnull Executor executor) {
+        // A CompletableFuture returns itself, so this does not allocate in the common case
+        return new OfCompletableFutureAsyncRequest<>(stage.toCompletableFuture(), Objects.requireNonNull(executor));
+    }
+
     /**
      * Makes an {@link AsyncRequest} which has been completed with the provided
      * {@code value}.
@@ -134,6 +179,113 @@ public interface AsyncRequest<T> {
         return (AsyncRequest<T>) EmptyAsyncRequest.INSTANCE;
     }
 
+    /**
+     * Makes an {@link AsyncRequest} which joins the results of all the
+     * {@code requests}, in their iteration order. The request fails as soon as
+     * one of the {@code requests} fails, cancelling the others.
+     * 
+     * @param  <T>      the type of the results
+     * @param  requests the requests to join
+     * @return          the request
+     */
+    public static <T> AsyncRequest<List<T>> allOf(@Nonnull Collection<? extends AsyncRequest<? extends T>> requests) {
+        return allOf(requests, FailureMode.FAIL_FAST, Runnable::run);
+    }
+
+    /**
+     * Makes an {@link AsyncRequest} which joins the results of all the
+     * {@code requests}, in their iteration order.
+     * 
+     * @param  <T>         the type of the results
+     * @param  requests    the requests to join
+     * @param  failureMode how failures of the {@code requests} are handled
+     * @param  executor    the executor which runs the callbacks of the joined
+     *                     request
+     * @return             the request
+     */
+    public static <T> AsyncRequest<List<T>> allOf(@Nonnull Collection<? extends AsyncRequest<? extends T>> requests,
+        @Nonnull FailureMode failureMode, @Nonnull Executor executor) {
+        return new AllOfAsyncRequest<AsyncRequest<? extends T>, T>(List.copyOf(requests), Function.identity(),
+            Math.max(requests.size(), 1), failureMode, executor);
+    }
+
+    /**
+     * Makes an {@link AsyncRequest} which completes with the result of the first
+     * of the {@code requests} that succeeds, cancelling the others. If all of
+     * them fail, the request fails with a {@link BatchRequestException}.
+     * 
+     * @param  <T>      the type of the result
+     * @param  requests the requests
+     * @return          the request
+     */
+    public static <T> AsyncRequest<T> anyOf(@Nonnull Collection<? extends AsyncRequest<? extends T>> requests) {
+        return anyOf(requests, Runnable::run);
+    }
+
+    /**
+     * Makes an {@link AsyncRequest} which completes with the result of the first
+     * of the {@code requests} that succeeds, cancelling the others. If all of
+     * them fail, the request fails with a {@link BatchRequestException}.
+     * 
+     * @param  <T>      the type of the result
+     * @param  requests the requests
+     * @param  executor the executor which runs the callbacks of the request
+     * @return          the request
+     */
+    public static <T> AsyncRequest<T> anyOf(@Nonnull Collection<? extends AsyncRequest<? extends T>> requests,
+        @Nonnull Executor executor) {
+        return new AnyOfAsyncRequest<>(List.copyOf(requests), executor);
+    }
+
+    /**
+     * Makes an {@link AsyncRequest} which maps each of the {@code inputs} to a
+     * request using the {@code requester}, and joins their results in the
+     * iteration order of the {@code inputs}. <br>
+     * Requests are only created once a slot is free, so at most
+     * {@code maxParallelism} of them are in flight at the same time. The request
+     * fails as soon as one of the created requests fails, cancelling the others.
+     * 
+     * <pre>
+     * {@code AsyncRequest.traverse(modIds, id -> helper.getMod(id), 16)}
+     * </pre>
+     * 
+     * @param  <I>            the type of the inputs
+     * @param  <T>            the type of the results
+     * @param  inputs         the inputs
+     * @param  requester      the function creating the request for an input
+     * @param  maxParallelism the maximum amount of requests in flight at the
+     *                        same time
+     * @return                the request
+     */
+    public static <I, T> AsyncRequest<List<T>> traverse(@Nonnull Collection<? extends I> inputs,
+        @Nonnull Function<? super I, ? extends AsyncRequest<? extends T>> requester, int maxParallelism) {
+        return traverse(inputs, requester, maxParallelism, FailureMode.FAIL_FAST, Runnable::run);
+    }
+
+    /**
+     * Makes an {@link AsyncRequest} which maps each of the {@code inputs} to a
+     * request using the {@code requester}, and joins their results in the
+     * iteration order of the {@code inputs}. <br>
+     * Requests are only created once a slot is free, so at most
+     * {@code maxParallelism} of them are in flight at the same time.
+     * 
+     * @param  <I>            the type of the inputs
+     * @param  <T>            the type of the results
+     * @param  inputs         the inputs
+     * @param  requester      the function creating the request for an input
+     * @param  maxParallelism the maximum amount of requests in flight at the
+     *                        same time
+     * @param  failureMode    how failures of the created requests are handled
+     * @param  executor       the executor which runs the callbacks of the joined
+     *                        request
+     * @return                the request
+     */
+    public static <I, T> AsyncRequest<List<T>> traverse(@Nonnull Collection<? extends I> inputs,
+        @Nonnull Function<? super I, ? extends AsyncRequest<? extends T>> requester, int maxParallelism,
+        @Nonnull FailureMode failureMode, @Nonnull Executor executor) {
+        return new AllOfAsyncRequest<>(List.copyOf(inputs), requester, maxParallelism, failureMode, executor);
+    }
+
     /**
      * Maps this request
      * 
@@ -206,6 +358,37 @@ public interface AsyncRequest<T> {
         });
     }
 
+    /**
+     * Makes this request fail with a {@link java.util.concurrent.TimeoutException}
+     * if it does not complete within the {@code timeout}, measured from this
+     * call. When the timeout elapses, this request is {@link #cancel()
+     * cancelled}.
+     * 
+     * @param  timeout the timeout
+     * @return         the request
+     * @see            #deadline(Instant)
+     */
+    @Nonnull
+    default AsyncRequest<T> timeout(@Nonnull Duration timeout) {
+        return deadline(Instant.now().plus(timeout));
+    }
+
+    /**
+     * Makes this request fail with a {@link java.util.concurrent.TimeoutException}
+     * if it does not complete before the {@code deadline}. When the deadline
+     * passes, this request is {@link #cancel() cancelled}, along with the
+     * requests nested in it (such as the ones created by
+     * {@link #flatMap(Function)}), so the whole chain is bound by the remaining
+     * budget. If a deadline was already set, the earliest one is used.
+     * 
+     * @param  deadline the deadline
+     * @return          the request
+     */
+    @Nonnull
+    default AsyncRequest<T> deadline(@Nonnull Instant deadline) {
+        return new DeadlineAsyncRequest<>(this, Objects.requireNonNull(deadline));
+    }
+
     /**
      * Merges this request with the {@code other} one.
      * 
@@ -229,6 +412,55 @@ public interface AsyncRequest<T> {
     @Nullable
     T get() throws InterruptedException, ExecutionException;
 
+    /**
+     * Gets a {@link CompletableFuture} which completes with the result of this
+     * request. Requests backed by a future return it directly, and
+     * {@link #map(Function) mapped} requests derive their future from the one of
+     * their parent, so no callbacks are queued. <br>
+     * Cancelling the future {@link #cancel() cancels} this request. Unlike the
+     * callbacks passed to {@link #queue(Consumer, Consumer)}, the dependents of
+     * the future are not run on the callback executor of the API, but follow the
+     * usual {@link CompletableFuture} rules.
+     * 
+     * @return the future
+     */
+    @Nonnull
+    default CompletableFuture<T> toCompletableFuture() {
+        final var future = new CompletableFuture<T>();
+        queue(future::complete, future::completeExceptionally);
+        future.whenComplete((r, t) -> {
+            if (future.isCancelled()) {
+                cancel();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Gets this request as a {@link CompletionStage}.
+     * 
+     * @return the stage
+     * @see    #toCompletableFuture()
+     */
+    @Nonnull
+    default CompletionStage<T> asStage() {
+        return toCompletableFuture();
+    }
+
+    /**
+     * Attempts to cancel this request. A cancelled request fails with a
+     * {@link java.util.concurrent.CancellationException}. <br>
+     * Cancellation propagates to the requests this one was derived from, and
+     * eventually aborts the HTTP exchange. <br>
+     * Requests which cannot be cancelled, or have already completed, are not
+     * affected.
+     * 
+     * @return {@code true} if the request was cancelled
+     */
+    default boolean cancel() {
+        return false;
+    }
+
     /**
      * Queues the action for later completion.
      */
@@ -260,4 +492,60 @@ public interface AsyncRequest<T> {
 
     }
 
+    /**
+     * Determines how a request joining multiple requests handles their failures.
+     * 
+     * @see AsyncRequest#allOf(Collection, FailureMode, Executor)
+     * @see AsyncRequest#traverse(Collection, Function, int, FailureMode, Executor)
+     */
+    enum FailureMode {
+        /**
+         * Fails the joined request as soon as one of the requests fails, and
+         * cancels the requests still in flight.
+         */
+        FAIL_FAST,
+        /**
+         * Waits for all the requests to complete. If any of them failed, the
+         * joined request fails with a {@link BatchRequestException} containing
+         * both the results and the failures.
+         */
+        COLLECT_ERRORS
+    }
+
+    /**
+     * An exception thrown by requests joining multiple requests, when the
+     * results of all of those cannot be provided.
+     */
+    public static final class BatchRequestException extends Exception {
+
+        private static final long serialVersionUID = -2811473562418342853L;
+
+        private final transient List<?> results;
+        private final transient List<Throwable> failures;
+
+        public BatchRequestException(List<?> results, List<Throwable> failures) {
+            super(failures.stream().filter(Objects::nonNull).count() + " out of " + failures.size()
+                + " requests failed", failures.stream().filter(Objects::nonNull).findFirst().orElse(null));
+            this.results = Collections.unmodifiableList(results);
+            this.failures = Collections.unmodifiableList(failures);
+            failures.stream().filter(Objects::nonNull).skip(1).forEach(this::addSuppressed);
+        }
+
+        /**
+         * @return the results of the requests, in order, or {@code null} for the
+         *         requests which failed
+         */
+        public List<?> getResults() {
+            return results;
+        }
+
+        /**
+         * @return the failures of the requests, in order, or {@code null} for the
+         *         requests which succeeded
+         */
+        public List<Throwable> getFailures() {
+            return failures;
+        }
+    }
+
 }
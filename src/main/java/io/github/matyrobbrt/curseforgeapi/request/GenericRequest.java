@@ -28,6 +28,7 @@
 package io.github.matyrobbrt.curseforgeapi.request;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 
 import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
 
@@ -35,16 +36,33 @@ public class GenericRequest {
     private final String endpoint;
     private final Method method;
     @Nullable
-    private final JsonElement body;
+    private volatile JsonElement body;
+    @Nullable
+    private final String serializedBody;
     
     public GenericRequest(String endpoint, Method method) {
         this(endpoint, method, null);
     }
     
     public GenericRequest(String endpoint, Method method, @Nullable JsonElement body) {
+        this(endpoint, method, body, null);
+    }
+
+    /**
+     * Creates a request with a body which may already be serialized. <br>
+     * If the {@code serializedBody} is not {@code null}, it is sent as-is, and the
+     * {@link #body() JSON body} is only parsed from it when requested.
+     * 
+     * @param endpoint       the endpoint of the request
+     * @param method         the method of the request
+     * @param body           the body of the request
+     * @param serializedBody the already serialized body of the request
+     */
+    protected GenericRequest(String endpoint, Method method, @Nullable JsonElement body, @Nullable String serializedBody) {
         this.endpoint = endpoint;
         this.method = method;
         this.body = body;
+        this.serializedBody = serializedBody;
     }
 
     public Method method() {
@@ -57,6 +75,25 @@ public class GenericRequest {
 
     @Nullable
     public JsonElement body() {
+        if (body == null && serializedBody != null) {
+            body = JsonParser.parseString(serializedBody);
+        }
         return body;
     }
+
+    /**
+     * @return the body of this request, serialized as it is sent
+     */
+    @Nullable
+    public String serializedBody() {
+        if (serializedBody != null) {
+            return serializedBody;
+        }
+        return body == null ? null : body.toString();
+    }
+
+    @Nullable
+    String preSerializedBody() {
+        return serializedBody;
+    }
 }
\ No newline at end of file
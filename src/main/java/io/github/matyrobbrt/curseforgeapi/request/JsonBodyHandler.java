@@ -0,0 +1,277 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.util.Constants.StatusCodes;
+
+/**
+ * A {@link BodyHandler} which decodes JSON responses directly from the response
+ * stream, as the bytes are received, without buffering the response into a
+ * {@link String} first. <br>
+ * Responses with a status code that does not carry a decodable body (see
+ * {@link #hasDecodableBody(int)}) are discarded, and their body will be
+ * {@code null}. Empty responses are decoded as {@code null} as well.
+ * 
+ * <p>
+ * <strong>Note:</strong> decoding blocks while waiting for the response bytes,
+ * so it is executed on the {@code executor} of the handler, and never on the
+ * thread delivering the bytes, which would stall the client. Handlers without
+ * an executor receive the whole body first, and decode it once it is complete.
+ * 
+ * <p>
+ * Two handlers are equal if they use the same {@link Gson} and their
+ * {@code key}s are equal, meaning that they decode responses the same way.
+ *
+ * @author     matyrobbrt
+ *
+ * @param  <T>     the type of the decoded body
+ * @param  gson    the gson to decode with
+ * @param  decoder the decoder
+ * @param  key      a key identifying the decoder
+ * @param  executor the executor the body is decoded on, or {@code null} to
+ *                  decode the body once it is received in full
+ */
+@ParametersAreNonnullByDefault
+public record JsonBodyHandler<T> (Gson gson, Request.StreamDecoder<T> decoder, Object key, @Nullable Executor executor) implements BodyHandler<T> {
+
+    private static final Request.StreamDecoder<JsonElement> TREE_DECODER = (g, reader) -> JsonParser.parseReader(reader);
+
+    /**
+     * Creates a body handler which is only equal to handlers using the same
+     * {@code decoder} instance.
+     *
+     * @param gson    the gson to decode with
+     * @param decoder the decoder
+     */
+    public JsonBodyHandler(Gson gson, Request.StreamDecoder<T> decoder) {
+        this(gson, decoder, decoder);
+    }
+
+    /**
+     * Creates a body handler which decodes the body once it is received in full.
+     *
+     * @param gson    the gson to decode with
+     * @param decoder the decoder
+     * @param key     a key identifying the decoder
+     */
+    public JsonBodyHandler(Gson gson, Request.StreamDecoder<T> decoder, Object key) {
+        this(gson, decoder, key, null);
+    }
+
+    /**
+     * Creates a body handler which decodes the response using the
+     * {@code request}.
+     *
+     * @param  <T>     the type of the response
+     * @param  gson    the gson to decode with
+     * @param  request the request whose response to decode
+     * @return         the body handler
+     * @see            Request#decodeResponse(Gson, JsonReader)
+     */
+    public static <T> JsonBodyHandler<T> of(Gson gson, Request<? extends T> request) {
+        return new JsonBodyHandler<>(gson, request::decodeResponse, request.decoderKey());
+    }
+
+    /**
+     * Creates a body handler which decodes the response using the
+     * {@code request}, on the given {@code executor}.
+     *
+     * @param  <T>      the type of the response
+     * @param  gson     the gson to decode with
+     * @param  request  the request whose response to decode
+     * @param  executor the executor the body is decoded on
+     * @return          the body handler
+     * @see             Request#decodeResponse(Gson, JsonReader)
+     */
+    public static <T> JsonBodyHandler<T> of(Gson gson, Request<? extends T> request, Executor executor) {
+        return new JsonBodyHandler<>(gson, request::decodeResponse, request.decoderKey(), executor);
+    }
+
+    /**
+     * Creates a body handler which parses the response into a {@link JsonElement}
+     * tree.
+     *
+     * @param  gson the gson
+     * @return      the body handler
+     */
+    public static JsonBodyHandler<JsonElement> ofTree(Gson gson) {
+        return new JsonBodyHandler<>(gson, TREE_DECODER);
+    }
+
+    /**
+     * Creates a body handler which parses the response into a {@link JsonElement}
+     * tree, on the given {@code executor}.
+     *
+     * @param  gson     the gson
+     * @param  executor the executor the body is decoded on
+     * @return          the body handler
+     */
+    public static JsonBodyHandler<JsonElement> ofTree(Gson gson, Executor executor) {
+        return new JsonBodyHandler<>(gson, TREE_DECODER, TREE_DECODER, executor);
+    }
+
+    /**
+     * Checks if responses with the given {@code statusCode} have a body that
+     * should be decoded.
+     *
+     * @param  statusCode the status code of the response
+     * @return            if the body should be decoded
+     */
+    public static boolean hasDecodableBody(int statusCode) {
+        return statusCode != StatusCodes.NOT_MODIFIED && statusCode != StatusCodes.NOT_FOUND
+            && statusCode != StatusCodes.TOO_MANY_REQUESTS
+            && statusCode != StatusCodes.API_UNAVAILABLE && statusCode != StatusCodes.GATEWAY_TIMEOUT;
+    }
+
+    @Override
+    public BodySubscriber<T> apply(ResponseInfo responseInfo) {
+        if (!hasDecodableBody(responseInfo.statusCode())) {
+            return BodySubscribers.replacing(null);
+        }
+        final var charset = charsetOf(responseInfo);
+        if (executor == null) {
+            // The whole body is available when it is decoded, so decoding never
+            // waits for bytes, and can run on the thread completing the body
+            return BodySubscribers.mapping(BodySubscribers.ofByteArray(), bytes -> {
+                try {
+                    return decode(new ByteArrayInputStream(bytes), charset);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        final var stream = BodySubscribers.ofInputStream();
+        return new BodySubscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                stream.onSubscribe(subscription);
+            }
+
+            @Override
+            public void onNext(List<ByteBuffer> item) {
+                stream.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                stream.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                stream.onComplete();
+            }
+
+            @Override
+            public CompletionStage<T> getBody() {
+                // The stream is available as soon as the response starts, but
+                // reading it blocks until the bytes are received, so it must not
+                // be read on the thread completing the stage
+                return stream.getBody().thenApplyAsync(in -> {
+                    try {
+                        return decode(in, charset);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, executor);
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof JsonBodyHandler<?> other && gson == other.gson && key.equals(other.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(gson) * 31 + key.hashCode();
+    }
+
+    @Nullable
+    private T decode(InputStream in, Charset charset) throws IOException {
+        try (final var reader = new JsonReader(new InputStreamReader(in, charset))) {
+            reader.setStrictness(Strictness.LENIENT);
+            try {
+                reader.peek();
+            } catch (EOFException e) {
+                // Empty response
+                return null;
+            }
+            final var value = decoder.decode(gson, reader);
+            // Read the rest of the body before closing the stream, as closing it
+            // early cancels the exchange, so handlers wrapping this one would never
+            // see the body complete
+            in.transferTo(OutputStream.nullOutputStream());
+            return value;
+        }
+    }
+
+    private static Charset charsetOf(ResponseInfo responseInfo) {
+        return responseInfo.headers().firstValue("Content-Type").map(type -> {
+            for (final var param : type.split(";")) {
+                final var trimmed = param.trim();
+                if (trimmed.regionMatches(true, 0, "charset=", 0, 8)) {
+                    try {
+                        return Charset.forName(trimmed.substring(8).replace("\"", ""));
+                    } catch (IllegalArgumentException e) {
+                        return null;
+                    }
+                }
+            }
+            return null;
+        }).orElse(StandardCharsets.UTF_8);
+    }
+}
@@ -30,10 +30,16 @@ package io.github.matyrobbrt.curseforgeapi.request;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
 import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
 import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.util.gson.JsonUtils;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -42,26 +48,76 @@ public class Request<R> extends GenericRequest {
     private Type type = null;
 
     private final BiFunction<Gson, JsonObject, R> responseDecoder;
+    @Nullable
+    private final StreamDecoder<R> streamDecoder;
+    private final Object decoderKey;
 
     public Request(String endpoint, Method method, JsonElement body, BiFunction<Gson, JsonObject, R> responseDecoder) {
-        super(endpoint, method, body);
+        this(endpoint, method, body, responseDecoder, null);
+    }
+
+    /**
+     * Creates a request which can be decoded both from an already parsed
+     * {@link JsonObject} and directly from the response stream.
+     *
+     * @param endpoint        the endpoint of the request
+     * @param method          the method of the request
+     * @param body            the body of the request
+     * @param responseDecoder the decoder used for already parsed responses
+     * @param streamDecoder   the decoder used for reading the response directly
+     *                        from the stream. If {@code null}, the response will be
+     *                        parsed into a {@link JsonObject} first, and decoded
+     *                        using the {@code responseDecoder}
+     */
+    public Request(String endpoint, Method method, @Nullable JsonElement body, BiFunction<Gson, JsonObject, R> responseDecoder, @Nullable StreamDecoder<R> streamDecoder) {
+        this(endpoint, method, body, responseDecoder, streamDecoder, responseDecoder);
+    }
+
+    private Request(String endpoint, Method method, @Nullable JsonElement body, BiFunction<Gson, JsonObject, R> responseDecoder, @Nullable StreamDecoder<R> streamDecoder, Object decoderKey) {
+        this(endpoint, method, body, null, responseDecoder, streamDecoder, decoderKey);
+    }
+
+    private Request(String endpoint, Method method, @Nullable JsonElement body, @Nullable String serializedBody, BiFunction<Gson, JsonObject, R> responseDecoder, @Nullable StreamDecoder<R> streamDecoder, Object decoderKey) {
+        super(endpoint, method, body, serializedBody);
         this.responseDecoder = responseDecoder;
+        this.streamDecoder = streamDecoder;
+        this.decoderKey = decoderKey;
     }
     
     public Request(String endpoint, Method method, BiFunction<Gson, JsonObject, R> responseDecoder) {
         this(endpoint, method, null, responseDecoder);
     }
     
+    /**
+     * Creates a request whose response is the value at the member path
+     * {@code responseObjectName}, like {@code data}, or {@code data.fuzzyMatches}
+     * for nested values. <br>
+     * When decoded from the response stream, every member which is not on the
+     * path is skipped without being parsed.
+     *
+     * @param endpoint           the endpoint of the request
+     * @param method             the method of the request
+     * @param body               the body of the request
+     * @param responseObjectName the path of the value to decode, with its member
+     *                           names separated by dots
+     * @param type               the type of the value
+     */
     public Request(String endpoint, Method method, JsonElement body, String responseObjectName, Type type) {
         super(endpoint, method, body);
         this.type = type;
+        final var path = JsonUtils.splitPath(responseObjectName);
         this.responseDecoder = (g, j) -> {
-            final var dataElement = j.get(responseObjectName);
+            final var dataElement = JsonUtils.getPath(j, path);
+            if (dataElement == null) {
+                return null;
+            }
             if (dataElement.isJsonPrimitive()) {
                 return g.fromJson(dataElement.getAsJsonPrimitive(), type);
             }
             return g.fromJson(dataElement.isJsonArray() ? dataElement.getAsJsonArray() : dataElement.getAsJsonObject(), type);
         };
+        this.streamDecoder = (g, reader) -> JsonUtils.readPath(reader, path, g.getAdapter(Request.<R>typeToken(type)));
+        this.decoderKey = List.of(responseObjectName, type);
     }
     
     public Request(String endpoint, Method method, String responseObjectName, Type type) {
@@ -72,12 +128,83 @@ public class Request<R> extends GenericRequest {
         return responseDecoder.apply(gson, response);
     }
 
+    /**
+     * Decodes the response of this request directly from the given
+     * {@code reader}. <br>
+     * If this request has no {@link StreamDecoder}, the response will be parsed
+     * into a {@link JsonObject} first, and decoded using
+     * {@link #decodeResponse(Gson, JsonObject)}.
+     *
+     * @param  gson        the gson to decode with
+     * @param  reader      the reader to decode from
+     * @return             the decoded response
+     * @throws IOException if the response could not be read
+     */
+    public R decodeResponse(Gson gson, JsonReader reader) throws IOException {
+        if (streamDecoder != null) {
+            return streamDecoder.decode(gson, reader);
+        }
+        return decodeResponse(gson, JsonParser.parseReader(reader).getAsJsonObject());
+    }
+
+    /**
+     * Gets a key identifying how the response of this request is decoded. Two
+     * requests with equal decoder keys decode the same response into equal
+     * objects.
+     *
+     * @return the decoder key
+     */
+    public Object decoderKey() {
+        return decoderKey;
+    }
+
+    /**
+     * Creates a copy of this request which sends the given, already serialized,
+     * JSON body. This avoids building a {@link JsonElement} tree for bodies which
+     * are cheaper to write directly, like large arrays of ids.
+     *
+     * @param  serializedBody the JSON body to send
+     * @return                the new request
+     */
+    public Request<R> withSerializedBody(String serializedBody) {
+        final var request = new Request<>(endpoint(), method(), null, serializedBody, responseDecoder, streamDecoder, decoderKey);
+        request.type = type;
+        return request;
+    }
+
     public <T> Request<T> map(Function<R, T> mapper) {
-        return new Request<>(endpoint(), method(), body(), (gson, jsonObject) -> mapper.apply(decodeResponse(gson, jsonObject)));
+        final var preSerialized = preSerializedBody();
+        return new Request<>(endpoint(), method(), preSerialized == null ? body() : null, preSerialized, (gson, jsonObject) -> mapper.apply(decodeResponse(gson, jsonObject)),
+            streamDecoder == null ? null : (gson, reader) -> mapper.apply(streamDecoder.decode(gson, reader)),
+            List.of(decoderKey, mapper));
     }
 
     @Nullable
     public Type getType() {
         return type;
     }
+
+    @SuppressWarnings("unchecked")
+    private static <T> TypeToken<T> typeToken(Type type) {
+        return (TypeToken<T>) TypeToken.get(type);
+    }
+
+    /**
+     * A decoder which reads a response directly from a {@link JsonReader}.
+     *
+     * @param <R> the type of the decoded response
+     */
+    @FunctionalInterface
+    public interface StreamDecoder<R> {
+
+        /**
+         * Decodes the response.
+         *
+         * @param  gson        the gson to decode with
+         * @param  reader      the reader positioned at the start of the response
+         * @return             the decoded response
+         * @throws IOException if the response could not be read
+         */
+        R decode(Gson gson, JsonReader reader) throws IOException;
+    }
 }
@@ -28,7 +28,6 @@
 package io.github.matyrobbrt.curseforgeapi.request;
 
 import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import io.github.matyrobbrt.curseforgeapi.annotation.Nonnull;
 import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
@@ -177,6 +176,17 @@ public final class Requests {
         return new Request<>("/v1/mods/" + modId, Method.GET, "data", Types.MOD);
     }
 
+    /**
+     * Get a list of mods.
+     *
+     * @param  modIds the ids of the mods to fetch
+     * @return the request
+     */
+    public static Request<List<Mod>> getMods(int... modIds) {
+        return new Request<List<Mod>>("/v1/mods", Method.POST, "data", Types.MOD_LIST)
+            .withSerializedBody(arrayBody("modIds", modIds));
+    }
+
     /**
      * Get the description of the mod with the specified ID in the HTML format.
      *
@@ -206,7 +216,8 @@ public final class Requests {
      * @return the request
      */
     public static Request<PaginatedData<List<Mod>>> searchModsPaginated(ModSearchQuery query) {
-        return new Request<>(format("/v1/mods/search", query.toArgs()), Method.GET, (g, j) -> PaginatedData.fromJson(g, j, Types.MOD_LIST));
+        return new Request<>(format("/v1/mods/search", query.toArgs()), Method.GET, null,
+                (g, j) -> PaginatedData.fromJson(g, j, Types.MOD_LIST), (g, r) -> PaginatedData.fromJson(g, r, Types.MOD_LIST));
     }
 
 
@@ -278,7 +289,8 @@ public final class Requests {
         return new Request<>(
                 format("/v1/mods/%s/files".formatted(modId),
                         Arguments.EMPTY.putAll(query == null ? null : query.toArgs())),
-                Method.GET, (g, j) -> PaginatedData.fromJson(g, j, Types.FILE_LIST));
+                Method.GET, null, (g, j) -> PaginatedData.fromJson(g, j, Types.FILE_LIST),
+                (g, r) -> PaginatedData.fromJson(g, r, Types.FILE_LIST));
     }
 
     /**
@@ -288,13 +300,8 @@ public final class Requests {
      * @return the request
      */
     public static Request<List<File>> getFiles(int... fileIds) {
-        final var body = new JsonObject();
-        final var array = new JsonArray();
-        for (final var id : fileIds) {
-            array.add(id);
-        }
-        body.add("fileIds", array);
-        return new Request<>("/v1/mods/files", Method.POST, body, "data", Types.FILE_LIST);
+        return new Request<List<File>>("/v1/mods/files", Method.POST, "data", Types.FILE_LIST)
+            .withSerializedBody(arrayBody("fileIds", fileIds));
     }
 
     /**
@@ -334,13 +341,8 @@ public final class Requests {
      * @return the request
      */
     public static Request<FingerprintsMatchesResult> getFingerprintMatches(long... fingerprints) {
-        final var jObj = new JsonObject();
-        final var array = new JsonArray();
-        for (var f : fingerprints) {
-            array.add(f);
-        }
-        jObj.add("fingerprints", array);
-        return new Request<>("/v1/fingerprints", Method.POST, jObj, "data", Types.FINGERPRINTS_MATCHES);
+        return new Request<FingerprintsMatchesResult>("/v1/fingerprints", Method.POST, "data", Types.FINGERPRINTS_MATCHES)
+            .withSerializedBody(arrayBody("fingerprints", fingerprints));
     }
 
     /**
@@ -351,9 +353,40 @@ public final class Requests {
      */
     public static Request<List<FingerprintFuzzyMatch>> getFingerprintsFuzzyMatches(
             @Nonnull GetFuzzyMatchesQuery query) {
-        return new Request<>("/v1/fingerprints/fuzzy", Method.POST, query.toJson(),
-                (gson, json) -> gson.fromJson(json.get("data").getAsJsonObject().get("fuzzyMatches").getAsJsonArray(),
-                        Types.FINGERPRINTS_FUZY_MATCH_LIST));
+        return new Request<>("/v1/fingerprints/fuzzy", Method.POST, query.toJson(), "data.fuzzyMatches",
+                Types.FINGERPRINTS_FUZY_MATCH_LIST);
+    }
+
+    /**
+     * Writes a JSON object with a single member holding the given {@code values},
+     * without boxing them into a {@link JsonArray}.
+     */
+    private static String arrayBody(String name, int[] values) {
+        final var builder = new StringBuilder(name.length() + 8 + values.length * 8)
+            .append("{\"").append(name).append("\":[");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(values[i]);
+        }
+        return builder.append("]}").toString();
+    }
+
+    /**
+     * Writes a JSON object with a single member holding the given {@code values},
+     * without boxing them into a {@link JsonArray}.
+     */
+    private static String arrayBody(String name, long[] values) {
+        final var builder = new StringBuilder(name.length() + 8 + values.length * 11)
+            .append("{\"").append(name).append("\":[");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(values[i]);
+        }
+        return builder.append("]}").toString();
     }
 
     public static String format(String str, @Nullable Query query) {
@@ -105,10 +105,16 @@ public final class Response<T> {
 
     private final T value;
     private final Integer statusCode;
+    private final Freshness freshness;
 
     private Response(@Nullable T value, @Nullable Integer statusCode) {
+        this(value, statusCode, Freshness.FRESH);
+    }
+
+    private Response(@Nullable T value, @Nullable Integer statusCode, Freshness freshness) {
         this.value = value;
         this.statusCode = statusCode;
+        this.freshness = freshness;
     }
 
     /**
@@ -119,6 +125,34 @@ public final class Response<T> {
         return statusCode;
     }
 
+    /**
+     * @return how fresh the value of this response is. Responses which were not
+     *         served from a cache are always {@link Freshness#FRESH fresh}
+     */
+    @Nonnull
+    public Freshness getFreshness() {
+        return freshness;
+    }
+
+    /**
+     * @return {@code true} if this response was served from a cache after it
+     *         expired, otherwise {@code false}
+     * @see    Freshness#STALE
+     */
+    public boolean isStale() {
+        return freshness == Freshness.STALE;
+    }
+
+    /**
+     * Returns a copy of this {@code Response} with the given {@code freshness}.
+     * 
+     * @param  freshness the freshness of the new response
+     * @return           the new response
+     */
+    public Response<T> withFreshness(Freshness freshness) {
+        return this.freshness == freshness ? this : new Response<>(value, statusCode, Objects.requireNonNull(freshness));
+    }
+
     /**
      * @return {@code true} if a value is present, otherwise {@code false}
      */
@@ -186,7 +220,7 @@ public final class Response<T> {
         if (!isPresent()) {
             return this;
         } else {
-            return predicate.test(value) ? this : empty(statusCode);
+            return predicate.test(value) ? this : new Response<>(null, statusCode, freshness);
         }
     }
 
@@ -213,9 +247,9 @@ public final class Response<T> {
     public <U> Response<U> map(Function<? super T, ? extends U> mapper) {
         Objects.requireNonNull(mapper);
         if (!isPresent()) {
-            return empty(statusCode);
+            return new Response<>(null, statusCode, freshness);
         } else {
-            return Response.ofNullable(mapper.apply(value), statusCode);
+            return new Response<>(mapper.apply(value), statusCode, freshness);
         }
     }
 
@@ -316,7 +350,7 @@ public final class Response<T> {
     public <U> Response<U> flatMap(Function<? super T, ? extends Response<? extends U>> mapper) {
         Objects.requireNonNull(mapper);
         if (!isPresent()) {
-            return empty(statusCode);
+            return new Response<>(null, statusCode, freshness);
         } else {
             @SuppressWarnings("unchecked")
             Response<U> r = (Response<U>) mapper.apply(value);
@@ -353,7 +387,7 @@ public final class Response<T> {
     public <U> Response<U> flatMapWithException(ExceptionFunction<? super T, ? extends Response<? extends U>, ?> mapper) {
         Objects.requireNonNull(mapper);
         if (!isPresent()) {
-            return empty(statusCode);
+            return new Response<>(null, statusCode, freshness);
         } else {
             Response<U> r = null;
             try {
@@ -497,4 +531,28 @@ public final class Response<T> {
         return Objects.hashCode(value) + 31 * Objects.hashCode(statusCode);
     }
 
+    /**
+     * Describes how fresh the value of a {@link Response} is. The freshness of a
+     * response is kept by the responses derived from it, for example using
+     * {@link Response#map(Function)}.
+     */
+    public enum Freshness {
+        /**
+         * The value was received from the API, or served from a cache before it
+         * expired.
+         */
+        FRESH,
+        /**
+         * The value was served from a cache after it expired, once the API
+         * confirmed that it was not modified.
+         */
+        REVALIDATED,
+        /**
+         * The value was served from a cache after it expired, without confirming
+         * that it is still up to date, because it is being refreshed in the
+         * background, or because the API could not be reached.
+         */
+        STALE
+    }
+
 }
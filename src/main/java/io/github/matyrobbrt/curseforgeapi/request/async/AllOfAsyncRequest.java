@@ -0,0 +1,233 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.async;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest.BatchRequestException;
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest.FailureMode;
+
+/**
+ * A request which maps each of the {@code inputs} to a request, and joins the
+ * results of those requests in the order of the inputs. <br>
+ * At most {@code maxParallelism} requests are in flight at the same time, and
+ * the next one is only created once a slot is released. Each
+ * {@link #queue(Consumer, Consumer) queue} call starts a new run.
+ * 
+ * @author     matyrobbrt
+ *
+ * @param  <I> the type of the inputs
+ * @param  <T> the type of the results
+ */
+public final class AllOfAsyncRequest<I, T> implements AsyncRequest<List<T>> {
+
+    private final List<? extends I> inputs;
+    private final Function<? super I, ? extends AsyncRequest<? extends T>> requester;
+    private final int maxParallelism;
+    private final FailureMode failureMode;
+    private final Executor executor;
+    private final Set<Run> runs = ConcurrentHashMap.newKeySet();
+
+    public AllOfAsyncRequest(List<? extends I> inputs, Function<? super I, ? extends AsyncRequest<? extends T>> requester,
+        int maxParallelism, FailureMode failureMode, Executor executor) {
+        if (maxParallelism < 1) {
+            throw new IllegalArgumentException("Max parallelism must be at least 1, but was " + maxParallelism);
+        }
+        this.inputs = List.copyOf(inputs);
+        this.requester = Objects.requireNonNull(requester);
+        this.maxParallelism = maxParallelism;
+        this.failureMode = Objects.requireNonNull(failureMode);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    @Override
+    public List<T> get() throws InterruptedException, ExecutionException {
+        final var future = new CompletableFuture<List<T>>();
+        queue(future::complete, future::completeExceptionally);
+        return future.get();
+    }
+
+    @Override
+    public void queue(@Nullable Consumer<? super List<T>> onSuccess, @Nullable Consumer<? super Throwable> onFailure) {
+        final var run = new Run(onSuccess, onFailure == null ? AsyncRequestValues.defaultFailure : onFailure);
+        if (inputs.isEmpty()) {
+            run.succeed();
+            return;
+        }
+        runs.add(run);
+        run.drain();
+    }
+
+    @Override
+    public boolean cancel() {
+        boolean cancelled = false;
+        for (final var run : runs) {
+            cancelled |= run.fail(-1, new CancellationException("Request was cancelled"));
+        }
+        return cancelled;
+    }
+
+    private final class Run {
+
+        private final Consumer<? super List<T>> onSuccess;
+        private final Consumer<? super Throwable> onFailure;
+
+        private final Object[] results = new Object[inputs.size()];
+        private final AtomicReferenceArray<AsyncRequest<?>> requests = new AtomicReferenceArray<>(inputs.size());
+        private Throwable[] failures;
+
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger remaining = new AtomicInteger(inputs.size());
+        private final AtomicInteger drainRequests = new AtomicInteger();
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        Run(@Nullable Consumer<? super List<T>> onSuccess, Consumer<? super Throwable> onFailure) {
+            this.onSuccess = onSuccess;
+            this.onFailure = onFailure;
+        }
+
+        /**
+         * Starts requests until the parallelism cap is reached. Requests which
+         * complete inline re-enter through the counter instead of recursing, so the
+         * stack stays flat for any amount of inputs.
+         */
+        void drain() {
+            if (drainRequests.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (!failed.get() && inFlight.get() < maxParallelism) {
+                    final int index = next.getAndIncrement();
+                    if (index >= results.length) {
+                        break;
+                    }
+                    inFlight.incrementAndGet();
+                    start(index);
+                }
+            } while (drainRequests.decrementAndGet() != 0);
+        }
+
+        private void start(int index) {
+            final AsyncRequest<? extends T> request;
+            try {
+                request = requester.apply(inputs.get(index));
+            } catch (Throwable t) {
+                completed(index, t);
+                return;
+            }
+            if (request == null) {
+                completed(index, new IllegalStateException("Request for input " + index + " is null"));
+                return;
+            }
+            requests.set(index, request);
+            request.queue(result -> {
+                results[index] = result;
+                completed(index, null);
+            }, t -> completed(index, t));
+        }
+
+        private void completed(int index, @Nullable Throwable failure) {
+            requests.set(index, null);
+            if (failure != null) {
+                if (failureMode == FailureMode.FAIL_FAST) {
+                    fail(index, failure);
+                    return;
+                }
+                synchronized (this) {
+                    if (failures == null) {
+                        failures = new Throwable[results.length];
+                    }
+                    failures[index] = failure;
+                }
+            }
+            inFlight.decrementAndGet();
+            if (remaining.decrementAndGet() == 0) {
+                finish();
+            } else {
+                drain();
+            }
+        }
+
+        boolean fail(int index, Throwable failure) {
+            if (!failed.compareAndSet(false, true)) {
+                return false;
+            }
+            runs.remove(this);
+            for (int i = 0; i < requests.length(); i++) {
+                final var request = requests.get(i);
+                if (request != null && i != index) {
+                    request.cancel();
+                }
+            }
+            executor.execute(() -> onFailure.accept(failure));
+            return true;
+        }
+
+        private void finish() {
+            if (!failed.compareAndSet(false, true)) {
+                return;
+            }
+            runs.remove(this);
+            final Throwable[] failures;
+            synchronized (this) {
+                failures = this.failures;
+            }
+            if (failures == null) {
+                succeed();
+            } else {
+                final var exception = new BatchRequestException(Arrays.asList(results), Arrays.asList(failures));
+                executor.execute(() -> onFailure.accept(exception));
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void succeed() {
+            if (onSuccess != null) {
+                final var list = Collections.unmodifiableList(Arrays.asList((T[]) results));
+                executor.execute(() -> onSuccess.accept(list));
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.async;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest.BatchRequestException;
+
+/**
+ * A request which completes with the result of the first of the
+ * {@code requests} that succeeds, cancelling the others. If all of them fail,
+ * this request fails with a {@link BatchRequestException}.
+ * 
+ * @author     matyrobbrt
+ *
+ * @param  <T> the type of the result
+ */
+public record AnyOfAsyncRequest<T> (List<? extends AsyncRequest<? extends T>> requests, Executor executor)
+    implements AsyncRequest<T> {
+
+    public AnyOfAsyncRequest {
+        requests = List.copyOf(requests);
+        Objects.requireNonNull(executor);
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        final var future = new CompletableFuture<T>();
+        queue(future::complete, future::completeExceptionally);
+        return future.get();
+    }
+
+    @Override
+    public void queue(@Nullable Consumer<? super T> onSuccess, @Nullable Consumer<? super Throwable> onFailure) {
+        final Consumer<? super Throwable> failure = onFailure == null ? AsyncRequestValues.defaultFailure : onFailure;
+        if (requests.isEmpty()) {
+            executor.execute(() -> failure.accept(new BatchRequestException(List.of(), List.of())));
+            return;
+        }
+        final var done = new AtomicBoolean();
+        final var remaining = new AtomicInteger(requests.size());
+        final var failures = new Throwable[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            final int index = i;
+            requests.get(i).queue(result -> {
+                if (done.compareAndSet(false, true)) {
+                    for (int j = 0; j < requests.size(); j++) {
+                        if (j != index) {
+                            requests.get(j).cancel();
+                        }
+                    }
+                    if (onSuccess != null) {
+                        executor.execute(() -> onSuccess.accept(result));
+                    }
+                }
+            }, t -> {
+                failures[index] = t;
+                // The decrement publishes the failure written before it
+                if (remaining.decrementAndGet() == 0 && done.compareAndSet(false, true)) {
+                    final var exception = new BatchRequestException(Arrays.asList(new Object[failures.length]),
+                        Arrays.asList(failures));
+                    executor.execute(() -> failure.accept(exception));
+                }
+            });
+        }
+    }
+
+    @Override
+    public boolean cancel() {
+        boolean cancelled = false;
+        for (final var request : requests) {
+            cancelled |= request.cancel();
+        }
+        return cancelled;
+    }
+}
@@ -29,21 +29,39 @@ package io.github.matyrobbrt.curseforgeapi.request.async;
 
 import java.util.Objects;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 import io.github.matyrobbrt.curseforgeapi.annotation.Nonnull;
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
 
 import static io.github.matyrobbrt.curseforgeapi.request.AsyncRequest.LOGGER;
 
 public class AsyncRequestValues {
 
+    /**
+     * The executor used for callbacks of requests not created by an API instance.
+     */
     @Nonnull
-    static Executor futureExecutor = Executors
+    static volatile Executor futureExecutor = Executors
         .newSingleThreadExecutor(r -> new Thread(r, "AsyncRequestHandler"));
 
+    /**
+     * An executor running tasks on the calling thread. Future-backed requests
+     * using it run their callbacks directly on the thread completing the future.
+     */
+    static final Executor DIRECT = Runnable::run;
+
+    /**
+     * The scheduler used for enforcing the deadlines of requests.
+     */
+    static final ScheduledExecutorService scheduler = createScheduler();
+
     static Consumer<? super Throwable> defaultFailure = t -> {
         if (t instanceof CancellationException || t instanceof TimeoutException)
             LOGGER.debug(t.getMessage());
@@ -69,8 +87,65 @@ public class AsyncRequestValues {
         defaultFailure = callback == null ? t -> {} : callback;
     }
 
+    /**
+     * @deprecated Use a per-API callback executor, set through
+     *             {@link io.github.matyrobbrt.curseforgeapi.CurseForgeAPI.Builder#callbackExecutor(Executor)}.
+     */
+    @Deprecated(since = "2.3.2")
     public static void setFutureExecutor(@Nonnull Executor executor) {
         futureExecutor = Objects.requireNonNull(executor);
     }
+
+    /**
+     * @return an executor running tasks on the calling thread
+     */
+    @Nonnull
+    public static Executor directExecutor() {
+        return DIRECT;
+    }
+
+    /**
+     * Gets the executor running the callbacks of the {@code request}. Requests
+     * which run their callbacks {@link #directExecutor() directly}, or whose
+     * executor is not known, use the {@link #futureExecutor}.
+     */
+    static Executor callbackExecutor(AsyncRequest<?> request) {
+        final Executor executor;
+        if (request instanceof OfHttpResponseAsyncRequest<?> ofResponse) {
+            executor = ofResponse.executor();
+        } else if (request instanceof OfCompletableFutureAsyncRequest<?> ofFuture) {
+            executor = ofFuture.executor();
+        } else if (request instanceof AsyncRequestOperator<?, ?> operator) {
+            return callbackExecutor(operator.action);
+        } else {
+            executor = futureExecutor;
+        }
+        return executor == DIRECT ? futureExecutor : executor;
+    }
+
+    /**
+     * Makes cancelling the {@code dependent} future, derived from the future of
+     * the {@code source} request, cancel the source as well.
+     */
+    static <T> CompletableFuture<T> propagateCancel(CompletableFuture<T> dependent, AsyncRequest<?> source) {
+        dependent.whenComplete((r, t) -> {
+            if (dependent.isCancelled()) {
+                source.cancel();
+            }
+        });
+        return dependent;
+    }
+
+    private static ScheduledExecutorService createScheduler() {
+        final var scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            final var thread = new Thread(r, "AsyncRequestDeadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Most requests complete before their deadline, so don't keep their timers
+        // around until then
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
     
 }
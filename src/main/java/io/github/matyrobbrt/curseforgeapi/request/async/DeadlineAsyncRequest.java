@@ -0,0 +1,119 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.async;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+
+/**
+ * A request which fails with a {@link TimeoutException} if the {@code action}
+ * does not complete before the {@code deadline}. When the deadline passes, the
+ * action is {@link AsyncRequest#cancel() cancelled}, which also cancels the
+ * requests nested in it, so they are bound by the remaining budget of the
+ * deadline. <br>
+ * The deadline scheduler only triggers the timeout; the action is cancelled
+ * and the failure callback runs on the callback executor of the action.
+ * 
+ * @author     matyrobbrt
+ *
+ * @param  <T> the type of the request
+ */
+public class DeadlineAsyncRequest<T> extends AsyncRequestOperator<T, T> {
+
+    private final Instant deadline;
+
+    public DeadlineAsyncRequest(AsyncRequest<T> action, Instant deadline) {
+        super(action);
+        this.deadline = deadline;
+    }
+
+    @Override
+    public AsyncRequest<T> deadline(Instant deadline) {
+        // Nesting deadlines is the same as keeping the earliest one
+        return deadline.isBefore(this.deadline) ? new DeadlineAsyncRequest<>(action, deadline) : this;
+    }
+
+    @Override
+    public void queue(@Nullable Consumer<? super T> success, @Nullable Consumer<? super Throwable> failure) {
+        final Consumer<? super Throwable> contextFailure = failure == null ? AsyncRequestValues.defaultFailure : failure;
+        final var remaining = Duration.between(Instant.now(), deadline).toNanos();
+        if (remaining <= 0) {
+            action.cancel();
+            contextFailure.accept(timeout());
+            return;
+        }
+        final var done = new AtomicBoolean();
+        final var executor = AsyncRequestValues.callbackExecutor(action);
+        final var timer = AsyncRequestValues.scheduler.schedule(() -> {
+            if (done.compareAndSet(false, true)) {
+                executor.execute(() -> {
+                    action.cancel();
+                    contextFailure.accept(timeout());
+                });
+            }
+        }, remaining, TimeUnit.NANOSECONDS);
+        action.queue(result -> {
+            if (done.compareAndSet(false, true)) {
+                timer.cancel(false);
+                if (success != null) {
+                    success.accept(result);
+                }
+            }
+        }, t -> {
+            if (done.compareAndSet(false, true)) {
+                timer.cancel(false);
+                contextFailure.accept(t);
+            }
+        });
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        final var future = new CompletableFuture<T>();
+        queue(future::complete, future::completeExceptionally);
+        return future.get();
+    }
+
+    @Override
+    public boolean cancel() {
+        return action.cancel();
+    }
+
+    private TimeoutException timeout() {
+        return new TimeoutException("Request did not complete before its deadline of " + deadline);
+    }
+}
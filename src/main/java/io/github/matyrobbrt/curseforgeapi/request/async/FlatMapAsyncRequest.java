@@ -27,6 +27,10 @@
 
 package io.github.matyrobbrt.curseforgeapi.request.async;
 
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -37,6 +41,8 @@ import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
 public class FlatMapAsyncRequest<I, O> extends AsyncRequestOperator<I, O> {
 
     private final Function<? super I, ? extends AsyncRequest<O>> function;
+    private final Set<AsyncRequest<O>> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
 
     public FlatMapAsyncRequest(AsyncRequest<I> action,
         Function<? super I, ? extends AsyncRequest<O>> function) {
@@ -52,15 +58,63 @@ public class FlatMapAsyncRequest<I, O> extends AsyncRequestOperator<I, O> {
     public void queue(@Nullable Consumer<? super O> success, @Nullable Consumer<? super Throwable> failure) {
         Consumer<? super Throwable> contextFailure = failure == null ? AsyncRequestValues.defaultFailure : failure;
         action.queue(result -> {
+            if (cancelled) {
+                contextFailure.accept(new CancellationException("Request was cancelled"));
+                return;
+            }
             final var then = supply(result);
             if (then == null) {
                 contextFailure.accept(new IllegalStateException("FlatMap operand is null"));
             } else {
-                then.queue(success, contextFailure);
+                // Track the nested request while it is in flight, so that it can be
+                // cancelled as well
+                inFlight.add(then);
+                then.queue(o -> {
+                    inFlight.remove(then);
+                    if (success != null) {
+                        success.accept(o);
+                    }
+                }, t -> {
+                    inFlight.remove(then);
+                    contextFailure.accept(t);
+                });
+                if (cancelled) {
+                    then.cancel();
+                }
             }
         }, contextFailure);
     }
 
+    @Override
+    public CompletableFuture<O> toCompletableFuture() {
+        return AsyncRequestValues.propagateCancel(action.toCompletableFuture().thenCompose(result -> {
+            if (cancelled) {
+                return CompletableFuture.failedFuture(new CancellationException("Request was cancelled"));
+            }
+            final var then = supply(result);
+            if (then == null) {
+                return CompletableFuture.failedFuture(new IllegalStateException("FlatMap operand is null"));
+            }
+            inFlight.add(then);
+            final var future = then.toCompletableFuture();
+            future.whenComplete((o, t) -> inFlight.remove(then));
+            if (cancelled) {
+                then.cancel();
+            }
+            return future;
+        }), this);
+    }
+
+    @Override
+    public boolean cancel() {
+        cancelled = true;
+        boolean cancelledAny = action.cancel();
+        for (final var request : inFlight) {
+            cancelledAny |= request.cancel();
+        }
+        return cancelledAny;
+    }
+
     @Override
     public O get() throws InterruptedException, ExecutionException {
         return function.apply(action.get()).get();
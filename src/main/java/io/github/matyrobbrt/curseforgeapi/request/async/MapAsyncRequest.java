@@ -27,6 +27,7 @@
 
 package io.github.matyrobbrt.curseforgeapi.request.async;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -34,6 +35,18 @@ import java.util.function.Function;
 import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
 import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
 
+/**
+ * A request which maps the result of the {@code action}. <br>
+ * Consecutive {@link #map(Function) maps} are fused into a single request with
+ * a composed function, so a chain of maps only queues one callback, and its
+ * {@link #toCompletableFuture() future} is derived from the one of the action
+ * using a single {@link CompletableFuture#thenApply(Function) thenApply}.
+ * 
+ * @author     matyrobbrt
+ *
+ * @param  <I> the type of the action
+ * @param  <O> the type of the result
+ */
 public class MapAsyncRequest<I, O> extends AsyncRequestOperator<I, O> {
 
     private final Function<? super I, ? extends O> function;
@@ -43,13 +56,39 @@ public class MapAsyncRequest<I, O> extends AsyncRequestOperator<I, O> {
         this.function = function;
     }
 
+    @Override
+    public <U> AsyncRequest<U> map(Function<? super O, ? extends U> mapper) {
+        final Function<? super I, ? extends O> function = this.function;
+        return new MapAsyncRequest<I, U>(action, input -> mapper.apply(function.apply(input)));
+    }
+
     @Override
     public void queue(@Nullable Consumer<? super O> success, @Nullable Consumer<? super Throwable> failure) {
+        final Consumer<? super Throwable> contextFailure = failure == null ? AsyncRequestValues.defaultFailure : failure;
+        // The result is mapped even if nobody observes it, so that failures of the
+        // mapper are reported
         action.queue(result -> {
+            final O mapped;
+            try {
+                mapped = function.apply(result);
+            } catch (RuntimeException e) {
+                contextFailure.accept(e);
+                return;
+            }
             if (success != null) {
-                success.accept(function.apply(result));
+                success.accept(mapped);
             }
-        }, failure == null ? AsyncRequestValues.defaultFailure : failure);
+        }, contextFailure);
+    }
+
+    @Override
+    public CompletableFuture<O> toCompletableFuture() {
+        return AsyncRequestValues.propagateCancel(action.toCompletableFuture().thenApply(function), action);
+    }
+
+    @Override
+    public boolean cancel() {
+        return action.cancel();
     }
 
     @Override
@@ -30,13 +30,23 @@ package io.github.matyrobbrt.curseforgeapi.request.async;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import io.github.matyrobbrt.curseforgeapi.annotation.Nonnull;
 import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
 
-public record OfCompletableFutureAsyncRequest<T> (@Nonnull CompletableFuture<T> future) implements AsyncRequest<T> {
+public record OfCompletableFutureAsyncRequest<T> (@Nonnull CompletableFuture<T> future, @Nonnull Executor executor) implements AsyncRequest<T> {
 
+    public OfCompletableFutureAsyncRequest(@Nonnull CompletableFuture<T> future) {
+        this(future, AsyncRequestValues.futureExecutor);
+    }
+
+    /**
+     * @deprecated Use a per-API callback executor, set through
+     *             {@link io.github.matyrobbrt.curseforgeapi.CurseForgeAPI.Builder#callbackExecutor(Executor)}.
+     */
+    @Deprecated(since = "2.3.2")
     public static void setFutureExecutor(@Nonnull Executor executor) {
         AsyncRequestValues.setFutureExecutor(executor);
     }
@@ -46,35 +56,41 @@ public record OfCompletableFutureAsyncRequest<T> (@Nonnull CompletableFuture<T>
         return future.get();
     }
 
+    /**
+     * {@inheritDoc} <br>
+     * This returns the future backing this request, without any wrapping.
+     */
+    @Override
+    public CompletableFuture<T> toCompletableFuture() {
+        return future;
+    }
+
+    @Override
+    public boolean cancel() {
+        return future.cancel(true);
+    }
+
     @Override
     public void queue(Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure) {
-        AsyncRequestValues.futureExecutor.execute(() -> {
-            try {
-                final var tFuture = this.future.whenComplete((o, t) -> {
-                    if (o != null && onSuccess != null) {
-                        onSuccess.accept(o);
-                    }
-                    if (t != null) {
-                        if (onFailure != null) {
-                            onFailure.accept(t);
-                        } else {
-                            AsyncRequestValues.defaultFailure.accept(t);
-                        }
-                    }
-                });
-                while (!tFuture.isDone()) {
-                    Thread.sleep(100);
-                }
-                tFuture.get();
-            } catch (ExecutionException e) {
+        // Callbacks run on the executor when the future completes, so no thread is
+        // held while the request is pending
+        final BiConsumer<T, Throwable> callback = (o, t) -> {
+            if (onSuccess != null && o != null) {
+                onSuccess.accept(o);
+            }
+            if (t != null) {
                 if (onFailure != null) {
-                    onFailure.accept(e.getCause());
+                    onFailure.accept(t);
+                } else {
+                    AsyncRequestValues.defaultFailure.accept(t);
                 }
-            } catch (InterruptedException e) {
-                LOGGER.error("InterruptedException while awaiting request!", e);
-                throw new RuntimeException(e);
             }
-        });
+        };
+        if (executor == AsyncRequestValues.DIRECT) {
+            future.whenComplete(callback);
+        } else {
+            future.whenCompleteAsync(callback, executor);
+        }
     }
 
 }
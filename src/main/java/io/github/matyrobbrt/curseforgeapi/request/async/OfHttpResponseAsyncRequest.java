@@ -29,21 +29,49 @@ package io.github.matyrobbrt.curseforgeapi.request.async;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import io.github.matyrobbrt.curseforgeapi.annotation.Nonnull;
 import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
 
-public record OfHttpResponseAsyncRequest<T> (@Nonnull CompletableFuture<T> future) implements AsyncRequest<T> {
+/**
+ * An {@link AsyncRequest} backed by the future of an HTTP exchange. <br>
+ * Callbacks are run on the {@code executor}, which is usually the
+ * {@link io.github.matyrobbrt.curseforgeapi.CurseForgeAPI#getCallbackExecutor()
+ * callback executor} of the API that sent the request.
+ * 
+ * @author matyrobbrt
+ */
+public record OfHttpResponseAsyncRequest<T> (@Nonnull CompletableFuture<T> future, @Nonnull Executor executor) implements AsyncRequest<T> {
+
+    public OfHttpResponseAsyncRequest(@Nonnull CompletableFuture<T> future) {
+        this(future, AsyncRequestValues.futureExecutor);
+    }
 
     @Override
     public T get() throws InterruptedException, ExecutionException {
         return future.get();
     }
 
+    /**
+     * {@inheritDoc} <br>
+     * This returns the future backing this request, without any wrapping.
+     */
+    @Override
+    public CompletableFuture<T> toCompletableFuture() {
+        return future;
+    }
+
+    @Override
+    public boolean cancel() {
+        return future.cancel(true);
+    }
+
     @Override
     public void queue(Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure) {
-        future.whenComplete((o, t) -> {
+        final BiConsumer<T, Throwable> callback = (o, t) -> {
             if (onSuccess != null && o != null) {
                 onSuccess.accept(o);
             }
@@ -54,7 +82,12 @@ public record OfHttpResponseAsyncRequest<T> (@Nonnull CompletableFuture<T> futur
                     AsyncRequestValues.defaultFailure.accept(t);
                 }
             }
-        });
+        };
+        if (executor == AsyncRequestValues.DIRECT) {
+            future.whenComplete(callback);
+        } else {
+            future.whenCompleteAsync(callback, executor);
+        }
     }
 
 }
@@ -27,8 +27,10 @@
 
 package io.github.matyrobbrt.curseforgeapi.request.async;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
 
@@ -39,6 +41,27 @@ public record OfValueAsyncRequest<T> (T value) implements AsyncRequest<T> {
         return value;
     }
 
+    @Override
+    public <U> AsyncRequest<U> map(Function<? super T, ? extends U> mapper) {
+        if (value == null) {
+            return new MapAsyncRequest<>(this, mapper);
+        }
+        // The value is already known, so map it eagerly instead of wrapping this
+        // request
+        final U mapped;
+        try {
+            mapped = mapper.apply(value);
+        } catch (RuntimeException e) {
+            return new WithExceptionAsyncRequest<>(e);
+        }
+        return mapped == null ? new MapAsyncRequest<>(this, v -> null) : new OfValueAsyncRequest<>(mapped);
+    }
+
+    @Override
+    public CompletableFuture<T> toCompletableFuture() {
+        return value == null ? CompletableFuture.failedFuture(new NullPointerException()) : CompletableFuture.completedFuture(value);
+    }
+
     @Override
     public void queue(Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure) {
         if (value != null) {
@@ -27,7 +27,10 @@
 
 package io.github.matyrobbrt.curseforgeapi.request.async;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -35,29 +38,96 @@ import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.request.DoubleAsyncRequest;
 import io.github.matyrobbrt.curseforgeapi.util.Pair;
 
+/**
+ * A request joining two independent requests. <br>
+ * Both requests are queued at the same time, and the pair completes once both
+ * of them completed. If either of them fails, the pair fails immediately, and
+ * the other request is {@link AsyncRequest#cancel() cancelled}.
+ * 
+ * @author matyrobbrt
+ */
 public record PairAsyncRequest<F, S> (AsyncRequest<F> first, AsyncRequest<S> second)
     implements DoubleAsyncRequest<F, S> {
 
     @Override
     public Pair<F, S> get() throws InterruptedException, ExecutionException {
-        return Pair.of(first.get(), second.get());
+        final var future = new CompletableFuture<Pair<F, S>>();
+        join((f, s) -> future.complete(Pair.of(f, s)), future::completeExceptionally);
+        return future.get();
     }
-    
+
     @Override
     public void queue(Consumer<? super Pair<F, S>> onSuccess, Consumer<? super Throwable> onFailure) {
-        first.queue(f -> second.queue(s -> {
+        join((f, s) -> {
             if (onSuccess != null) {
                 onSuccess.accept(Pair.of(f, s));
             }
-        }, onFailure), onFailure);
+        }, onFailure == null ? AsyncRequestValues.defaultFailure : onFailure);
     }
 
     @Override
     public void queue(BiConsumer<? super F, ? super S> onSuccess, Consumer<? super Throwable> onFailure) {
-        first.queue(f -> second.queue(s -> {
+        join((f, s) -> {
             if (onSuccess != null) {
                 onSuccess.accept(f, s);
             }
-        }, onFailure), onFailure);
+        }, onFailure == null ? AsyncRequestValues.defaultFailure : onFailure);
+    }
+
+    @Override
+    public CompletableFuture<Pair<F, S>> toCompletableFuture() {
+        final var firstFuture = first.toCompletableFuture();
+        final var secondFuture = second.toCompletableFuture();
+        final var result = firstFuture.thenCombine(secondFuture, Pair::of);
+        // thenCombine waits for both sides even if one fails, so fail fast here
+        firstFuture.whenComplete((f, t) -> {
+            if (t != null && result.completeExceptionally(t)) {
+                second.cancel();
+            }
+        });
+        secondFuture.whenComplete((s, t) -> {
+            if (t != null && result.completeExceptionally(t)) {
+                first.cancel();
+            }
+        });
+        return AsyncRequestValues.propagateCancel(result, this);
+    }
+
+    @Override
+    public boolean cancel() {
+        final boolean cancelledFirst = first.cancel();
+        return second.cancel() || cancelledFirst;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void join(BiConsumer<? super F, ? super S> onSuccess, Consumer<? super Throwable> onFailure) {
+        final var results = new Object[2];
+        final var remaining = new AtomicInteger(2);
+        final var failed = new AtomicBoolean();
+        // The decrement publishes the slot written before it to the thread which
+        // completes the pair
+        final Runnable complete = () -> {
+            if (remaining.decrementAndGet() == 0) {
+                onSuccess.accept((F) results[0], (S) results[1]);
+            }
+        };
+        first.queue(f -> {
+            results[0] = f;
+            complete.run();
+        }, t -> {
+            if (failed.compareAndSet(false, true)) {
+                second.cancel();
+                onFailure.accept(t);
+            }
+        });
+        second.queue(s -> {
+            results[1] = s;
+            complete.run();
+        }, t -> {
+            if (failed.compareAndSet(false, true)) {
+                first.cancel();
+                onFailure.accept(t);
+            }
+        });
     }
 }
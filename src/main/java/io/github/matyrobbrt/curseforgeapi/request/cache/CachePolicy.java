@@ -0,0 +1,226 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.PipelineRequest;
+
+/**
+ * A policy describing for how long the responses of each endpoint are cached.
+ * <br>
+ * The policy is a list of rules, each one matching the path of a request (the
+ * endpoint, without the query) against a regular expression. The first
+ * matching rule decides the time to live of the response. Requests matching no
+ * rule use the {@link Builder#defaultTtl(Duration) default time to live}.
+ * Responses with a time to live of zero are not cached. <br>
+ * <br>
+ * Expired responses can still be served in two cases:
+ * <ul>
+ * <li>within the {@link Builder#staleWhileRevalidate(Duration)
+ * stale-while-revalidate} window after they expired, the expired response is
+ * served immediately, while it is refreshed in the background</li>
+ * <li>within the {@link Builder#staleIfError(Duration) stale-if-error} window
+ * after they expired, the expired response is served if refreshing it fails
+ * with an I/O error (including timeouts) or a {@code 5xx} response</li>
+ * </ul>
+ * Such responses are {@link io.github.matyrobbrt.curseforgeapi.request.Response.Freshness#STALE
+ * stale}.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+public final class CachePolicy {
+
+    /**
+     * The default policy. Reference data (games, game versions, version types
+     * and categories) is cached for 12 hours, mods and files for 2 minutes, and
+     * mod searches for 1 minute. Other responses are not cached.
+     */
+    public static final CachePolicy DEFAULT = builder()
+        .ttl("/v1/games(/\\d+(/versions|/version-types)?)?", Duration.ofHours(12))
+        .ttl("/v1/categories", Duration.ofHours(12))
+        .ttl("/v1/mods/search", Duration.ofMinutes(1))
+        .ttl("/v1/mods/\\d+(/description)?", Duration.ofMinutes(2))
+        .ttl("/v1/mods/\\d+/files(/\\d+(/changelog|/download-url)?)?", Duration.ofMinutes(2))
+        .build();
+
+    /**
+     * Creates a {@link Builder} for a cache policy.
+     * 
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final List<Rule> rules;
+    private final Duration defaultTtl;
+    private final Duration staleWhileRevalidate;
+    private final Duration staleIfError;
+
+    private CachePolicy(List<Rule> rules, Duration defaultTtl, Duration staleWhileRevalidate, Duration staleIfError) {
+        this.rules = rules;
+        this.defaultTtl = defaultTtl;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.staleIfError = staleIfError;
+    }
+
+    /**
+     * @return for how long after it expired a response is served while being
+     *         refreshed in the background
+     */
+    public Duration getStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    /**
+     * @return for how long after it expired a response is served when refreshing
+     *         it fails
+     */
+    public Duration getStaleIfError() {
+        return staleIfError;
+    }
+
+    /**
+     * Gets the time to live of the response of the given {@code request}.
+     * 
+     * @param  request the request
+     * @return         the time to live of the response, or {@link Duration#ZERO}
+     *                 if the response should not be cached
+     */
+    public Duration ttl(PipelineRequest<?> request) {
+        if (!request.isIdempotent()) {
+            return Duration.ZERO;
+        }
+        final var path = request.path();
+        for (final var rule : rules) {
+            if (rule.path().matcher(path).matches()) {
+                return rule.ttl();
+            }
+        }
+        return defaultTtl;
+    }
+
+    private record Rule(Pattern path, Duration ttl) {}
+
+    /**
+     * A builder for {@link CachePolicy cache policies}.
+     * 
+     * @author matyrobbrt
+     *
+     */
+    public static final class Builder {
+
+        private final List<Rule> rules = new ArrayList<>();
+        private Duration defaultTtl = Duration.ZERO;
+        private Duration staleWhileRevalidate = Duration.ZERO;
+        private Duration staleIfError = Duration.ZERO;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a rule caching the responses of requests whose path matches the
+         * given regular expression for the given {@code ttl}. <br>
+         * Rules are checked in the order they were added in.
+         * 
+         * @param  pathRegex the regular expression the path must match
+         * @param  ttl       the time to live of the responses
+         * @return           the builder instance, for chaining purposes
+         */
+        public Builder ttl(String pathRegex, Duration ttl) {
+            rules.add(new Rule(Pattern.compile(pathRegex), validate(ttl)));
+            return this;
+        }
+
+        /**
+         * Sets the time to live of the responses of requests matching no rule.
+         * <br>
+         * By default, this is {@link Duration#ZERO}, meaning that such responses
+         * are not cached.
+         * 
+         * @param  defaultTtl the default time to live
+         * @return            the builder instance, for chaining purposes
+         */
+        public Builder defaultTtl(Duration defaultTtl) {
+            this.defaultTtl = validate(defaultTtl);
+            return this;
+        }
+
+        /**
+         * Sets for how long after it expired a response is served immediately,
+         * while it is refreshed in the background. <br>
+         * By default, this is {@link Duration#ZERO}, meaning that expired
+         * responses are refreshed before being served.
+         * 
+         * @param  staleWhileRevalidate the stale-while-revalidate window
+         * @return                      the builder instance, for chaining purposes
+         */
+        public Builder staleWhileRevalidate(Duration staleWhileRevalidate) {
+            this.staleWhileRevalidate = validate(staleWhileRevalidate);
+            return this;
+        }
+
+        /**
+         * Sets for how long after it expired a response is served when refreshing
+         * it fails with an I/O error or a {@code 5xx} response. <br>
+         * By default, this is {@link Duration#ZERO}, meaning that such failures
+         * are returned to the caller.
+         * 
+         * @param  staleIfError the stale-if-error window
+         * @return              the builder instance, for chaining purposes
+         */
+        public Builder staleIfError(Duration staleIfError) {
+            this.staleIfError = validate(staleIfError);
+            return this;
+        }
+
+        /**
+         * Builds the {@link CachePolicy}.
+         * 
+         * @return the policy
+         */
+        public CachePolicy build() {
+            return new CachePolicy(List.copyOf(rules), defaultTtl, staleWhileRevalidate, staleIfError);
+        }
+
+        private static Duration validate(Duration ttl) {
+            if (Objects.requireNonNull(ttl).isNegative()) {
+                throw new IllegalArgumentException("The time to live cannot be negative!");
+            }
+            return ttl;
+        }
+    }
+}
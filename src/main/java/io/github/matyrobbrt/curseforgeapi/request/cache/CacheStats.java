@@ -0,0 +1,105 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the requests answered by a cache.
+ *
+ * @author matyrobbrt
+ *
+ * @param  hitCount          the amount of requests answered from the cache,
+ *                           without contacting the API
+ * @param  revalidationCount the amount of requests answered from the cache after
+ *                           the API confirmed that the cached response was not
+ *                           modified, without transferring its body
+ * @param  staleCount        the amount of requests answered with an expired
+ *                           response, without confirming that it was not
+ *                           modified
+ * @param  missCount         the amount of requests whose response had to be
+ *                           downloaded
+ */
+public record CacheStats(long hitCount, long revalidationCount, long staleCount, long missCount) {
+
+    /**
+     * @return the amount of requests which could be cached
+     */
+    public long requestCount() {
+        return hitCount + revalidationCount + staleCount + missCount;
+    }
+
+    /**
+     * @return the ratio of requests which were {@link #hitCount() hits}
+     */
+    public double hitRate() {
+        return rate(hitCount);
+    }
+
+    /**
+     * @return the ratio of requests which were {@link #revalidationCount()
+     *         revalidated}
+     */
+    public double revalidationRate() {
+        return rate(revalidationCount);
+    }
+
+    /**
+     * @return the ratio of requests which were answered with {@link #staleCount()
+     *         stale} responses
+     */
+    public double staleRate() {
+        return rate(staleCount);
+    }
+
+    /**
+     * @return the ratio of requests which were {@link #missCount() misses}
+     */
+    public double missRate() {
+        return rate(missCount);
+    }
+
+    private double rate(long count) {
+        final var requests = requestCount();
+        return requests == 0 ? 0 : (double) count / requests;
+    }
+
+    /**
+     * Thread-safe counters from which {@link CacheStats} are created.
+     */
+    static final class Counter {
+        final LongAdder hits = new LongAdder();
+        final LongAdder revalidations = new LongAdder();
+        final LongAdder stale = new LongAdder();
+        final LongAdder misses = new LongAdder();
+
+        CacheStats snapshot() {
+            return new CacheStats(hits.sum(), revalidations.sum(), stale.sum(), misses.sum());
+        }
+    }
+}
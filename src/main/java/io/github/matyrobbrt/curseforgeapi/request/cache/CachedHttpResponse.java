@@ -0,0 +1,141 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+
+import javax.net.ssl.SSLSession;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.Response.Freshness;
+
+/**
+ * A response which was not received from the network, but read from a cache.
+ * <br>
+ * The {@link Freshness} of a cached response is carried over to the
+ * {@link io.github.matyrobbrt.curseforgeapi.request.Response} created from it.
+ *
+ * @author     matyrobbrt
+ *
+ * @param  <T>        the type of the body
+ * @param  statusCode the status code of the response
+ * @param  request    the request which was answered from the cache
+ * @param  headers    the headers of the response, as they were stored
+ * @param  body       the body of the response
+ * @param  storedAt   the time the response was received from the network, or
+ *                    last revalidated, at, in epoch millis
+ * @param  freshness  the freshness of the response
+ */
+@ParametersAreNonnullByDefault
+public record CachedHttpResponse<T> (int statusCode, HttpRequest request, HttpHeaders headers, T body, long storedAt,
+    Freshness freshness) implements HttpResponse<T> {
+
+    /**
+     * Creates a cached copy of the given {@code response}. If the response was
+     * not read from a cache, it is considered stored now.
+     *
+     * @param  <T>       the type of the body
+     * @param  response  the response to copy
+     * @param  freshness the freshness of the copy
+     * @return           the cached response
+     */
+    public static <T> CachedHttpResponse<T> of(HttpResponse<T> response, Freshness freshness) {
+        if (response instanceof CachedHttpResponse<T> cached) {
+            return cached.withFreshness(freshness);
+        }
+        return new CachedHttpResponse<>(response.statusCode(), response.request(), response.headers(), response.body(),
+            System.currentTimeMillis(), freshness);
+    }
+
+    /**
+     * Gets the age of the given {@code response}, that is, for how long it has
+     * been cached.
+     *
+     * @param  response the response
+     * @return          the age of the response in millis, or {@code 0} if the
+     *                  response did not come from a cache
+     */
+    public static long ageMillis(HttpResponse<?> response) {
+        return response instanceof CachedHttpResponse<?> cached
+            ? Math.max(0, System.currentTimeMillis() - cached.storedAt())
+            : 0;
+    }
+
+    /**
+     * Gets the freshness of the given {@code response}.
+     *
+     * @param  response the response
+     * @return          the freshness of the response, which is
+     *                  {@link Freshness#FRESH} if the response did not come from a
+     *                  cache
+     */
+    public static Freshness freshnessOf(HttpResponse<?> response) {
+        return response instanceof CachedHttpResponse<?> cached ? cached.freshness() : Freshness.FRESH;
+    }
+
+    /**
+     * @param  freshness the new freshness
+     * @return           a copy of this response with the given {@code freshness}
+     */
+    public CachedHttpResponse<T> withFreshness(Freshness freshness) {
+        return this.freshness == freshness ? this
+            : new CachedHttpResponse<>(statusCode, request, headers, body, storedAt, freshness);
+    }
+
+    /**
+     * @return a fresh copy of this response, stored now
+     */
+    CachedHttpResponse<T> refreshed() {
+        return new CachedHttpResponse<>(statusCode, request, headers, body, System.currentTimeMillis(), Freshness.FRESH);
+    }
+
+    @Override
+    public Optional<HttpResponse<T>> previousResponse() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<SSLSession> sslSession() {
+        return Optional.empty();
+    }
+
+    @Override
+    public URI uri() {
+        return request.uri();
+    }
+
+    @Override
+    public HttpClient.Version version() {
+        return HttpClient.Version.HTTP_1_1;
+    }
+}
@@ -0,0 +1,470 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.Response.Freshness;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.PipelineRequest;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.RequestInterceptor;
+import io.github.matyrobbrt.curseforgeapi.util.Constants.StatusCodes;
+
+/**
+ * A persistent cache of raw responses, stored on the local filesystem, which
+ * survives restarts. <br>
+ * The bodies of successful responses of {@link PipelineRequest#isIdempotent()
+ * idempotent} requests are stored in an append-only segment store, keyed by
+ * the canonical request (target, method, URI and body), and decoded on each
+ * hit, straight from the segment they are stored in. Responses are fresh for
+ * the time to live given by the {@link CachePolicy}, and kept on disk for the
+ * {@link Builder#retention(Duration) retention}. <br>
+ * <br>
+ * Responses which were stored before the cache was opened (that is, by a
+ * previous run) are served immediately, even if they expired, as long as they
+ * are retained, and revalidated in the background. This way, a restarted
+ * client does not start cold. Such responses are
+ * {@link Freshness#STALE stale}. The stale-while-revalidate and
+ * stale-if-error windows of the {@link CachePolicy} apply as well. <br>
+ * <br>
+ * Other expired responses are revalidated using a conditional request, if
+ * they have validators ({@code ETag} or {@code Last-Modified}). When the API
+ * responds with {@code 304 Not Modified}, the stored response is used, and
+ * its time to live is refreshed without transferring the body again. <br>
+ * <br>
+ * Writes and compaction happen on a background thread. A cache directory can
+ * only be used by one process at a time. This cache is usually used behind an
+ * in-memory {@link ResponseCache}, which avoids decoding frequently accessed
+ * responses.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+public final class DiskCache implements RequestInterceptor, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiskCache.class);
+
+    /**
+     * The headers which are stored with a response.
+     */
+    private static final Set<String> STORED_HEADERS = Set.of("content-type", "date", "etag", "last-modified");
+
+    /**
+     * Creates a {@link Builder} for a disk cache.
+     * 
+     * @param  directory the directory the cache is stored in
+     * @return           the builder
+     */
+    public static Builder builder(Path directory) {
+        return new Builder(directory);
+    }
+
+    private final SegmentStore store;
+    private final CachePolicy policy;
+    private final long retention;
+    private final double compactionThreshold;
+    private final int maxEntrySize;
+    private final long openedAt = System.currentTimeMillis();
+    private final ScheduledExecutorService writer;
+    private final Revalidator revalidator = new Revalidator("DiskCacheRevalidator");
+    private final CacheStats.Counter stats = new CacheStats.Counter();
+
+    private DiskCache(Builder builder) throws IOException {
+        this.store = new SegmentStore(builder.directory, builder.segmentSize);
+        this.policy = builder.policy;
+        this.retention = builder.retention.toMillis();
+        this.compactionThreshold = builder.compactionThreshold;
+        this.maxEntrySize = (int) Math.min(builder.segmentSize / 2, Integer.MAX_VALUE);
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "DiskCacheWriter"));
+        final var interval = builder.compactionInterval.toMillis();
+        writer.scheduleWithFixedDelay(this::compactQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the policy of the cache
+     */
+    public CachePolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @return the amount of stored responses
+     */
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * @return the statistics of the requests answered by this cache
+     */
+    public CacheStats stats() {
+        return stats.snapshot();
+    }
+
+    /**
+     * Removes the expired responses, and rewrites the segments which consist
+     * mostly of garbage. <br>
+     * Compaction runs periodically, so this method usually does not need to be
+     * called.
+     * 
+     * @throws IOException if an I/O error occurred
+     */
+    public void compact() throws IOException {
+        store.compact(retention, compactionThreshold);
+    }
+
+    /**
+     * Closes the cache. Pending writes are completed before the store is closed.
+     * 
+     * @throws IOException if an I/O error occurred
+     */
+    @Override
+    public void close() throws IOException {
+        revalidator.shutdown();
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        store.close();
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> intercept(Chain<T> chain) {
+        final var request = chain.request();
+        final var ttl = policy.ttl(request).toMillis();
+        if (ttl <= 0) {
+            return chain.proceed();
+        }
+        final var key = canonicalKey(request);
+        final var stored = store.get(key);
+        if (stored != null) {
+            final var age = System.currentTimeMillis() - stored.storedAt();
+            if (age < ttl) {
+                return decode(key, request, stored.storedAt(), Freshness.FRESH).thenCompose(cached -> {
+                    if (cached == null) {
+                        return load(chain, key, ttl, stored);
+                    }
+                    stats.hits.increment();
+                    return CompletableFuture.completedFuture(cached);
+                });
+            } else if (age - ttl < policy.getStaleWhileRevalidate().toMillis()
+                || (stored.storedAt() < openedAt && age < retention)) {
+                return decode(key, request, stored.storedAt(), Freshness.STALE).thenCompose(cached -> {
+                    if (cached == null) {
+                        return load(chain, key, ttl, stored);
+                    }
+                    stats.stale.increment();
+                    revalidator.revalidate(key, chain.isAsync(), () -> fetch(chain, key, stored, false));
+                    return CompletableFuture.completedFuture(cached);
+                });
+            }
+        }
+        return load(chain, key, ttl, stored);
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> load(Chain<T> chain, String key, long ttl,
+        @Nullable SegmentStore.Stored stored) {
+        final var request = chain.request();
+        if (request.isConditional()) {
+            // The request revalidates the response of another cache, so its own
+            // validators must be used
+            return fetch(chain, key, null, false);
+        }
+        return fetch(chain, key, stored, true).handle((response, throwable) -> {
+            if (Revalidator.isError(response, throwable)) {
+                if (stored != null && System.currentTimeMillis() - stored.storedAt() - ttl < policy.getStaleIfError().toMillis()) {
+                    return decode(key, request, stored.storedAt(), Freshness.STALE).thenCompose(cached -> {
+                        if (cached == null) {
+                            stats.misses.increment();
+                            return complete(response, throwable);
+                        }
+                        stats.stale.increment();
+                        return CompletableFuture.<HttpResponse<T>>completedFuture(cached);
+                    });
+                }
+                stats.misses.increment();
+            }
+            return complete(response, throwable);
+        }).thenCompose(Function.identity());
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> fetch(Chain<T> chain, String key, @Nullable SegmentStore.Stored stored,
+        boolean record) {
+        final var request = chain.request();
+        final var conditional = stored == null ? null : Validators.conditional(request, decodeHeaders(stored.metadata()));
+        final var tee = new TeeBodyHandler<>(request.bodyHandler(), maxEntrySize);
+        return chain.proceed((conditional == null ? request : conditional).withBodyHandler(tee)).thenCompose(response -> {
+            final var now = System.currentTimeMillis();
+            if (stored != null && conditional != null && Validators.isNotModified(response)) {
+                return decode(key, request, now, Freshness.REVALIDATED).<HttpResponse<T>>thenApply(cached -> {
+                    if (cached == null) {
+                        return onResponse(key, tee, response, now, record);
+                    }
+                    if (record) {
+                        stats.revalidations.increment();
+                    }
+                    write(key, store -> store.touch(key, now));
+                    return cached;
+                });
+            }
+            return CompletableFuture.completedFuture(onResponse(key, tee, response, now, record));
+        });
+    }
+
+    private <T> HttpResponse<T> onResponse(String key, TeeBodyHandler<T> tee, HttpResponse<T> response, long now,
+        boolean record) {
+        if (Revalidator.isError(response, null)) {
+            return response;
+        }
+        if (record) {
+            stats.misses.increment();
+        }
+        final var bytes = tee.bytes();
+        if (response.statusCode() == StatusCodes.OK && response.body() != null && bytes != null) {
+            final var metadata = encodeHeaders(response.headers());
+            write(key, store -> store.put(key, metadata, ByteBuffer.wrap(bytes), now));
+        }
+        return response;
+    }
+
+    private void write(String key, StoreAction action) {
+        writer.execute(() -> {
+            try {
+                action.run(store);
+            } catch (IOException e) {
+                LOGGER.warn("Could not store response of request '{}' on disk!", key, e);
+            }
+        });
+    }
+
+    /**
+     * Decodes the stored response of the {@code key}. The returned future
+     * completes with {@code null} if there is no stored response, or it could
+     * not be decoded.
+     */
+    private <T> CompletableFuture<CachedHttpResponse<T>> decode(String key, PipelineRequest<T> request, long storedAt,
+        Freshness freshness) {
+        try {
+            final var decoded = store.read(key, (stored, value) -> {
+                final var headers = decodeHeaders(stored.metadata());
+                return TeeBodyHandler.decode(request.bodyHandler(), StatusCodes.OK, headers, value)
+                    .thenApply(body -> body == null ? null
+                        : new CachedHttpResponse<>(StatusCodes.OK, request.httpRequest(), headers, body, storedAt, freshness));
+            });
+            if (decoded == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return decoded.exceptionally(e -> {
+                LOGGER.debug("Could not decode stored response of request '{}'", key, e);
+                return null;
+            });
+        } catch (Exception e) {
+            LOGGER.debug("Could not read stored response of request '{}'", key, e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private static <T> CompletableFuture<HttpResponse<T>> complete(@Nullable HttpResponse<T> response,
+        @Nullable Throwable throwable) {
+        return throwable == null ? CompletableFuture.completedFuture(response) : CompletableFuture.failedFuture(throwable);
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException e) {
+            LOGGER.warn("Could not compact the disk cache!", e);
+        }
+    }
+
+    static String canonicalKey(PipelineRequest<?> request) {
+        final var key = request.target() + " " + request.method() + " " + request.httpRequest().uri();
+        return request.body() == null ? key : key + "\n" + request.body();
+    }
+
+    private static String encodeHeaders(HttpHeaders headers) {
+        final var builder = new StringBuilder();
+        headers.map().forEach((name, values) -> {
+            if (STORED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> builder.append(name).append(':').append(value).append('\n'));
+            }
+        });
+        return builder.toString();
+    }
+
+    private static HttpHeaders decodeHeaders(String metadata) {
+        final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (final var line : metadata.split("\n")) {
+            final var separator = line.indexOf(':');
+            if (separator > 0) {
+                headers.computeIfAbsent(line.substring(0, separator), k -> new ArrayList<>())
+                    .add(line.substring(separator + 1));
+            }
+        }
+        return HttpHeaders.of(headers, (name, value) -> true);
+    }
+
+    @FunctionalInterface
+    private interface StoreAction {
+        void run(SegmentStore store) throws IOException;
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        final var thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * A builder for {@link DiskCache disk caches}.
+     * 
+     * @author matyrobbrt
+     *
+     */
+    public static final class Builder {
+
+        private final Path directory;
+        private CachePolicy policy = CachePolicy.DEFAULT;
+        private Duration retention = Duration.ofDays(7);
+        private long segmentSize = 64L * 1024 * 1024;
+        private double compactionThreshold = 0.5;
+        private Duration compactionInterval = Duration.ofMinutes(10);
+
+        private Builder(Path directory) {
+            this.directory = Objects.requireNonNull(directory);
+        }
+
+        /**
+         * Sets the policy deciding which responses are cached, and for how long
+         * they are fresh. <br>
+         * By default, this is {@link CachePolicy#DEFAULT}.
+         * 
+         * @param  policy the cache policy
+         * @return        the builder instance, for chaining purposes
+         */
+        public Builder policy(CachePolicy policy) {
+            this.policy = Objects.requireNonNull(policy);
+            return this;
+        }
+
+        /**
+         * Sets for how long responses are kept on disk, and can be served while
+         * revalidating after a restart. <br>
+         * By default, this is 7 days.
+         * 
+         * @param  retention the retention
+         * @return           the builder instance, for chaining purposes
+         */
+        public Builder retention(Duration retention) {
+            this.retention = Objects.requireNonNull(retention);
+            return this;
+        }
+
+        /**
+         * Sets the size after which a new segment is started. <br>
+         * By default, this is 64 MiB.
+         * 
+         * @param  segmentSize the segment size, in bytes
+         * @return             the builder instance, for chaining purposes
+         */
+        public Builder segmentSize(long segmentSize) {
+            if (segmentSize < 1024 || segmentSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The segment size must be between 1 KiB and 2 GiB!");
+            }
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * Sets the ratio of garbage (overwritten or expired responses) from which
+         * a segment is compacted. <br>
+         * By default, this is {@code 0.5}.
+         * 
+         * @param  compactionThreshold the compaction threshold, between {@code 0}
+         *                             and {@code 1}
+         * @return                     the builder instance, for chaining purposes
+         */
+        public Builder compactionThreshold(double compactionThreshold) {
+            if (!(compactionThreshold > 0 && compactionThreshold <= 1)) {
+                throw new IllegalArgumentException("The compaction threshold must be between 0 and 1!");
+            }
+            this.compactionThreshold = compactionThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the interval at which compaction runs. <br>
+         * By default, this is 10 minutes.
+         * 
+         * @param  compactionInterval the compaction interval
+         * @return                    the builder instance, for chaining purposes
+         */
+        public Builder compactionInterval(Duration compactionInterval) {
+            if (compactionInterval.isNegative() || compactionInterval.isZero()) {
+                throw new IllegalArgumentException("The compaction interval must be positive!");
+            }
+            this.compactionInterval = compactionInterval;
+            return this;
+        }
+
+        /**
+         * Opens the {@link DiskCache}, loading the index of the stored responses.
+         * 
+         * @return             the cache
+         * @throws IOException if the cache could not be opened
+         */
+        public DiskCache build() throws IOException {
+            return new DiskCache(this);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+/**
+ * A count-min sketch estimating how often keys were accessed, with 4-bit
+ * counters packed sixteen to a {@code long}. Once the amount of recorded
+ * accesses reaches the sample size, all the counters are halved, so that the
+ * history ages and the sketch adapts to a changing access pattern.
+ * 
+ * @author matyrobbrt
+ *
+ */
+final class FrequencySketch {
+
+    private static final int MAX_COUNT = 15;
+    private static final long HALF_MASK = 0x7777777777777777L;
+    private static final int[] SEEDS = {
+        0x97cb3127, 0xb3c4e53b, 0x8f1bbcdb, 0xc2b2ae35
+    };
+
+    /**
+     * The counters of every row, one after the other.
+     */
+    private final long[] table;
+    private final int width;
+    private final int mask;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(long expectedEntries) {
+        this.width = Integer.highestOneBit((int) Math.max(16, Math.min(1 << 20, expectedEntries)) * 2 - 1);
+        this.table = new long[SEEDS.length * width / 16];
+        this.mask = width - 1;
+        this.sampleSize = 10 * width;
+    }
+
+    int frequency(Object key) {
+        final var hash = spread(key.hashCode());
+        var min = MAX_COUNT;
+        for (var i = 0; i < SEEDS.length; i++) {
+            min = Math.min(min, get(counter(hash, i)));
+        }
+        return min;
+    }
+
+    void increment(Object key) {
+        final var hash = spread(key.hashCode());
+        var incremented = false;
+        for (var i = 0; i < SEEDS.length; i++) {
+            final var counter = counter(hash, i);
+            if (get(counter) < MAX_COUNT) {
+                table[counter >>> 4] += 1L << shift(counter);
+                incremented = true;
+            }
+        }
+        if (incremented && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (var i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & HALF_MASK;
+        }
+        size /= 2;
+    }
+
+    private int get(int counter) {
+        return (int) (table[counter >>> 4] >>> shift(counter)) & MAX_COUNT;
+    }
+
+    private static int shift(int counter) {
+        return (counter & 15) << 2;
+    }
+
+    private int counter(int hash, int row) {
+        return row * width + index(hash, row);
+    }
+
+    private int index(int hash, int row) {
+        final var h = hash * SEEDS[row];
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 17;
+        hash *= 0xed5ad4bb;
+        hash ^= hash >>> 11;
+        return hash;
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.Response.Freshness;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.PipelineRequest;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.RequestInterceptor;
+import io.github.matyrobbrt.curseforgeapi.util.Constants.StatusCodes;
+
+/**
+ * An in-memory cache of decoded responses. <br>
+ * Successful responses of {@link PipelineRequest#isIdempotent() idempotent}
+ * requests are cached for the time to live given by the {@link CachePolicy}.
+ * The decoded body is cached, not the raw JSON, so a cache hit does not parse
+ * anything. Responses are cached by {@link PipelineRequest#key() request key},
+ * so requests to the same endpoint which decode the response differently are
+ * cached separately. <br>
+ * <br>
+ * The cache is bounded by weight, the weight of a response being the amount
+ * of body bytes which were received and decoded for it. When
+ * the cache is full, entries are evicted using the W-TinyLFU policy, which
+ * keeps the entries which are accessed frequently, even when many entries are
+ * accessed only once. <br>
+ * <br>
+ * Expired responses are kept until they are evicted. If they have validators
+ * ({@code ETag} or {@code Last-Modified}), they are revalidated using a
+ * conditional request; when the API responds with {@code 304 Not Modified},
+ * the cached response is used again, without downloading or decoding the body.
+ * The {@link #stats() statistics} of the cache measure how often this
+ * happens. Depending on the {@link CachePolicy}, expired responses may also be
+ * served while they are refreshed, or when refreshing them fails. <br>
+ * <br>
+ * <strong>Note:</strong> the cached bodies are shared by all the callers, and
+ * must not be mutated.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+public final class ResponseCache implements RequestInterceptor {
+
+    /**
+     * The expected average weight of a response, used for sizing the frequency
+     * sketch.
+     */
+    static final long AVERAGE_WEIGHT = 4096;
+
+    /**
+     * Creates a {@link Builder} for a response cache.
+     * 
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final CachePolicy policy;
+    private final WTinyLfuMap<PipelineRequest.Key, Entry> entries;
+    private final CacheStats.Counter stats = new CacheStats.Counter();
+    private final Revalidator revalidator = new Revalidator("ResponseCacheRevalidator");
+
+    private ResponseCache(CachePolicy policy, long maximumWeight) {
+        this.policy = policy;
+        this.entries = new WTinyLfuMap<>(maximumWeight, maximumWeight / AVERAGE_WEIGHT);
+    }
+
+    /**
+     * @return the policy of the cache
+     */
+    public CachePolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @return the amount of cached responses
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the total weight of the cached responses
+     */
+    public long weight() {
+        return entries.weight();
+    }
+
+    /**
+     * @return the statistics of the requests answered by this cache
+     */
+    public CacheStats stats() {
+        return stats.snapshot();
+    }
+
+    /**
+     * Removes all the cached responses.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<HttpResponse<T>> intercept(Chain<T> chain) {
+        final var request = chain.request();
+        final var ttl = policy.ttl(request).toNanos();
+        if (ttl <= 0 || request.isConditional()) {
+            return chain.proceed();
+        }
+        final var key = request.key();
+        final var cached = entries.get(key);
+        if (cached != null) {
+            final var staleness = System.nanoTime() - cached.expiresAt();
+            if (staleness < 0) {
+                stats.hits.increment();
+                return CompletableFuture.completedFuture((HttpResponse<T>) cached.response());
+            }
+            if (staleness < policy.getStaleWhileRevalidate().toNanos()) {
+                stats.stale.increment();
+                revalidator.revalidate(key, chain.isAsync(), () -> fetch(chain, key, ttl, cached, false));
+                return CompletableFuture.completedFuture((HttpResponse<T>) cached.response().withFreshness(Freshness.STALE));
+            }
+        }
+        return fetch(chain, key, ttl, cached, true).handle((response, throwable) -> {
+            if (Revalidator.isError(response, throwable)) {
+                if (cached != null && System.nanoTime() - cached.expiresAt() < policy.getStaleIfError().toNanos()) {
+                    stats.stale.increment();
+                    return CompletableFuture.completedFuture((HttpResponse<T>) cached.response().withFreshness(Freshness.STALE));
+                }
+                stats.misses.increment();
+            }
+            return throwable == null ? CompletableFuture.completedFuture(response)
+                : CompletableFuture.<HttpResponse<T>>failedFuture(throwable);
+        }).thenCompose(Function.identity());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<HttpResponse<T>> fetch(Chain<T> chain, PipelineRequest.Key key, long ttl,
+        @Nullable Entry cached, boolean record) {
+        final var request = chain.request();
+        final var conditional = cached == null ? null : Validators.conditional(request, cached.response().headers());
+        final var counter = new CountingBodyHandler<>(request.bodyHandler());
+        return chain.proceed((conditional == null ? request : conditional).withBodyHandler(counter)).thenApply(response -> {
+            if (cached != null && conditional != null && Validators.isNotModified(response)) {
+                if (record) {
+                    stats.revalidations.increment();
+                }
+                final var refreshed = (CachedHttpResponse<T>) cached.response().refreshed();
+                entries.put(key, new Entry(refreshed, System.nanoTime() + ttl, cached.weight()), cached.weight());
+                return refreshed.withFreshness(Freshness.REVALIDATED);
+            }
+            if (Revalidator.isError(response, null)) {
+                return response;
+            }
+            if (record) {
+                stats.misses.increment();
+            }
+            // Responses coming from a persistent cache may already be old
+            final var remaining = ttl - TimeUnit.MILLISECONDS.toNanos(CachedHttpResponse.ageMillis(response));
+            // When the response was shared with a coalesced request, the bytes
+            // were counted, and the response is cached, by that request
+            final var bytes = counter.bytes;
+            if (remaining > 0 && bytes >= 0 && isCacheable(response)) {
+                final var weight = Math.max(1, bytes);
+                entries.put(key, new Entry(CachedHttpResponse.of(response, Freshness.FRESH), System.nanoTime() + remaining,
+                    weight), weight);
+            }
+            return response;
+        });
+    }
+
+    private static boolean isCacheable(HttpResponse<?> response) {
+        return response.statusCode() == StatusCodes.OK && response.body() != null;
+    }
+
+    private record Entry(CachedHttpResponse<?> response, long expiresAt, long weight) {}
+
+    /**
+     * A {@link BodyHandler} counting the bytes of the last body its delegate
+     * decoded. Handlers with equal delegates are equal, so that requests which
+     * are counted keep equal {@link PipelineRequest#key() keys}. <br>
+     * The count is published once the body is decoded, as decoders may stop
+     * reading before the end of the stream is received.
+     */
+    static final class CountingBodyHandler<T> implements BodyHandler<T> {
+
+        private final BodyHandler<T> delegate;
+        /**
+         * The amount of bytes received for the last decoded body, or {@code -1}
+         * if no body was decoded.
+         */
+        volatile long bytes = -1;
+
+        CountingBodyHandler(BodyHandler<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public BodySubscriber<T> apply(ResponseInfo responseInfo) {
+            final var subscriber = delegate.apply(responseInfo);
+            return new BodySubscriber<>() {
+                // Only written by the thread delivering the bytes
+                private volatile long count;
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscriber.onSubscribe(subscription);
+                }
+
+                @Override
+                public void onNext(List<ByteBuffer> item) {
+                    for (final var buffer : item) {
+                        count += buffer.remaining();
+                    }
+                    subscriber.onNext(item);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    subscriber.onError(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    subscriber.onComplete();
+                }
+
+                @Override
+                public CompletionStage<T> getBody() {
+                    return subscriber.getBody().thenApply(body -> {
+                        bytes = count;
+                        return body;
+                    });
+                }
+            };
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj == this || obj instanceof CountingBodyHandler<?> other && delegate.equals(other.delegate);
+        }
+
+        @Override
+        public int hashCode() {
+            return delegate.hashCode();
+        }
+    }
+
+    /**
+     * A builder for {@link ResponseCache response caches}.
+     * 
+     * @author matyrobbrt
+     *
+     */
+    public static final class Builder {
+
+        private CachePolicy policy = CachePolicy.DEFAULT;
+        private long maximumWeight = 32L * 1024 * 1024;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the policy deciding which responses are cached, and for how long.
+         * <br>
+         * By default, this is {@link CachePolicy#DEFAULT}.
+         * 
+         * @param  policy the cache policy
+         * @return        the builder instance, for chaining purposes
+         */
+        public Builder policy(CachePolicy policy) {
+            this.policy = Objects.requireNonNull(policy);
+            return this;
+        }
+
+        /**
+         * Sets the maximum total weight of the cached responses, in bytes. <br>
+         * By default, this is 32 MiB.
+         * 
+         * @param  maximumWeight the maximum weight
+         * @return               the builder instance, for chaining purposes
+         */
+        public Builder maximumWeight(long maximumWeight) {
+            if (maximumWeight <= 0) {
+                throw new IllegalArgumentException("The maximum weight must be positive!");
+            }
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * Builds the {@link ResponseCache}.
+         * 
+         * @return the cache
+         */
+        public ResponseCache build() {
+            return new ResponseCache(policy, maximumWeight);
+        }
+    }
+}
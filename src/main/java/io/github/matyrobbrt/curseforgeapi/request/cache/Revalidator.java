@@ -0,0 +1,127 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.util.Constants.StatusCodes;
+
+/**
+ * Refreshes cached responses in the background, at most once at a time per
+ * key.
+ *
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+final class Revalidator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Revalidator.class);
+
+    private final Set<Object> inProgress = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor;
+
+    Revalidator(String threadName) {
+        this.executor = Executors.newCachedThreadPool(r -> {
+            final var thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the {@code refresh} in the background, unless the response of the
+     * {@code key} is already being refreshed.
+     *
+     * @param key     the key of the response
+     * @param async   if the refresh does not block. Blocking refreshes are run on
+     *                a background thread
+     * @param refresh the refresh
+     */
+    void revalidate(Object key, boolean async, Supplier<? extends CompletableFuture<?>> refresh) {
+        if (!inProgress.add(key)) {
+            return;
+        }
+        final Runnable task = () -> {
+            try {
+                refresh.get().whenComplete((r, e) -> {
+                    inProgress.remove(key);
+                    if (e != null) {
+                        LOGGER.debug("Could not revalidate response of request '{}'", key, e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                inProgress.remove(key);
+                LOGGER.debug("Could not revalidate response of request '{}'", key, e);
+            }
+        };
+        if (async) {
+            task.run();
+        } else {
+            executor.execute(task);
+        }
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Checks if refreshing a response failed in a way which allows serving a
+     * stale response: an I/O error (including timeouts), or a {@code 5xx}
+     * response.
+     *
+     * @param  response  the response, if the refresh did not fail with an
+     *                   exception
+     * @param  throwable the exception the refresh failed with
+     * @return           if the refresh failed
+     */
+    static boolean isError(@Nullable HttpResponse<?> response, @Nullable Throwable throwable) {
+        while (throwable instanceof CompletionException && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        if (throwable != null) {
+            return throwable instanceof IOException || throwable instanceof UncheckedIOException;
+        }
+        return response != null && response.statusCode() >= StatusCodes.INTERNAL_SERVER_ERROR;
+    }
+}
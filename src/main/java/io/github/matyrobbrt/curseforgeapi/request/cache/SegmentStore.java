@@ -0,0 +1,582 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * An append-only store of key-value records, split into segment files. <br>
+ * Records are only ever appended to the active segment; once it reaches the
+ * segment size, a new one is started. An in-memory index maps each key to the
+ * location of its latest record, and is rebuilt on startup by scanning the
+ * segments. Reads from full segments go through a read-only memory mapping of
+ * the segment, created once, so a value is never copied onto the heap by the
+ * store; reads from the active segment, which is still growing, use
+ * positional reads instead. <br>
+ * Touch records only update the time the latest value of a key was stored
+ * at. Overwritten, removed and expired records are garbage; {@link #compact(long,
+ * double) compaction} copies the live records of mostly-garbage segments into
+ * the active segment, and deletes them once no {@link #read(String, BiFunction)
+ * read} uses them anymore. Remove and touch records are copied as well while an
+ * older segment still holds a value they apply to, so that the index rebuilt
+ * on startup does not bring back removed values or older store times. <br>
+ * <br>
+ * Each record has the following layout:
+ * 
+ * <pre>
+ * int   magic
+ * long  storedAt (epoch millis)
+ * int   keyLength
+ * int   metadataLength
+ * int   valueLength
+ * byte  type (put / remove / touch)
+ * key, metadata, value
+ * int   CRC32 of everything after the magic
+ * </pre>
+ * 
+ * A record which is truncated or fails the checksum (for example, after a
+ * crash) ends the scan of its segment.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+final class SegmentStore implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SegmentStore.class);
+    private static final int MAGIC = 0xCF5E6A01;
+    private static final int HEADER_SIZE = 4 + 8 + 4 + 4 + 4 + 1;
+    private static final int TRAILER_SIZE = 4;
+    private static final byte PUT = 0;
+    private static final byte REMOVE = 1;
+    private static final byte TOUCH = 2;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.dat");
+
+    private final Path directory;
+    private final long segmentSize;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private Segment active;
+
+    SegmentStore(Path directory, long segmentSize) throws IOException {
+        if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.lockChannel = FileChannel.open(directory.resolve("lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.lock = tryLock(lockChannel, directory);
+        try (final var files = Files.list(directory)) {
+            for (final var file : (Iterable<Path>) files::iterator) {
+                final var matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    final var id = Integer.parseInt(matcher.group(1));
+                    segments.put(id, new Segment(id, file, Files.size(file)));
+                }
+            }
+        }
+        for (final var segment : segments.values()) {
+            scan(segment, segment == segments.lastEntry().getValue());
+        }
+        final var last = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        if (last != null && last.size < segmentSize) {
+            last.openForWriting();
+            active = last;
+        } else {
+            roll();
+        }
+    }
+
+    private static FileLock tryLock(FileChannel channel, Path directory) throws IOException {
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // The directory is used by another store of this JVM
+            lock = null;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IOException("The cache directory '%s' is used by another process!".formatted(directory));
+        }
+        return lock;
+    }
+
+    /**
+     * Gets the metadata of the latest value stored for the {@code key}, without
+     * reading the value.
+     */
+    @Nullable
+    Stored get(String key) {
+        final var location = index.get(key);
+        return location == null ? null : new Stored(location.metadata, location.storedAt);
+    }
+
+    /**
+     * Reads the latest value stored for the {@code key}. The value given to the
+     * {@code reader} is a read-only view, which stays valid until the future
+     * returned by the reader completes; the segment it is read from is not
+     * deleted by compaction before that.
+     * 
+     * @return the future returned by the reader, or {@code null} if there is no
+     *         value
+     */
+    @Nullable
+    <R> CompletableFuture<R> read(String key, BiFunction<Stored, ByteBuffer, CompletableFuture<R>> reader) throws IOException {
+        while (true) {
+            final var location = index.get(key);
+            if (location == null) {
+                return null;
+            }
+            final var segment = location.segment;
+            if (!segment.acquire()) {
+                // The segment was compacted, so the index points to the copy of
+                // the record by now
+                continue;
+            }
+            final CompletableFuture<R> result;
+            try {
+                result = reader.apply(new Stored(location.metadata, location.storedAt),
+                    segment.read(location.valueOffset, location.valueLength));
+            } catch (IOException | RuntimeException e) {
+                segment.release();
+                throw e;
+            }
+            result.whenComplete((r, t) -> segment.release());
+            return result;
+        }
+    }
+
+    /**
+     * Gets the time the latest value of the {@code key} was stored at, or
+     * {@code -1} if there is no value.
+     */
+    long storedAt(String key) {
+        final var location = index.get(key);
+        return location == null ? -1 : location.storedAt;
+    }
+
+    synchronized void put(String key, String metadata, ByteBuffer value, long storedAt) throws IOException {
+        append(key, metadata, value, storedAt, PUT);
+    }
+
+    /**
+     * Updates the time the latest value of the {@code key} was stored at, without
+     * rewriting the value.
+     */
+    synchronized void touch(String key, long storedAt) throws IOException {
+        if (index.containsKey(key)) {
+            append(key, "", ByteBuffer.allocate(0), storedAt, TOUCH);
+        }
+    }
+
+    synchronized void remove(String key) throws IOException {
+        if (index.containsKey(key)) {
+            append(key, "", ByteBuffer.allocate(0), System.currentTimeMillis(), REMOVE);
+        }
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    /**
+     * Removes the entries older than the {@code retention}, and rewrites the
+     * segments whose ratio of garbage is at least the {@code threshold}.
+     */
+    synchronized void compact(long retentionMillis, double threshold) throws IOException {
+        final var oldest = System.currentTimeMillis() - retentionMillis;
+        index.forEach((key, location) -> {
+            if (location.storedAt < oldest && index.remove(key, location)) {
+                release(location);
+            }
+        });
+        for (final var segment : new ArrayList<>(segments.values())) {
+            if (segment == active || segment.liveBytes > segment.size * (1 - threshold)) {
+                continue;
+            }
+            for (final var entry : index.entrySet()) {
+                final var location = entry.getValue();
+                if (location.segment == segment) {
+                    append(entry.getKey(), location.metadata, segment.read(location.valueOffset, location.valueLength),
+                        location.storedAt, PUT);
+                }
+            }
+            copyTombstonesAndTouches(segment);
+            segments.remove(segment.id);
+            segment.retire();
+        }
+    }
+
+    /**
+     * Copies the remove and touch records of the {@code segment} which still
+     * apply to a value stored in an older segment into the active segment.
+     */
+    private void copyTombstonesAndTouches(Segment segment) throws IOException {
+        final var removed = new TreeMap<String, Long>();
+        final var touched = new TreeMap<String, Location>();
+        final var buffer = segment.read(0, (int) segment.size);
+        readRecords(buffer, header -> {
+            final var key = string(buffer, header.keyOffset(), header.keyLength());
+            switch (header.type()) {
+            case REMOVE -> {
+                if (!index.containsKey(key)) {
+                    removed.put(key, header.storedAt());
+                }
+            }
+            case TOUCH -> {
+                final var location = index.get(key);
+                if (location != null && location.segment.id < segment.id) {
+                    touched.put(key, location);
+                }
+            }
+            default -> {
+            }
+            }
+        });
+        if (!removed.isEmpty()) {
+            // Only the keys an older segment holds a value for need their removal
+            // recorded again
+            final var stored = new HashSet<String>();
+            for (final var older : segments.headMap(segment.id).values()) {
+                final var olderBuffer = older.read(0, (int) older.size);
+                readRecords(olderBuffer, header -> {
+                    if (header.type() == PUT) {
+                        final var key = string(olderBuffer, header.keyOffset(), header.keyLength());
+                        if (removed.containsKey(key)) {
+                            stored.add(key);
+                        }
+                    }
+                });
+            }
+            for (final var key : stored) {
+                append(key, "", ByteBuffer.allocate(0), removed.get(key), REMOVE);
+            }
+        }
+        for (final var entry : touched.entrySet()) {
+            append(entry.getKey(), "", ByteBuffer.allocate(0), entry.getValue().storedAt, TOUCH);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (final var segment : segments.values()) {
+            segment.close();
+        }
+        lock.release();
+        lockChannel.close();
+    }
+
+    private void append(String key, String metadata, ByteBuffer value, long storedAt, byte type) throws IOException {
+        final var keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        final var metadataBytes = metadata.getBytes(StandardCharsets.UTF_8);
+        final var length = HEADER_SIZE + keyBytes.length + metadataBytes.length + value.remaining() + TRAILER_SIZE;
+        final var record = ByteBuffer.allocate(length);
+        record.putInt(MAGIC).putLong(storedAt).putInt(keyBytes.length).putInt(metadataBytes.length)
+            .putInt(value.remaining()).put(type).put(keyBytes).put(metadataBytes).put(value.duplicate());
+        final var crc = new CRC32();
+        crc.update(record.array(), 4, record.position() - 4);
+        record.putInt((int) crc.getValue()).flip();
+
+        final var written = write(record);
+        switch (type) {
+        case PUT -> {
+            final var valueOffset = written.offset() + HEADER_SIZE + keyBytes.length + metadataBytes.length;
+            written.segment().liveBytes += length;
+            release(index.put(key, new Location(written.segment(), written.offset(), length, valueOffset,
+                value.remaining(), metadata, storedAt)));
+        }
+        case REMOVE -> release(index.remove(key));
+        case TOUCH -> index.computeIfPresent(key, (k, location) -> location.withStoredAt(storedAt));
+        default -> throw new IllegalArgumentException("Unknown record type: " + type);
+        }
+    }
+
+    private static void release(@Nullable Location location) {
+        if (location != null) {
+            location.segment.liveBytes -= location.length;
+        }
+    }
+
+    private Written write(ByteBuffer record) throws IOException {
+        if (active.size > 0 && active.size + record.remaining() > segmentSize) {
+            roll();
+        }
+        final var segment = active;
+        final var offset = segment.size;
+        var position = offset;
+        while (record.hasRemaining()) {
+            position += segment.channel.write(record, position);
+        }
+        segment.size = position;
+        return new Written(segment, offset);
+    }
+
+    private void roll() throws IOException {
+        if (active != null) {
+            active.closeForWriting();
+        }
+        final var id = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        final var segment = new Segment(id, directory.resolve("segment-%08d.dat".formatted(id)), 0);
+        segment.openForWriting();
+        segments.put(id, segment);
+        active = segment;
+    }
+
+    private void scan(Segment segment, boolean last) throws IOException {
+        if (segment.size == 0) {
+            return;
+        }
+        final var buffer = segment.read(0, (int) segment.size);
+        final var offset = readRecords(buffer, header -> {
+            final var key = string(buffer, header.keyOffset(), header.keyLength());
+            switch (header.type()) {
+            case PUT -> {
+                final var metadata = string(buffer, header.keyOffset() + header.keyLength(), header.metadataLength());
+                segment.liveBytes += header.length();
+                release(index.put(key, new Location(segment, header.offset(), header.length(), header.valueOffset(),
+                    header.valueLength(), metadata, header.storedAt())));
+            }
+            case REMOVE -> release(index.remove(key));
+            case TOUCH -> index.computeIfPresent(key, (k, location) -> location.withStoredAt(header.storedAt()));
+            default -> {
+            }
+            }
+        });
+        if (offset < segment.size && last) {
+            // Drop the corrupted tail, so that new records are appended after the
+            // last valid one
+            try (final var channel = FileChannel.open(segment.path, StandardOpenOption.WRITE)) {
+                channel.truncate(offset);
+            }
+            segment.size = offset;
+            segment.map = null;
+        }
+    }
+
+    /**
+     * Gives the {@code consumer} the header of each valid record of the
+     * {@code buffer}, in order.
+     * 
+     * @return the offset the valid records end at
+     */
+    private static int readRecords(ByteBuffer buffer, Consumer<Header> consumer) {
+        var offset = 0;
+        final var crc = new CRC32();
+        while (buffer.limit() - offset >= HEADER_SIZE + TRAILER_SIZE) {
+            if (buffer.getInt(offset) != MAGIC) {
+                break;
+            }
+            final var storedAt = buffer.getLong(offset + 4);
+            final var keyLength = buffer.getInt(offset + 12);
+            final var metadataLength = buffer.getInt(offset + 16);
+            final var valueLength = buffer.getInt(offset + 20);
+            final var type = buffer.get(offset + 24);
+            final var length = (long) HEADER_SIZE + keyLength + metadataLength + valueLength + TRAILER_SIZE;
+            if (keyLength < 0 || metadataLength < 0 || valueLength < 0 || offset + length > buffer.limit()) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(offset + 4, (int) length - 4 - TRAILER_SIZE));
+            if ((int) crc.getValue() != buffer.getInt(offset + (int) length - TRAILER_SIZE)) {
+                break;
+            }
+            consumer.accept(new Header(type, storedAt, offset, (int) length, keyLength, metadataLength, valueLength));
+            offset += (int) length;
+        }
+        return offset;
+    }
+
+    private static String string(ByteBuffer buffer, int offset, int length) {
+        final var bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The metadata of a value of the store.
+     *
+     * @param metadata the metadata stored with the value
+     * @param storedAt the time the value was stored at, in epoch millis
+     */
+    record Stored(String metadata, long storedAt) {}
+
+    private record Location(Segment segment, long offset, int length, long valueOffset, int valueLength,
+        String metadata, long storedAt) {
+
+        Location withStoredAt(long storedAt) {
+            return new Location(segment, offset, length, valueOffset, valueLength, metadata, storedAt);
+        }
+    }
+
+    private record Written(Segment segment, long offset) {}
+
+    private record Header(byte type, long storedAt, int offset, int length, int keyLength, int metadataLength,
+        int valueLength) {
+
+        int keyOffset() {
+            return offset + HEADER_SIZE;
+        }
+
+        int valueOffset() {
+            return keyOffset() + keyLength + metadataLength;
+        }
+    }
+
+    private static final class Segment {
+        final int id;
+        final Path path;
+        volatile long size;
+        long liveBytes;
+        @Nullable
+        FileChannel channel;
+        @Nullable
+        MappedByteBuffer map;
+        private int readers;
+        private boolean retired;
+
+        Segment(int id, Path path, long size) {
+            this.id = id;
+            this.path = path;
+            this.size = size;
+        }
+
+        /**
+         * Reads {@code length} bytes at the {@code offset}. The whole segment is
+         * mapped on the first read once it is full, as its size does not change
+         * anymore; the active segment is read with positional reads.
+         */
+        synchronized ByteBuffer read(long offset, int length) throws IOException {
+            if (channel != null) {
+                final var buffer = ByteBuffer.allocate(length);
+                var position = offset;
+                while (buffer.hasRemaining()) {
+                    final var read = channel.read(buffer, position);
+                    if (read < 0) {
+                        throw new EOFException("Unexpected end of segment " + path);
+                    }
+                    position += read;
+                }
+                return buffer.flip().asReadOnlyBuffer();
+            }
+            if (map == null) {
+                try (final var readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    map = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                }
+            }
+            return map.slice(Math.toIntExact(offset), length).asReadOnlyBuffer();
+        }
+
+        synchronized void openForWriting() throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            map = null;
+        }
+
+        synchronized void closeForWriting() throws IOException {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+            map = null;
+        }
+
+        synchronized void close() throws IOException {
+            closeForWriting();
+        }
+
+        /**
+         * Registers a reader of the segment.
+         * 
+         * @return {@code false} if the segment was retired, and can't be read
+         */
+        synchronized boolean acquire() {
+            if (retired) {
+                return false;
+            }
+            readers++;
+            return true;
+        }
+
+        synchronized void release() {
+            if (--readers == 0 && retired) {
+                delete();
+            }
+        }
+
+        /**
+         * Retires the segment, deleting it once it has no readers.
+         */
+        synchronized void retire() {
+            retired = true;
+            if (readers == 0) {
+                delete();
+            }
+        }
+
+        private void delete() {
+            try {
+                close();
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                LOGGER.warn("Could not delete compacted segment {}", path, e);
+            }
+        }
+    }
+}
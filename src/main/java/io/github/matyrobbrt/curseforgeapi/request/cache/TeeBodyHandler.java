@@ -0,0 +1,176 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.util.Constants.StatusCodes;
+
+/**
+ * A {@link BodyHandler} which decodes the body using another handler, while
+ * keeping a copy of the raw bytes of successful responses, so that they can be
+ * stored. Bodies larger than the maximum size are not kept, and neither are
+ * bodies which the delegate stopped reading before they were complete.
+ *
+ * @author     matyrobbrt
+ *
+ * @param  <T> the type of the decoded body
+ */
+@ParametersAreNonnullByDefault
+final class TeeBodyHandler<T> implements BodyHandler<T> {
+
+    private final BodyHandler<T> delegate;
+    private final int maxSize;
+    @Nullable
+    private volatile byte[] bytes;
+
+    TeeBodyHandler(BodyHandler<T> delegate, int maxSize) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return the raw bytes of the body, or {@code null} if the response was not
+     *         successful, or its body was too large
+     */
+    @Nullable
+    byte[] bytes() {
+        return bytes;
+    }
+
+    @Override
+    public BodySubscriber<T> apply(ResponseInfo responseInfo) {
+        final var subscriber = delegate.apply(responseInfo);
+        if (responseInfo.statusCode() != StatusCodes.OK) {
+            return subscriber;
+        }
+        return new BodySubscriber<>() {
+            private ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriber.onSubscribe(subscription);
+            }
+
+            @Override
+            public void onNext(List<ByteBuffer> item) {
+                if (out != null) {
+                    for (final var buffer : item) {
+                        if (out.size() + buffer.remaining() > maxSize) {
+                            out = null;
+                            break;
+                        }
+                        final var copy = new byte[buffer.remaining()];
+                        buffer.duplicate().get(copy);
+                        out.writeBytes(copy);
+                    }
+                }
+                subscriber.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                out = null;
+                subscriber.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                if (out != null) {
+                    bytes = out.toByteArray();
+                }
+                subscriber.onComplete();
+            }
+
+            @Override
+            public CompletionStage<T> getBody() {
+                // Never wait for the end of the stream here: decoders which close
+                // it early cancel the subscription, so it may never complete
+                return subscriber.getBody();
+            }
+        };
+    }
+
+    /**
+     * Decodes a stored body using the given {@code handler}, as if it was
+     * received from the network.
+     *
+     * @param  <T>        the type of the decoded body
+     * @param  handler    the handler to decode with
+     * @param  statusCode the status code of the stored response
+     * @param  headers    the stored headers
+     * @param  body       the stored body
+     * @return            a future which will be completed with the decoded body
+     */
+    static <T> CompletableFuture<T> decode(BodyHandler<T> handler, int statusCode, HttpHeaders headers, ByteBuffer body) {
+        final var subscriber = handler.apply(new ResponseInfo() {
+            @Override
+            public int statusCode() {
+                return statusCode;
+            }
+
+            @Override
+            public HttpHeaders headers() {
+                return headers;
+            }
+
+            @Override
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_1_1;
+            }
+        });
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        // The whole body is delivered at once, so that subscribers which block
+        // while reading (such as input stream ones) never wait for more data
+        if (body.hasRemaining()) {
+            subscriber.onNext(List.of(body));
+        }
+        subscriber.onComplete();
+        return subscriber.getBody().toCompletableFuture();
+    }
+}
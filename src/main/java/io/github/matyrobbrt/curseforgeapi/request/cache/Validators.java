@@ -0,0 +1,82 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.PipelineRequest;
+import io.github.matyrobbrt.curseforgeapi.util.Constants.StatusCodes;
+
+/**
+ * Utilities for revalidating cached responses using conditional requests.
+ *
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+final class Validators {
+
+    private Validators() {
+    }
+
+    /**
+     * Creates a conditional copy of the {@code request}, using the validators
+     * ({@code ETag} and {@code Last-Modified}) of a cached response.
+     *
+     * @param  <T>     the type of the response body
+     * @param  request the request to revalidate
+     * @param  headers the headers of the cached response
+     * @return         the conditional request, or {@code null} if the cached
+     *                 response has no validators
+     */
+    @Nullable
+    static <T> PipelineRequest<T> conditional(PipelineRequest<T> request, HttpHeaders headers) {
+        final var etag = headers.firstValue("ETag");
+        final var lastModified = headers.firstValue("Last-Modified");
+        if (etag.isEmpty() && lastModified.isEmpty()) {
+            return null;
+        }
+        final var builder = HttpRequest.newBuilder(request.httpRequest(), (name, value) -> true);
+        etag.ifPresent(value -> builder.setHeader("If-None-Match", value));
+        lastModified.ifPresent(value -> builder.setHeader("If-Modified-Since", value));
+        return request.withHttpRequest(builder.build());
+    }
+
+    /**
+     * @param  response the response
+     * @return          if the response confirms that the cached response is still
+     *                  valid
+     */
+    static boolean isNotModified(HttpResponse<?> response) {
+        return response.statusCode() == StatusCodes.NOT_MODIFIED;
+    }
+}
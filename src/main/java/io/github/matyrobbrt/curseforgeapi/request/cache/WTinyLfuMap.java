@@ -0,0 +1,262 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+
+/**
+ * A weight-bounded map using the W-TinyLFU eviction policy. <br>
+ * New entries are admitted into a small LRU window (1% of the maximum weight).
+ * Entries leaving the window compete with the least recently used entry of the
+ * main space, and the one which was accessed least often, according to a
+ * {@link FrequencySketch}, is evicted. The main space is a segmented LRU: entries
+ * accessed again while in probation are promoted to the protected segment (80%
+ * of the main space). As such, a burst of entries accessed only once, like a
+ * crawl, cannot flush the entries which are frequently accessed. <br>
+ * <br>
+ * All the methods are synchronized.
+ * 
+ * @author     matyrobbrt
+ *
+ * @param  <K> the type of the keys
+ * @param  <V> the type of the values
+ */
+final class WTinyLfuMap<K, V> {
+
+    private final long maxWeight;
+    private final long windowMaxWeight;
+    private final long protectedMaxWeight;
+    private final Map<K, Node<K, V>> data = new HashMap<>();
+    private final FrequencySketch sketch;
+    private final Queue<K, V> window = new Queue<>();
+    private final Queue<K, V> probation = new Queue<>();
+    private final Queue<K, V> protectedQueue = new Queue<>();
+
+    WTinyLfuMap(long maxWeight, long expectedEntries) {
+        this.maxWeight = maxWeight;
+        this.windowMaxWeight = Math.max(1, maxWeight / 100);
+        this.protectedMaxWeight = (long) ((maxWeight - windowMaxWeight) * 0.8);
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    /**
+     * Gets the value associated with the {@code key}, recording the access.
+     */
+    @Nullable
+    synchronized V get(K key) {
+        sketch.increment(key);
+        final var node = data.get(key);
+        if (node == null) {
+            return null;
+        }
+        onAccess(node);
+        return node.value;
+    }
+
+    /**
+     * Gets the value associated with the {@code key}, without recording an
+     * access.
+     */
+    @Nullable
+    synchronized V peek(K key) {
+        final var node = data.get(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Associates the {@code value} with the {@code key}. Values heavier than the
+     * maximum weight are not stored, and remove the previous value of the key.
+     */
+    synchronized void put(K key, V value, long weight) {
+        final var existing = data.get(key);
+        if (existing != null && weight > maxWeight) {
+            evict(existing);
+        } else if (existing != null) {
+            existing.value = value;
+            existing.queue.weight += weight - existing.weight;
+            existing.weight = weight;
+            onAccess(existing);
+        } else if (weight <= maxWeight) {
+            sketch.increment(key);
+            final var node = new Node<>(key, value, weight);
+            data.put(key, node);
+            window.addLast(node);
+        }
+        evict();
+    }
+
+    @Nullable
+    synchronized V remove(K key) {
+        final var node = data.remove(key);
+        if (node == null) {
+            return null;
+        }
+        node.queue.remove(node);
+        return node.value;
+    }
+
+    synchronized void clear() {
+        data.clear();
+        window.clear();
+        probation.clear();
+        protectedQueue.clear();
+    }
+
+    synchronized void forEach(BiConsumer<? super K, ? super V> consumer) {
+        data.forEach((k, node) -> consumer.accept(k, node.value));
+    }
+
+    synchronized int size() {
+        return data.size();
+    }
+
+    synchronized long weight() {
+        return window.weight + probation.weight + protectedQueue.weight;
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (node.queue == probation) {
+            probation.remove(node);
+            protectedQueue.addLast(node);
+            while (protectedQueue.weight > protectedMaxWeight && protectedQueue.head != node) {
+                probation.addLast(protectedQueue.remove(protectedQueue.head));
+            }
+        } else {
+            node.queue.moveToLast(node);
+        }
+    }
+
+    private void evict() {
+        while (window.weight > windowMaxWeight && window.head != null) {
+            final var candidate = window.remove(window.head);
+            probation.addLast(candidate);
+            while (probation.weight + protectedQueue.weight > maxWeight - window.weight) {
+                final var victim = victimFor(candidate);
+                if (victim == null) {
+                    evict(candidate);
+                    break;
+                }
+                if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                    evict(victim);
+                } else {
+                    evict(candidate);
+                    break;
+                }
+            }
+        }
+        // Replacing a value with a heavier one can grow the main space past its
+        // bound without any entry leaving the window
+        while (weight() > maxWeight) {
+            evict(probation.head != null ? probation.head : protectedQueue.head != null ? protectedQueue.head : window.head);
+        }
+    }
+
+    @Nullable
+    private Node<K, V> victimFor(Node<K, V> candidate) {
+        if (probation.head != null && probation.head != candidate) {
+            return probation.head;
+        }
+        return protectedQueue.head;
+    }
+
+    private void evict(Node<K, V> node) {
+        node.queue.remove(node);
+        data.remove(node.key);
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        V value;
+        long weight;
+        Queue<K, V> queue;
+        Node<K, V> previous;
+        Node<K, V> next;
+
+        Node(K key, V value, long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * A doubly linked queue, ordered from the least to the most recently used
+     * node.
+     */
+    private static final class Queue<K, V> {
+        Node<K, V> head;
+        Node<K, V> tail;
+        long weight;
+
+        void addLast(Node<K, V> node) {
+            node.queue = this;
+            node.previous = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            weight += node.weight;
+        }
+
+        Node<K, V> remove(Node<K, V> node) {
+            if (node.previous == null) {
+                head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            weight -= node.weight;
+            return node;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (tail != node) {
+                addLast(remove(node));
+            }
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            weight = 0;
+        }
+    }
+}
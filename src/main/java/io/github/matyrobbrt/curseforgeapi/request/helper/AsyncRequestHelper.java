@@ -27,12 +27,14 @@
 
 package io.github.matyrobbrt.curseforgeapi.request.helper;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
@@ -69,6 +71,12 @@ import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
  */
 public class AsyncRequestHelper implements IRequestHelper {
 
+    private static final int DEFAULT_PAGES_IN_FLIGHT = 2;
+    private static final Duration DEFAULT_BATCH_WINDOW = Duration.ofMillis(10);
+    private static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    private static final int DEFAULT_CHUNK_SIZE = 100;
+    private static final int DEFAULT_CHUNK_PARALLELISM = 4;
+
     private final CurseForgeAPI api;
 
     public AsyncRequestHelper(CurseForgeAPI api) {
@@ -100,6 +108,34 @@ public class AsyncRequestHelper implements IRequestHelper {
         return paginated(pg -> Requests.getPaginatedModFiles(modId, (query == null ? FileListQuery.of() : query).paginated(pg)), Function.identity());
     }
 
+    /**
+     * Publishes the files of the specified mod, fetching pages as the subscriber
+     * requests items.
+     * 
+     * @param  modId the mod id the files belong to
+     * @param  query the query to list using, or {@code null}
+     * @return       the publisher
+     * @see          #publishModFiles(int, FileListQuery, int)
+     */
+    public Flow.Publisher<File> publishModFiles(int modId, @Nullable FileListQuery query) {
+        return publishModFiles(modId, query, DEFAULT_PAGES_IN_FLIGHT);
+    }
+
+    /**
+     * Publishes the files of the specified mod, fetching pages as the subscriber
+     * requests items.
+     * 
+     * @param  modId            the mod id the files belong to
+     * @param  query            the query to list using, or {@code null}
+     * @param  maxPagesInFlight the maximum amount of pages fetched at the same time
+     * @return                  the publisher
+     * @see                     PaginatedPublisher
+     */
+    public Flow.Publisher<File> publishModFiles(int modId, @Nullable FileListQuery query, int maxPagesInFlight) {
+        final var fileQuery = query == null ? FileListQuery.of() : query;
+        return publisher(pg -> Requests.getPaginatedModFiles(modId, fileQuery.paginated(pg)), Function.identity(), 50, maxPagesInFlight);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -132,6 +168,14 @@ public class AsyncRequestHelper implements IRequestHelper {
         return api.makeAsyncRequest(Requests.getMod(modId));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AsyncRequest<Response<List<Mod>>> getMods(int... modIds) throws CurseForgeException {
+        return api.makeAsyncRequest(Requests.getMods(modIds));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -148,6 +192,32 @@ public class AsyncRequestHelper implements IRequestHelper {
         return api.makeAsyncRequest(Requests.searchModsPaginated(query));
     }
 
+    /**
+     * Publishes the mods matching the search {@code query}, fetching pages as the
+     * subscriber requests items.
+     * 
+     * @param  query the search query. Its pagination is managed by the publisher
+     * @return       the publisher
+     * @see          #publishSearchMods(ModSearchQuery, int)
+     */
+    public Flow.Publisher<Mod> publishSearchMods(ModSearchQuery query) {
+        return publishSearchMods(query, DEFAULT_PAGES_IN_FLIGHT);
+    }
+
+    /**
+     * Publishes the mods matching the search {@code query}, fetching pages as the
+     * subscriber requests items.
+     * 
+     * @param  query            the search query. Its pagination is managed by the
+     *                          publisher
+     * @param  maxPagesInFlight the maximum amount of pages fetched at the same time
+     * @return                  the publisher
+     * @see                     PaginatedPublisher
+     */
+    public Flow.Publisher<Mod> publishSearchMods(ModSearchQuery query, int maxPagesInFlight) {
+        return publisher(pg -> Requests.searchModsPaginated(query.paginated(pg)), Function.identity(), 50, maxPagesInFlight);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -292,14 +362,14 @@ public class AsyncRequestHelper implements IRequestHelper {
                         requery();
                     } else if (currentResponse.get() != null) {
                         currentIndex.getAndIncrement();
-                        final var req = new OfCompletableFutureAsyncRequest<R>(CompletableFuture.completedFuture(currentResponse.get().get(currentListIndex.incrementAndGet())));
+                        final var req = new OfCompletableFutureAsyncRequest<R>(CompletableFuture.completedFuture(currentResponse.get().get(currentListIndex.incrementAndGet())), api.getCallbackExecutor());
                         requests.add(req);
                         return req;
                     }
 
                     currentIndex.getAndIncrement();
                     currentListIndex.incrementAndGet();
-                    final var req = new OfCompletableFutureAsyncRequest<R>(new CompletableFuture<>());
+                    final var req = new OfCompletableFutureAsyncRequest<R>(new CompletableFuture<>(), api.getCallbackExecutor());
                     requests.add(req);
                     return req;
                 }
@@ -331,6 +401,171 @@ public class AsyncRequestHelper implements IRequestHelper {
         });
     }
 
+    /**
+     * Makes a {@link Flow.Publisher} emitting the items of the pages returned by
+     * the {@code requester}, in order.
+     * 
+     * @param  <T>              the type of the paginated data
+     * @param  <R>              the type of the items
+     * @param  requester        the function creating the request of a page
+     * @param  collector        the function collecting the items of a page
+     * @param  pageSize         the size of the pages to request, at most 50
+     * @param  maxPagesInFlight the maximum amount of pages fetched at the same time
+     * @return                  the publisher
+     * @see                     PaginatedPublisher
+     */
+    public <T, R> Flow.Publisher<R> publisher(Function<PaginationQuery, Request<PaginatedData<T>>> requester, Function<T, List<R>> collector, int pageSize, int maxPagesInFlight) {
+        return new PaginatedPublisher<>(pg -> {
+            try {
+                return mr(requester.apply(pg));
+            } catch (CurseForgeException e) {
+                throw new CurseForgeException.Runtime(e);
+            }
+        }, collector, pageSize, maxPagesInFlight);
+    }
+
+    /**
+     * Makes a {@link BatchLoader} which collects {@link #getMod(int) mod lookups}
+     * into bulk requests.
+     * 
+     * @return the loader
+     * @see    #modLoader(Duration, int)
+     */
+    public BatchLoader<Integer, Mod> modLoader() {
+        return modLoader(DEFAULT_BATCH_WINDOW, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Makes a {@link BatchLoader} which collects {@link #getMod(int) mod lookups}
+     * into bulk requests.
+     * 
+     * @param  window       how long to collect lookups for before sending a batch
+     * @param  maxBatchSize the maximum amount of ids requested in a batch
+     * @return              the loader
+     * @see                 Requests#getMods(int...)
+     */
+    public BatchLoader<Integer, Mod> modLoader(Duration window, int maxBatchSize) {
+        return new BatchLoader<>(ids -> getMods(toIntArray(ids)), Mod::id, api.getCallbackExecutor(), window, maxBatchSize);
+    }
+
+    /**
+     * Makes a {@link BatchLoader} which collects file lookups, by file id, into
+     * bulk requests.
+     * 
+     * @return the loader
+     * @see    #fileLoader(Duration, int)
+     */
+    public BatchLoader<Integer, File> fileLoader() {
+        return fileLoader(DEFAULT_BATCH_WINDOW, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Makes a {@link BatchLoader} which collects file lookups, by file id, into
+     * bulk requests.
+     * 
+     * @param  window       how long to collect lookups for before sending a batch
+     * @param  maxBatchSize the maximum amount of ids requested in a batch
+     * @return              the loader
+     * @see                 Requests#getFiles(int...)
+     */
+    public BatchLoader<Integer, File> fileLoader(Duration window, int maxBatchSize) {
+        return new BatchLoader<>(ids -> getFiles(toIntArray(ids)), File::id, api.getCallbackExecutor(), window, maxBatchSize);
+    }
+
+    /**
+     * Gets the mods with the given ids, splitting them into chunks which are
+     * fetched concurrently.
+     * 
+     * @param  modIds the ids of the mods to fetch
+     * @return        the request
+     * @see           #getModsInChunks(int[], int, int)
+     */
+    public AsyncRequest<Response<List<Mod>>> getModsInChunks(int[] modIds) {
+        return getModsInChunks(modIds, DEFAULT_CHUNK_SIZE, DEFAULT_CHUNK_PARALLELISM);
+    }
+
+    /**
+     * Gets the mods with the given ids, splitting them into chunks of at most
+     * {@code chunkSize} distinct ids which are fetched concurrently. <br>
+     * The mods are returned in the order of the {@code modIds}, and ids which do
+     * not match a mod are skipped. If any chunk is not successful, the response is
+     * empty.
+     * 
+     * @param  modIds         the ids of the mods to fetch
+     * @param  chunkSize      the maximum amount of ids requested at once
+     * @param  maxParallelism the maximum amount of chunks fetched at the same time
+     * @return                the request
+     * @see                   Requests#getMods(int...)
+     */
+    public AsyncRequest<Response<List<Mod>>> getModsInChunks(int[] modIds, int chunkSize, int maxParallelism) {
+        final var chunks = ChunkedRequests.chunks(modIds, chunkSize);
+        return ChunkedRequests.send(chunks, this::getMods, maxParallelism, mods -> ChunkedRequests.inOrder(chunks, mods, Mod::id));
+    }
+
+    /**
+     * Gets the files with the given ids, splitting them into chunks which are
+     * fetched concurrently.
+     * 
+     * @param  fileIds the ids of the files to fetch
+     * @return         the request
+     * @see            #getFilesInChunks(int[], int, int)
+     */
+    public AsyncRequest<Response<List<File>>> getFilesInChunks(int[] fileIds) {
+        return getFilesInChunks(fileIds, DEFAULT_CHUNK_SIZE, DEFAULT_CHUNK_PARALLELISM);
+    }
+
+    /**
+     * Gets the files with the given ids, splitting them into chunks of at most
+     * {@code chunkSize} distinct ids which are fetched concurrently. <br>
+     * The files are returned in the order of the {@code fileIds}, and ids which do
+     * not match a file are skipped. If any chunk is not successful, the response
+     * is empty.
+     * 
+     * @param  fileIds        the ids of the files to fetch
+     * @param  chunkSize      the maximum amount of ids requested at once
+     * @param  maxParallelism the maximum amount of chunks fetched at the same time
+     * @return                the request
+     * @see                   Requests#getFiles(int...)
+     */
+    public AsyncRequest<Response<List<File>>> getFilesInChunks(int[] fileIds, int chunkSize, int maxParallelism) {
+        final var chunks = ChunkedRequests.chunks(fileIds, chunkSize);
+        return ChunkedRequests.send(chunks, this::getFiles, maxParallelism, files -> ChunkedRequests.inOrder(chunks, files, File::id));
+    }
+
+    /**
+     * Gets the matches of the given fingerprints, splitting them into chunks
+     * which are fetched concurrently.
+     * 
+     * @param  fingerprints the fingerprints to match
+     * @return              the request
+     * @see                 #getFingerprintMatchesInChunks(long[], int, int)
+     */
+    public AsyncRequest<Response<FingerprintsMatchesResult>> getFingerprintMatchesInChunks(long[] fingerprints) {
+        return getFingerprintMatchesInChunks(fingerprints, DEFAULT_CHUNK_SIZE, DEFAULT_CHUNK_PARALLELISM);
+    }
+
+    /**
+     * Gets the matches of the given fingerprints, splitting them into chunks of at
+     * most {@code chunkSize} distinct fingerprints which are fetched concurrently.
+     * <br>
+     * The results of the chunks are merged into one, with the matches in the
+     * order of the chunks. If any chunk is not successful, the response is empty.
+     * 
+     * @param  fingerprints   the fingerprints to match
+     * @param  chunkSize      the maximum amount of fingerprints requested at once
+     * @param  maxParallelism the maximum amount of chunks fetched at the same time
+     * @return                the request
+     * @see                   Requests#getFingerprintMatches(long...)
+     */
+    public AsyncRequest<Response<FingerprintsMatchesResult>> getFingerprintMatchesInChunks(long[] fingerprints, int chunkSize, int maxParallelism) {
+        return ChunkedRequests.send(ChunkedRequests.chunks(fingerprints, chunkSize), this::getFingerprintMatches, maxParallelism,
+            ChunkedRequests::mergeFingerprints);
+    }
+
+    private static int[] toIntArray(List<Integer> ids) {
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
     private <T> AsyncRequest<Response<T>> mr(Request<T> req) throws CurseForgeException {
         return api.makeAsyncRequest(req);
     }
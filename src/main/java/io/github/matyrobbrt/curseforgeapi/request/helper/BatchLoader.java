@@ -0,0 +1,188 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.Response;
+import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
+import io.github.matyrobbrt.curseforgeapi.util.ExceptionFunction;
+
+/**
+ * A loader which collects individual lookups into bulk requests. <br>
+ * Keys passed to {@link #load(Object)} are queued for a short window, or until
+ * {@code maxBatchSize} distinct keys are queued, after which one bulk request is
+ * sent for all of them, and its results are fanned back out to the request of
+ * each key. Keys which are loaded multiple times in the same batch are only
+ * requested once. <br>
+ * Keys missing from the bulk response complete with an empty {@link Response}
+ * with the status code {@code 404}, and if the bulk request itself is not
+ * successful, all of its keys complete with an empty response with its status
+ * code.
+ * 
+ * @author     matyrobbrt
+ *
+ * @param  <K> the type of the keys
+ * @param  <V> the type of the values
+ */
+@ParametersAreNonnullByDefault
+public final class BatchLoader<K, V> {
+
+    private final ExceptionFunction<List<K>, AsyncRequest<Response<List<V>>>, CurseForgeException> fetcher;
+    private final Function<? super V, ? extends K> keyExtractor;
+    private final Executor callbackExecutor;
+    private final Executor windowExecutor;
+    private final int maxBatchSize;
+
+    // Both guarded by this
+    private Map<K, CompletableFuture<Response<V>>> pending = new LinkedHashMap<>();
+    private int batch;
+
+    BatchLoader(ExceptionFunction<List<K>, AsyncRequest<Response<List<V>>>, CurseForgeException> fetcher,
+        Function<? super V, ? extends K> keyExtractor, Executor callbackExecutor, Duration window, int maxBatchSize) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Batch window must be positive, but was " + window);
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be at least 1, but was " + maxBatchSize);
+        }
+        this.fetcher = Objects.requireNonNull(fetcher);
+        this.keyExtractor = Objects.requireNonNull(keyExtractor);
+        this.callbackExecutor = Objects.requireNonNull(callbackExecutor);
+        // The delaying thread is shared by every CompletableFuture, so the flush is
+        // handed off to the callback executor instead of running on it
+        this.windowExecutor = CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS, callbackExecutor);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Queues the {@code key} in the current batch.
+     * 
+     * @param  key the key to load
+     * @return     a request which completes once the batch of the key has been
+     *             fetched
+     */
+    public AsyncRequest<Response<V>> load(K key) {
+        Objects.requireNonNull(key);
+        CompletableFuture<Response<V>> future;
+        Map<K, CompletableFuture<Response<V>>> full = null;
+        synchronized (this) {
+            future = pending.get(key);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                pending.put(key, future);
+                if (pending.size() >= maxBatchSize) {
+                    full = takeBatch();
+                } else if (pending.size() == 1) {
+                    final int current = batch;
+                    windowExecutor.execute(() -> flush(current));
+                }
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        // Each caller gets its own copy, so that cancelling one request does not
+        // cancel the lookups of the other callers of the same key
+        return AsyncRequest.fromStage(future.copy(), callbackExecutor);
+    }
+
+    /**
+     * Sends the current batch immediately, without waiting for its window to
+     * pass.
+     */
+    public void flush() {
+        final Map<K, CompletableFuture<Response<V>>> toDispatch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            toDispatch = takeBatch();
+        }
+        dispatch(toDispatch);
+    }
+
+    private void flush(int expectedBatch) {
+        final Map<K, CompletableFuture<Response<V>>> toDispatch;
+        synchronized (this) {
+            // The batch may have already been sent because it was full
+            if (batch != expectedBatch || pending.isEmpty()) {
+                return;
+            }
+            toDispatch = takeBatch();
+        }
+        dispatch(toDispatch);
+    }
+
+    private Map<K, CompletableFuture<Response<V>>> takeBatch() {
+        final var taken = pending;
+        pending = new LinkedHashMap<>();
+        batch++;
+        return taken;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<Response<V>>> futures) {
+        final AsyncRequest<Response<List<V>>> request;
+        try {
+            request = fetcher.apply(new ArrayList<>(futures.keySet()));
+        } catch (Throwable t) {
+            futures.values().forEach(f -> f.completeExceptionally(t));
+            return;
+        }
+        request.toCompletableFuture().whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                futures.values().forEach(f -> f.completeExceptionally(throwable));
+            } else if (response.isEmpty()) {
+                futures.values().forEach(f -> f.complete(Response.empty(response.getStatusCode())));
+            } else {
+                final var values = response.get();
+                final var byKey = new HashMap<K, V>(values.size() * 4 / 3 + 1);
+                for (final var value : values) {
+                    byKey.put(keyExtractor.apply(value), value);
+                }
+                futures.forEach((key, future) -> {
+                    final var value = byKey.get(key);
+                    future.complete(value == null ? Response.empty(404) : Response.of(value, response.getStatusCode()));
+                });
+            }
+        });
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.Response;
+import io.github.matyrobbrt.curseforgeapi.schemas.fingerprint.FingerprintsMatchesResult;
+import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
+import io.github.matyrobbrt.curseforgeapi.util.ExceptionFunction;
+
+/**
+ * Utilities for splitting bulk requests with large inputs into smaller chunks,
+ * which are sent concurrently.
+ * 
+ * @author matyrobbrt
+ */
+@ParametersAreNonnullByDefault
+final class ChunkedRequests {
+
+    private ChunkedRequests() {}
+
+    /**
+     * Splits the distinct {@code ids} into chunks of at most {@code chunkSize}
+     * ids, keeping the order in which they first appear.
+     */
+    static List<int[]> chunks(int[] ids, int chunkSize) {
+        checkChunking(chunkSize);
+        final var distinct = Arrays.stream(ids).distinct().toArray();
+        final var chunks = new ArrayList<int[]>((distinct.length + chunkSize - 1) / chunkSize);
+        for (int start = 0; start < distinct.length; start += chunkSize) {
+            chunks.add(Arrays.copyOfRange(distinct, start, Math.min(distinct.length, start + chunkSize)));
+        }
+        return chunks;
+    }
+
+    /**
+     * Splits the distinct {@code ids} into chunks of at most {@code chunkSize}
+     * ids, keeping the order in which they first appear.
+     */
+    static List<long[]> chunks(long[] ids, int chunkSize) {
+        checkChunking(chunkSize);
+        final var distinct = Arrays.stream(ids).distinct().toArray();
+        final var chunks = new ArrayList<long[]>((distinct.length + chunkSize - 1) / chunkSize);
+        for (int start = 0; start < distinct.length; start += chunkSize) {
+            chunks.add(Arrays.copyOfRange(distinct, start, Math.min(distinct.length, start + chunkSize)));
+        }
+        return chunks;
+    }
+
+    /**
+     * Sends the request of each chunk, with at most {@code maxParallelism} of them
+     * in flight at the same time, and merges their results. <br>
+     * If any chunk is not successful, the merged response is empty, with the
+     * status code of the first unsuccessful chunk.
+     */
+    static <C, T, R> AsyncRequest<Response<R>> send(List<C> chunks,
+        ExceptionFunction<C, AsyncRequest<Response<T>>, CurseForgeException> requester, int maxParallelism,
+        Function<List<T>, R> merger) {
+        return AsyncRequest.traverse(chunks, chunk -> {
+            try {
+                return requester.apply(chunk);
+            } catch (CurseForgeException e) {
+                throw new CurseForgeException.Runtime(e);
+            }
+        }, maxParallelism).map(responses -> {
+            final var values = new ArrayList<T>(responses.size());
+            Integer statusCode = null;
+            for (final var response : responses) {
+                if (response.isEmpty()) {
+                    return Response.empty(response.getStatusCode());
+                }
+                values.add(response.get());
+                statusCode = response.getStatusCode();
+            }
+            return Response.of(merger.apply(values), statusCode);
+        });
+    }
+
+    /**
+     * Merges the results of the chunks, sorting them in the order of the ids
+     * they were requested with. Ids without a result are skipped.
+     */
+    static <T> List<T> inOrder(List<int[]> chunks, List<List<T>> results, ToIntFunction<? super T> idExtractor) {
+        int size = 0;
+        for (final var result : results) {
+            size += result.size();
+        }
+        final var byId = new HashMap<Integer, T>(size * 4 / 3 + 1);
+        for (final var result : results) {
+            for (final var value : result) {
+                byId.put(idExtractor.applyAsInt(value), value);
+            }
+        }
+        final var ordered = new ArrayList<T>(size);
+        for (final var chunk : chunks) {
+            for (final var id : chunk) {
+                final var value = byId.get(id);
+                if (value != null) {
+                    ordered.add(value);
+                }
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Merges the fingerprint matches of the chunks, in chunk order.
+     */
+    static FingerprintsMatchesResult mergeFingerprints(List<FingerprintsMatchesResult> results) {
+        if (results.size() == 1) {
+            return results.get(0);
+        }
+        boolean isCacheBuilt = true;
+        Object partialMatchFingerprints = null;
+        for (final var result : results) {
+            isCacheBuilt &= result.isCacheBuilt();
+            partialMatchFingerprints = mergePartialFingerprints(partialMatchFingerprints, result.partialMatchFingerprints());
+        }
+        return new FingerprintsMatchesResult(isCacheBuilt,
+            concat(results, FingerprintsMatchesResult::exactMatches),
+            concat(results, FingerprintsMatchesResult::exactFingerprints),
+            concat(results, FingerprintsMatchesResult::partialMatches),
+            partialMatchFingerprints,
+            concat(results, FingerprintsMatchesResult::additionalProperties),
+            concat(results, FingerprintsMatchesResult::installedFingerprints),
+            concat(results, FingerprintsMatchesResult::unmatchedFingerprints));
+    }
+
+    @Nullable
+    private static Object mergePartialFingerprints(@Nullable Object current, @Nullable Object next) {
+        if (current instanceof Map<?, ?> currentMap && next instanceof Map<?, ?> nextMap) {
+            final var merged = new HashMap<Object, Object>(currentMap);
+            merged.putAll(nextMap);
+            return merged;
+        }
+        return current == null ? next : current;
+    }
+
+    @Nullable
+    private static <T, R> List<R> concat(List<T> results, Function<T, List<R>> getter) {
+        List<R> merged = null;
+        for (final var result : results) {
+            final var list = getter.apply(result);
+            if (list != null) {
+                if (merged == null) {
+                    merged = new ArrayList<>(list.size() * results.size());
+                }
+                merged.addAll(list);
+            }
+        }
+        return merged;
+    }
+
+    private static void checkChunking(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1, but was " + chunkSize);
+        }
+    }
+
+}
@@ -105,6 +105,11 @@ public interface IRequestHelper {
      */
     Object getMod(int modId) throws CurseForgeException;
 
+    /**
+     * @see Requests#getMods(int...)
+     */
+    Object getMods(int... modIds) throws CurseForgeException;
+
     /**
      * @see Requests#getModDescription(int)
      */
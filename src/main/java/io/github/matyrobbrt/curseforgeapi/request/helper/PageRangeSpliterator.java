@@ -0,0 +1,140 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * A {@link Spliterator} over the items of a paginated endpoint whose total
+ * count is known. <br>
+ * The spliterator covers a range of pages, and splits by halving the pages it
+ * did not start yet, so each split fetches its own pages when it is traversed.
+ * A parallel stream therefore spreads both the fetching and the processing of
+ * the pages over its workers. <br>
+ * The sizes reported by the spliterator are estimates: they assume that every
+ * page but the last one is full and that the total count does not change
+ * while the pages are fetched, which the API does not guarantee. The
+ * spliterator is therefore neither {@link Spliterator#SIZED sized} nor
+ * {@link Spliterator#SUBSIZED subsized}.
+ * 
+ * @author     matyrobbrt
+ *
+ * @param  <R> the type of the items
+ */
+final class PageRangeSpliterator<R> implements Spliterator<R> {
+
+    private final IntFunction<List<R>> pageFetcher;
+    private final int pageSize;
+    private final int total;
+
+    private List<R> current;
+    private int currentIndex;
+    private int nextPage;
+    private int endPage;
+
+    /**
+     * @param firstPage   the items of the first page
+     * @param total       the total amount of items
+     * @param pageFetcher the function fetching the items of the page with the
+     *                    given number
+     */
+    PageRangeSpliterator(List<R> firstPage, int pageSize, int total, IntFunction<List<R>> pageFetcher) {
+        this(pageFetcher, pageSize, total, firstPage, 1, (total + pageSize - 1) / pageSize);
+    }
+
+    private PageRangeSpliterator(IntFunction<List<R>> pageFetcher, int pageSize, int total, List<R> current,
+        int nextPage, int endPage) {
+        this.pageFetcher = pageFetcher;
+        this.pageSize = pageSize;
+        this.total = total;
+        this.current = current;
+        this.nextPage = nextPage;
+        this.endPage = endPage;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        while (currentIndex >= current.size()) {
+            if (nextPage >= endPage) {
+                return false;
+            }
+            current = pageFetcher.apply(nextPage++);
+            currentIndex = 0;
+        }
+        action.accept(current.get(currentIndex++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super R> action) {
+        while (true) {
+            for (int i = currentIndex; i < current.size(); i++) {
+                action.accept(current.get(i));
+            }
+            currentIndex = current.size();
+            if (nextPage >= endPage) {
+                return;
+            }
+            current = pageFetcher.apply(nextPage++);
+            currentIndex = 0;
+        }
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        final int remainingPages = endPage - nextPage;
+        if (remainingPages < 2) {
+            return null;
+        }
+        // Hand out the first half of the pages that weren't started yet, so that
+        // the prefix keeps the encounter order
+        final int mid = nextPage + remainingPages / 2;
+        final var prefix = new PageRangeSpliterator<>(pageFetcher, pageSize, total, current, nextPage, mid);
+        prefix.currentIndex = currentIndex;
+        current = List.of();
+        currentIndex = 0;
+        nextPage = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        // Assumes that the pages not fetched yet are full
+        final long fetched = current.size() - currentIndex;
+        final long unfetched = Math.max(0, Math.min(total, (long) endPage * pageSize) - (long) nextPage * pageSize);
+        return fetched + unfetched;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.Response;
+import io.github.matyrobbrt.curseforgeapi.request.query.PaginationQuery;
+import io.github.matyrobbrt.curseforgeapi.schemas.PaginatedData;
+import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
+
+/**
+ * A {@link Flow.Publisher} which emits the items of a paginated endpoint, in
+ * order. <br>
+ * Pages are only requested when the demand of the subscriber exceeds the items
+ * which are buffered or already being fetched, and at most
+ * {@code maxPagesInFlight} pages are fetched at the same time, so the memory
+ * used by a subscription is bounded by the demand of the subscriber. Pages may
+ * complete out of order, but their items are always emitted in order. <br>
+ * Each subscription fetches the pages on its own, and cancelling it cancels the
+ * pages in flight.
+ * 
+ * @author     matyrobbrt
+ *
+ * @param  <T> the type of the paginated data
+ * @param  <R> the type of the items
+ */
+@ParametersAreNonnullByDefault
+public final class PaginatedPublisher<T, R> implements Flow.Publisher<R> {
+
+    /**
+     * The maximum index the API serves pages up to.
+     */
+    private static final int MAX_INDEX = 10_000;
+
+    private final Function<PaginationQuery, AsyncRequest<Response<PaginatedData<T>>>> requester;
+    private final Function<T, List<R>> collector;
+    private final int pageSize;
+    private final int maxPagesInFlight;
+
+    PaginatedPublisher(Function<PaginationQuery, AsyncRequest<Response<PaginatedData<T>>>> requester,
+        Function<T, List<R>> collector, int pageSize, int maxPagesInFlight) {
+        if (pageSize < 1 || pageSize > 50) {
+            throw new IllegalArgumentException("Page size must be between 1 and 50, but was " + pageSize);
+        }
+        if (maxPagesInFlight < 1) {
+            throw new IllegalArgumentException("Max pages in flight must be at least 1, but was " + maxPagesInFlight);
+        }
+        this.requester = Objects.requireNonNull(requester);
+        this.collector = Objects.requireNonNull(collector);
+        this.pageSize = pageSize;
+        this.maxPagesInFlight = maxPagesInFlight;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        final var subscription = new PageSubscription(Objects.requireNonNull(subscriber));
+        subscriber.onSubscribe(subscription);
+    }
+
+    private AsyncRequest<Response<PaginatedData<T>>> request(int page) {
+        // The queries used by the requester are mutable, so the requests of
+        // concurrent subscriptions must be created one at a time
+        synchronized (requester) {
+            return requester.apply(PaginationQuery.of(page * pageSize, pageSize));
+        }
+    }
+
+    private final class PageSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super R> subscriber;
+        private final AtomicInteger drainRequests = new AtomicInteger();
+
+        // All of the following are guarded by this
+        private long demand;
+        private final ArrayDeque<R> buffer = new ArrayDeque<>();
+        private final Map<Integer, List<R>> completedPages = new HashMap<>();
+        private final Map<Integer, AsyncRequest<?>> inFlight = new HashMap<>();
+        private int nextPage;
+        private int nextPageToEmit;
+        private int endPage = (MAX_INDEX + pageSize - 1) / pageSize;
+        private Throwable error;
+        private boolean terminated;
+
+        PageSubscription(Flow.Subscriber<? super R> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (n <= 0) {
+                    error = new IllegalArgumentException("Requested a non-positive amount of items: " + n);
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            terminate();
+        }
+
+        /**
+         * Emits the buffered items and fetches the pages needed to fulfil the
+         * demand. Concurrent calls are folded into the one in progress, so the
+         * subscriber is only ever signalled from one thread at a time.
+         */
+        private void drain() {
+            if (drainRequests.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (true) {
+                    final R item;
+                    final Throwable failure;
+                    synchronized (this) {
+                        if (terminated) {
+                            return;
+                        }
+                        failure = error;
+                        item = failure == null && demand > 0 ? buffer.poll() : null;
+                        if (item != null) {
+                            demand--;
+                        }
+                    }
+                    if (failure != null) {
+                        terminate();
+                        subscriber.onError(failure);
+                        return;
+                    }
+                    if (item == null) {
+                        break;
+                    }
+                    subscriber.onNext(item);
+                }
+
+                final boolean complete;
+                final List<Integer> toFetch = new ArrayList<>();
+                synchronized (this) {
+                    complete = buffer.isEmpty() && nextPageToEmit >= endPage;
+                    while (!complete && inFlight.size() < maxPagesInFlight && nextPage < endPage
+                        && demand > buffer.size() + (long) inFlight.size() * pageSize) {
+                        inFlight.put(nextPage, null);
+                        toFetch.add(nextPage++);
+                    }
+                }
+                if (complete) {
+                    terminate();
+                    subscriber.onComplete();
+                    return;
+                }
+                for (final int page : toFetch) {
+                    fetch(page);
+                }
+            } while (drainRequests.decrementAndGet() != 0);
+        }
+
+        private void fetch(int page) {
+            final AsyncRequest<Response<PaginatedData<T>>> request;
+            try {
+                request = PaginatedPublisher.this.request(page);
+            } catch (Throwable t) {
+                failed(t);
+                return;
+            }
+            synchronized (this) {
+                if (terminated) {
+                    request.cancel();
+                    return;
+                }
+                inFlight.put(page, request);
+            }
+            request.queue(response -> completed(page, response), this::failed);
+        }
+
+        private void completed(int page, Response<PaginatedData<T>> response) {
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                inFlight.remove(page);
+                if (response.isEmpty()) {
+                    error = new CurseForgeException("Page " + page + " could not be retrieved. Status code: " + response.getStatusCode());
+                } else {
+                    final var data = response.get();
+                    final var items = collector.apply(data.data());
+                    final @Nullable Integer total = data.pagination() == null ? null : data.pagination().totalCount();
+                    if (total != null) {
+                        endPage = Math.min(endPage, (Math.min(total, MAX_INDEX) + pageSize - 1) / pageSize);
+                    }
+                    if (items.size() < pageSize) {
+                        endPage = Math.min(endPage, page + 1);
+                    }
+                    completedPages.put(page, items);
+                    while (nextPageToEmit < endPage && completedPages.containsKey(nextPageToEmit)) {
+                        buffer.addAll(completedPages.remove(nextPageToEmit++));
+                    }
+                }
+            }
+            drain();
+        }
+
+        private void failed(Throwable throwable) {
+            synchronized (this) {
+                if (error == null) {
+                    error = throwable;
+                }
+            }
+            drain();
+        }
+
+        private void terminate() {
+            final List<AsyncRequest<?>> toCancel;
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                terminated = true;
+                buffer.clear();
+                completedPages.clear();
+                toCancel = new ArrayList<>(inFlight.values());
+                inFlight.clear();
+            }
+            for (final var request : toCancel) {
+                if (request != null) {
+                    request.cancel();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import io.github.matyrobbrt.curseforgeapi.request.Response;
+import io.github.matyrobbrt.curseforgeapi.schemas.PaginatedData;
+import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
+
+/**
+ * An iterator over the items of a paginated endpoint, which keeps a window of
+ * {@code readAhead} pages in flight ahead of the page being consumed. <br>
+ * As the offsets of all the pages are known once the first page reports the
+ * total count, consuming the whole listing takes about
+ * {@code pages / readAhead} round trips instead of one per page.
+ * 
+ * @author     matyrobbrt
+ *
+ * @param  <T> the type of the paginated data
+ * @param  <R> the type of the items
+ */
+final class PrefetchingPageIterator<T, R> implements Iterator<R> {
+
+    private final IntFunction<CompletableFuture<Response<PaginatedData<T>>>> pageFetcher;
+    private final Function<T, List<R>> collector;
+    private final int pageCount;
+    private final int readAhead;
+
+    private final ArrayDeque<CompletableFuture<Response<PaginatedData<T>>>> window = new ArrayDeque<>();
+    private int nextPage = 1;
+    private List<R> current;
+    private int currentIndex;
+
+    /**
+     * @param firstPage   the items of the first page
+     * @param pageCount   the total amount of pages
+     * @param pageFetcher the function fetching the page with the given number
+     */
+    PrefetchingPageIterator(List<R> firstPage, int pageCount, int readAhead,
+        IntFunction<CompletableFuture<Response<PaginatedData<T>>>> pageFetcher, Function<T, List<R>> collector) {
+        if (readAhead < 1) {
+            throw new IllegalArgumentException("Read ahead must be at least 1, but was " + readAhead);
+        }
+        this.current = firstPage;
+        this.pageCount = pageCount;
+        this.readAhead = readAhead;
+        this.pageFetcher = pageFetcher;
+        this.collector = collector;
+        fill();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (currentIndex >= current.size()) {
+            final var next = window.poll();
+            if (next == null) {
+                return false;
+            }
+            final Response<PaginatedData<T>> response;
+            try {
+                response = next.join();
+            } catch (CompletionException e) {
+                close();
+                throw new CurseForgeException.Runtime(e.getCause() == null ? e : e.getCause());
+            }
+            if (response.isEmpty()) {
+                // Same as the sequential iterator: a page which cannot be retrieved
+                // ends the listing
+                close();
+                return false;
+            }
+            current = collector.apply(response.get().data());
+            currentIndex = 0;
+            fill();
+        }
+        return true;
+    }
+
+    @Override
+    public R next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more elements left");
+        }
+        return current.get(currentIndex++);
+    }
+
+    private void fill() {
+        while (window.size() < readAhead && nextPage < pageCount) {
+            window.add(pageFetcher.apply(nextPage++));
+        }
+    }
+
+    private void close() {
+        CompletableFuture<?> pending;
+        while ((pending = window.poll()) != null) {
+            pending.cancel(true);
+        }
+        nextPage = pageCount;
+        current = List.of();
+        currentIndex = 0;
+    }
+}
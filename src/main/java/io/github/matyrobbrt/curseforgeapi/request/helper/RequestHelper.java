@@ -30,8 +30,13 @@ package io.github.matyrobbrt.curseforgeapi.request.helper;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import io.github.matyrobbrt.curseforgeapi.CurseForgeAPI;
 import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
@@ -45,6 +50,7 @@ import io.github.matyrobbrt.curseforgeapi.request.query.ModSearchQuery;
 import io.github.matyrobbrt.curseforgeapi.request.query.PaginationQuery;
 import io.github.matyrobbrt.curseforgeapi.schemas.Category;
 import io.github.matyrobbrt.curseforgeapi.schemas.PaginatedData;
+import io.github.matyrobbrt.curseforgeapi.schemas.Pagination;
 import io.github.matyrobbrt.curseforgeapi.schemas.file.File;
 import io.github.matyrobbrt.curseforgeapi.schemas.fingerprint.FingerprintFuzzyMatch;
 import io.github.matyrobbrt.curseforgeapi.schemas.fingerprint.FingerprintsMatchesResult;
@@ -63,6 +69,9 @@ import io.github.matyrobbrt.curseforgeapi.util.CurseForgeException;
  */
 public class RequestHelper implements IRequestHelper {
 
+    private static final int PAGE_SIZE = 50;
+    private static final int MAX_INDEX = 10_000; // Hard CF API limit, at least for now
+
     private final CurseForgeAPI api;
 
     public RequestHelper(CurseForgeAPI api) {
@@ -104,6 +113,21 @@ public class RequestHelper implements IRequestHelper {
         return paginated(q -> Requests.getPaginatedModFiles(modId, (query == null ? FileListQuery.of() : query).paginated(q)), Function.identity());
     }
 
+    /**
+     * Lists the files of the specified mod, fetching up to {@code readAhead}
+     * pages concurrently ahead of the page being consumed.
+     * 
+     * @param  modId               the mod id the files belong to
+     * @param  query               the query to list using, or {@code null}
+     * @param  readAhead           the amount of pages to fetch ahead
+     * @return                     the response
+     * @throws CurseForgeException if the first page could not be fetched
+     * @see                        #paginated(Function, Function, int)
+     */
+    public Response<Iterator<File>> listModFiles(int modId, @Nullable FileListQuery query, int readAhead) throws CurseForgeException {
+        return paginated(q -> Requests.getPaginatedModFiles(modId, (query == null ? FileListQuery.of() : query).paginated(q)), Function.identity(), readAhead);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -127,6 +151,14 @@ public class RequestHelper implements IRequestHelper {
     public Response<Mod> getMod(int modId) throws CurseForgeException {
         return api.makeRequest(Requests.getMod(modId));
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Response<List<Mod>> getMods(int... modIds) throws CurseForgeException {
+        return api.makeRequest(Requests.getMods(modIds));
+    }
     
     /**
      * {@inheritDoc}
@@ -259,6 +291,16 @@ public class RequestHelper implements IRequestHelper {
         if (baseResponse.isEmpty()) {
             return Response.empty(baseResponse.getStatusCode());
         }
+        return sequential(requester, collector, baseResponse);
+    }
+
+    /**
+     * Iterates over the items of a paginated endpoint one page at a time,
+     * starting from the already fetched first page. <br>
+     * If the total count is unknown, the iteration ends with the first empty
+     * page.
+     */
+    private <T, R> Response<Iterator<R>> sequential(Function<PaginationQuery, Request<PaginatedData<T>>> requester, Function<T, List<R>> collector, Response<PaginatedData<T>> baseResponse) {
         final var paginationData = baseResponse.get().pagination();
 
         return Response.of(new Iterator<>() {
@@ -269,12 +311,18 @@ public class RequestHelper implements IRequestHelper {
 
             {
                 currentResponse = collector.apply(baseResponse.get().data());
-                size.set(paginationData.totalCount());
+                size.set(totalCount(paginationData));
             }
 
             @Override
             public boolean hasNext() {
-                return currentIndex.get() + 1 < Math.min(size.get(), 10_000); // Hard CF API limit, at least for now
+                if (currentIndex.get() + 1 >= Math.min(size.get(), 10_000)) { // Hard CF API limit, at least for now
+                    return false;
+                }
+                if (currentListIndex.get() + 1 >= currentResponse.size()) {
+                    requery();
+                }
+                return currentListIndex.get() + 1 < currentResponse.size();
             }
 
             @Override
@@ -298,8 +346,9 @@ public class RequestHelper implements IRequestHelper {
                         currentResponse = List.of();
                     } else {
                         final var res = optionalRes.orElseThrow();
-                        size.set(res.pagination().totalCount());
                         currentResponse = collector.apply(res.data());
+                        // An empty page means there is nothing left, regardless of the reported total
+                        size.set(currentResponse.isEmpty() ? 0 : totalCount(res.pagination()));
                     }
                     currentListIndex.set(-1);
                 } catch (CurseForgeException exception) {
@@ -309,6 +358,118 @@ public class RequestHelper implements IRequestHelper {
         }, baseResponse.getStatusCode());
     }
 
+    /**
+     * Streams the files of the specified mod.
+     * 
+     * @param  modId               the mod id the files belong to
+     * @return                     the stream
+     * @throws CurseForgeException if the first page could not be fetched
+     * @see                        #stream(Function, Function)
+     */
+    public Stream<File> streamModFiles(int modId) throws CurseForgeException {
+        return streamModFiles(modId, null);
+    }
+
+    /**
+     * Streams the files of the specified mod.
+     * 
+     * @param  modId               the mod id the files belong to
+     * @param  query               the query to list using, or {@code null}
+     * @return                     the stream
+     * @throws CurseForgeException if the first page could not be fetched
+     * @see                        #stream(Function, Function)
+     */
+    public Stream<File> streamModFiles(int modId, @Nullable FileListQuery query) throws CurseForgeException {
+        final var fileQuery = query == null ? FileListQuery.of() : query;
+        return stream(q -> Requests.getPaginatedModFiles(modId, fileQuery.paginated(q)), Function.identity());
+    }
+
+    /**
+     * Streams the items of a paginated endpoint. <br>
+     * The first page is fetched by this method, and the remaining ones as the
+     * stream is traversed. Once the total count is known, the stream splits by
+     * page ranges, with each split fetching its own pages, so a
+     * {@link Stream#parallel() parallel} stream fetches and processes the pages
+     * in parallel. The size of the stream is only an estimate, as pages may hold
+     * fewer items than the total count suggests.
+     * 
+     * @param  <T>                 the type of the paginated data
+     * @param  <R>                 the type of the items
+     * @param  requester           the function creating the request of a page
+     * @param  collector           the function collecting the items of a page
+     * @return                     the stream
+     * @throws CurseForgeException if the first page could not be fetched
+     */
+    public <T, R> Stream<R> stream(Function<PaginationQuery, Request<PaginatedData<T>>> requester, Function<T, List<R>> collector) throws CurseForgeException {
+        final var baseResponse = mr(requester.apply(PaginationQuery.of(0, PAGE_SIZE)));
+        if (baseResponse.isEmpty()) {
+            throw new CurseForgeException("Could not fetch the first page. Status code: " + baseResponse.getStatusCode());
+        }
+        final var totalCount = baseResponse.get().pagination().totalCount();
+        if (totalCount == null) {
+            // The offsets of the pages are unknown, so the stream cannot be split
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(sequential(requester, collector, baseResponse).orElseThrow(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+        }
+        return StreamSupport.stream(new PageRangeSpliterator<>(collector.apply(baseResponse.get().data()), PAGE_SIZE, Math.min(totalCount, MAX_INDEX), page -> {
+            final Request<PaginatedData<T>> request;
+            // The queries used by the requester are mutable, so splits traversed in
+            // parallel must create their requests one at a time
+            synchronized (requester) {
+                request = requester.apply(PaginationQuery.of(page * PAGE_SIZE, PAGE_SIZE));
+            }
+            try {
+                final var response = mr(request);
+                if (response.isEmpty()) {
+                    throw new CurseForgeException("Could not fetch page " + page + ". Status code: " + response.getStatusCode());
+                }
+                return collector.apply(response.get().data());
+            } catch (CurseForgeException e) {
+                throw new CurseForgeException.Runtime(e);
+            }
+        }), false);
+    }
+
+    /**
+     * Iterates over the items of a paginated endpoint. <br>
+     * Once the first page is fetched, the offsets of the remaining pages are
+     * known, so up to {@code readAhead} of them are fetched concurrently ahead of
+     * the page being consumed. Items are still returned in order, and a full
+     * listing takes about {@code pages / readAhead} round trips instead of one
+     * per page.
+     * 
+     * @param  <T>                 the type of the paginated data
+     * @param  <R>                 the type of the items
+     * @param  requester           the function creating the request of a page
+     * @param  collector           the function collecting the items of a page
+     * @param  readAhead           the amount of pages to fetch ahead
+     * @return                     the response
+     * @throws CurseForgeException if the first page could not be fetched
+     */
+    public <T, R> Response<Iterator<R>> paginated(Function<PaginationQuery, Request<PaginatedData<T>>> requester, Function<T, List<R>> collector, int readAhead) throws CurseForgeException {
+        final var baseResponse = mr(requester.apply(PaginationQuery.of(0, PAGE_SIZE)));
+        if (baseResponse.isEmpty()) {
+            return Response.empty(baseResponse.getStatusCode());
+        }
+        final var totalCount = baseResponse.get().pagination().totalCount();
+        if (totalCount == null) {
+            // The offsets of the pages are unknown, so they cannot be prefetched
+            return sequential(requester, collector, baseResponse);
+        }
+        final var total = Math.min(totalCount, MAX_INDEX);
+        final var pageCount = (total + PAGE_SIZE - 1) / PAGE_SIZE;
+        return Response.of(new PrefetchingPageIterator<T, R>(collector.apply(baseResponse.get().data()), pageCount, readAhead, page -> {
+            try {
+                return api.makeAsyncRequest(requester.apply(PaginationQuery.of(page * PAGE_SIZE, PAGE_SIZE))).toCompletableFuture();
+            } catch (CurseForgeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }, collector), baseResponse.getStatusCode());
+    }
+
+    private static int totalCount(@Nullable Pagination pagination) {
+        return pagination == null || pagination.totalCount() == null ? Integer.MAX_VALUE : pagination.totalCount();
+    }
+
     private <T> Response<T> mr(Request<T> req) throws CurseForgeException {
         return api.makeRequest(req);
     }
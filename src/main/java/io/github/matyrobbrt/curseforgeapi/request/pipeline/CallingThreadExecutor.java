@@ -0,0 +1,121 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.pipeline;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * An {@link Executor} whose tasks are run by the thread sending a
+ * {@link RequestPipeline#send(PipelineRequest, CallingThreadExecutor) blocking
+ * request}, while it waits for the response. <br>
+ * Decoding the body of a blocking request with it keeps the decoding on the
+ * calling thread, so that blocking requests neither need a free thread of
+ * another executor, nor pay for a thread hop. <br>
+ * Once the request is done, the executor is {@link #close() closed}, and the
+ * tasks it still receives (for example, from exchanges shared with other
+ * requests) run on the {@code fallback} executor instead.
+ * 
+ * @author matyrobbrt
+ */
+@ParametersAreNonnullByDefault
+public final class CallingThreadExecutor implements Executor, AutoCloseable {
+
+    private final Executor fallback;
+    // Both guarded by this
+    private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+    private boolean closed;
+
+    /**
+     * @param fallback the executor running the tasks received once this executor
+     *                 is closed
+     */
+    public CallingThreadExecutor(Executor fallback) {
+        this.fallback = Objects.requireNonNull(fallback);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        synchronized (this) {
+            if (!closed) {
+                tasks.addLast(task);
+                notifyAll();
+                return;
+            }
+        }
+        fallback.execute(task);
+    }
+
+    /**
+     * Runs the received tasks on the calling thread, until the {@code future} is
+     * done. Tasks still queued once it is done are left for later.
+     * 
+     * @param  future               the future to wait for
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    void runUntilDone(CompletableFuture<?> future) throws InterruptedException {
+        future.whenComplete((r, t) -> {
+            synchronized (this) {
+                notifyAll();
+            }
+        });
+        while (true) {
+            final Runnable task;
+            synchronized (this) {
+                while (tasks.isEmpty() && !future.isDone()) {
+                    wait();
+                }
+                if (future.isDone()) {
+                    return;
+                }
+                task = tasks.pollFirst();
+            }
+            task.run();
+        }
+    }
+
+    /**
+     * Closes this executor, handing the queued tasks, and every task received
+     * from now on, to the fallback executor.
+     */
+    @Override
+    public void close() {
+        final ArrayList<Runnable> remaining;
+        synchronized (this) {
+            closed = true;
+            remaining = new ArrayList<>(tasks);
+            tasks.clear();
+        }
+        remaining.forEach(fallback::execute);
+    }
+}
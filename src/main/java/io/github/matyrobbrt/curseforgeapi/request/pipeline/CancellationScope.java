@@ -0,0 +1,69 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.pipeline;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the HTTP exchanges started on behalf of a single
+ * {@link RequestPipeline#sendAsync(PipelineRequest) async send}, so that they
+ * can be aborted when the caller cancels the returned future.
+ * 
+ * @author matyrobbrt
+ */
+final class CancellationScope {
+
+    private final Set<CompletableFuture<?>> exchanges = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Registers an exchange, which is cancelled right away if this scope was
+     * already cancelled.
+     */
+    <T extends CompletableFuture<?>> T register(T exchange) {
+        exchanges.add(exchange);
+        exchange.whenComplete((r, t) -> exchanges.remove(exchange));
+        if (cancelled) {
+            exchange.cancel(true);
+        }
+        return exchange;
+    }
+
+    void cancel() {
+        cancelled = true;
+        for (final var exchange : exchanges) {
+            exchange.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.pipeline;
+
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * An interceptor which coalesces identical {@link PipelineRequest#isIdempotent()
+ * idempotent} requests in flight. <br>
+ * When a request with the same {@link PipelineRequest#key() key} as a request
+ * which is already in flight is sent, it does not reach the network, and
+ * instead completes with the response of the request in flight. As such, all
+ * the callers share a single HTTP exchange, and a single decoded body.
+ * Responses are never reused after the exchange completes, so coalescing does
+ * not introduce any staleness. Conditional requests are not coalesced, as
+ * their response depends on their validators. <br>
+ * <br>
+ * This applies to both blocking and async requests: a blocking request waits
+ * for the exchange in flight, regardless of who started it. <br>
+ * Cancelling one of the coalesced requests does not affect the others. The
+ * shared exchange is only aborted once all of the requests waiting for it were
+ * cancelled.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+public final class CoalescingInterceptor implements RequestInterceptor {
+
+    private final Map<PipelineRequest.Key, Exchange> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @return the amount of distinct requests currently in flight
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    @Override
+    @SuppressWarnings({
+        "unchecked", "rawtypes"
+    })
+    public <T> CompletableFuture<HttpResponse<T>> intercept(Chain<T> chain) {
+        final var request = chain.request();
+        if (!request.isIdempotent() || request.isConditional()) {
+            return chain.proceed();
+        }
+        final var key = request.key();
+        while (true) {
+            final var exchange = new Exchange();
+            final var existing = inFlight.putIfAbsent(key, exchange);
+            if (existing != null) {
+                final var joined = existing.join();
+                if (joined != null) {
+                    return (CompletableFuture) joined;
+                }
+                // Every caller of the existing exchange cancelled, so it is being
+                // aborted; replace it
+                inFlight.remove(key, existing);
+                continue;
+            }
+            final var joined = exchange.join();
+            final var upstream = RequestPipeline.proceedDetached(chain);
+            exchange.upstream = upstream;
+            upstream.whenComplete((response, throwable) -> {
+                inFlight.remove(key, exchange);
+                if (throwable != null) {
+                    exchange.shared.completeExceptionally(throwable);
+                } else {
+                    exchange.shared.complete(response);
+                }
+            });
+            return (CompletableFuture) joined;
+        }
+    }
+
+    private static final class Exchange {
+
+        private final CompletableFuture<HttpResponse<?>> shared = new CompletableFuture<>();
+        /**
+         * The amount of callers which did not cancel, or {@code -1} once all of
+         * them did.
+         */
+        private final AtomicInteger waiters = new AtomicInteger();
+        private volatile CompletableFuture<?> upstream;
+
+        CompletableFuture<HttpResponse<?>> join() {
+            int current;
+            do {
+                current = waiters.get();
+                if (current < 0) {
+                    return null;
+                }
+            } while (!waiters.compareAndSet(current, current + 1));
+
+            // Copy the future, so that callers cannot complete or cancel the shared one
+            final var copy = shared.copy();
+            copy.whenComplete((response, throwable) -> {
+                if (copy.isCancelled() && waiters.decrementAndGet() == 0 && waiters.compareAndSet(0, -1)) {
+                    final var upstream = this.upstream;
+                    if (upstream != null) {
+                        upstream.cancel(true);
+                    }
+                }
+            });
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.pipeline;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.util.Constants.StatusCodes;
+
+/**
+ * An interceptor which bounds the amount of async requests in flight, using an
+ * adaptive limit. <br>
+ * The limit is adjusted using an additive increase, multiplicative decrease
+ * algorithm: while the latency of responses stays close to the lowest observed
+ * latency and the limit is being used, the limit slowly grows; when the latency
+ * exceeds the {@link Builder#latencyTolerance(double) tolerance}, or a request
+ * fails (an I/O error, a {@code 429} or a {@code 5xx} response), the limit is
+ * multiplied by the {@link Builder#backoffRatio(double) backoff ratio}. <br>
+ * Requests which exceed the limit are queued, and sent in order as the requests
+ * in flight complete. When the queue is full, the {@link RejectionPolicy}
+ * decides which request is rejected. <br>
+ * <br>
+ * Blocking requests are not limited, as they are already bounded by the amount
+ * of threads sending them.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+public final class ConcurrencyLimiter implements RequestInterceptor {
+
+    /**
+     * Creates a {@link Builder} for a concurrency limiter.
+     * 
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The amount of samples after which the lowest observed latency is reset, so
+     * that the limiter adapts to a permanent latency change.
+     */
+    private static final int LATENCY_PROBE_INTERVAL = 500;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final int maxQueueSize;
+    private final RejectionPolicy rejectionPolicy;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private long minLatency = Long.MAX_VALUE;
+    private int samples;
+    private long lastDecrease = System.nanoTime();
+
+    private ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+        double latencyTolerance, int maxQueueSize, RejectionPolicy rejectionPolicy) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.maxQueueSize = maxQueueSize;
+        this.rejectionPolicy = rejectionPolicy;
+    }
+
+    /**
+     * @return the current limit of requests in flight
+     */
+    public int getLimit() {
+        synchronized (lock) {
+            return (int) limit;
+        }
+    }
+
+    /**
+     * @return the amount of requests currently in flight
+     */
+    public int getInFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    /**
+     * @return the amount of requests waiting for a slot
+     */
+    public int getQueueDepth() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> intercept(Chain<T> chain) {
+        if (!chain.isAsync()) {
+            return chain.proceed();
+        }
+        final var result = new CompletableFuture<HttpResponse<T>>();
+        final var pending = new Pending(() -> start(chain, result), result);
+        Pending rejected = null;
+        boolean startNow = false;
+        boolean queued = false;
+        synchronized (lock) {
+            if (queue.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                startNow = true;
+            } else if (queue.size() < maxQueueSize) {
+                queue.addLast(pending);
+                queued = true;
+            } else if (rejectionPolicy == RejectionPolicy.DISCARD_OLDEST && maxQueueSize > 0) {
+                rejected = queue.pollFirst();
+                queue.addLast(pending);
+                queued = true;
+            } else {
+                rejected = pending;
+            }
+        }
+        if (startNow) {
+            pending.start().run();
+        }
+        if (queued) {
+            // Requests cancelled while queued must not keep their place in the queue
+            RequestPipeline.registerInScope(chain, result).whenComplete((response, throwable) -> {
+                if (throwable != null) {
+                    synchronized (lock) {
+                        queue.remove(pending);
+                    }
+                }
+            });
+        }
+        if (rejected != null) {
+            rejected.future().completeExceptionally(new RejectedExecutionException(
+                "Too many requests are waiting to be sent: %s are queued.".formatted(maxQueueSize)));
+        }
+        return result;
+    }
+
+    private <T> void start(Chain<T> chain, CompletableFuture<HttpResponse<T>> result) {
+        if (result.isDone()) {
+            // The request was cancelled while queued
+            release();
+            return;
+        }
+        final var start = System.nanoTime();
+        chain.proceed().whenComplete((response, throwable) -> {
+            onSample(start, System.nanoTime() - start, isFailure(response, RetryInterceptor.unwrap(throwable)));
+            release();
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(response);
+            }
+        });
+    }
+
+    private void onSample(long start, long latency, boolean failed) {
+        synchronized (lock) {
+            if (++samples % LATENCY_PROBE_INTERVAL == 0) {
+                minLatency = latency;
+            } else if (!failed) {
+                minLatency = Math.min(minLatency, latency);
+            }
+            if (failed || latency > minLatency * latencyTolerance) {
+                // Only decrease once per window: requests started before the last
+                // decrease were sent with the old limit
+                if (start - lastDecrease > 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecrease = System.nanoTime();
+                }
+            } else if (inFlight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    private void release() {
+        final List<Pending> toStart = new ArrayList<>();
+        synchronized (lock) {
+            inFlight--;
+            while (inFlight < (int) limit && !queue.isEmpty()) {
+                toStart.add(queue.pollFirst());
+                inFlight++;
+            }
+        }
+        toStart.forEach(p -> p.start().run());
+    }
+
+    private static boolean isFailure(@Nullable HttpResponse<?> response, @Nullable Throwable throwable) {
+        if (throwable != null) {
+            return RetryInterceptor.isTransportFailure(throwable);
+        }
+        return response != null && (response.statusCode() == StatusCodes.TOO_MANY_REQUESTS
+            || response.statusCode() >= StatusCodes.INTERNAL_SERVER_ERROR);
+    }
+
+    private record Pending(Runnable start, CompletableFuture<?> future) {}
+
+    /**
+     * The policy used for deciding which request is rejected when the queue is
+     * full. Rejected requests fail with a {@link RejectedExecutionException}.
+     */
+    public enum RejectionPolicy {
+        /**
+         * Rejects the new request.
+         */
+        REJECT,
+        /**
+         * Rejects the request which has been waiting the longest, and queues the
+         * new request.
+         */
+        DISCARD_OLDEST
+    }
+
+    /**
+     * A builder for {@link ConcurrencyLimiter concurrency limiters}.
+     * 
+     * @author matyrobbrt
+     *
+     */
+    public static final class Builder {
+
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private double backoffRatio = 0.9;
+        private double latencyTolerance = 2;
+        private int maxQueueSize = 1000;
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.REJECT;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the limit used until enough responses have been observed. <br>
+         * By default, this is {@code 20}.
+         * 
+         * @param  initialLimit the initial limit
+         * @return              the builder instance, for chaining purposes
+         */
+        public Builder initialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        /**
+         * Sets the bounds of the limit. <br>
+         * By default, the limit is between {@code 1} and {@code 200}.
+         * 
+         * @param  minLimit the minimum limit
+         * @param  maxLimit the maximum limit
+         * @return          the builder instance, for chaining purposes
+         */
+        public Builder limitBounds(int minLimit, int maxLimit) {
+            if (minLimit < 1 || maxLimit < minLimit) {
+                throw new IllegalArgumentException("Invalid limit bounds: [%s, %s]".formatted(minLimit, maxLimit));
+            }
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * Sets the ratio the limit is multiplied by when the latency or the error
+         * rate rises. <br>
+         * By default, this is {@code 0.9}.
+         * 
+         * @param  backoffRatio the backoff ratio, between {@code 0} and {@code 1}
+         * @return              the builder instance, for chaining purposes
+         */
+        public Builder backoffRatio(double backoffRatio) {
+            if (!(backoffRatio > 0 && backoffRatio < 1)) {
+                throw new IllegalArgumentException("The backoff ratio must be between 0 and 1!");
+            }
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * Sets how many times higher than the lowest observed latency the latency of
+         * a response can be before the limit is decreased. <br>
+         * By default, this is {@code 2}.
+         * 
+         * @param  latencyTolerance the latency tolerance
+         * @return                  the builder instance, for chaining purposes
+         */
+        public Builder latencyTolerance(double latencyTolerance) {
+            if (!(latencyTolerance >= 1)) {
+                throw new IllegalArgumentException("The latency tolerance must be at least 1!");
+            }
+            this.latencyTolerance = latencyTolerance;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of requests waiting for a slot. <br>
+         * By default, this is {@code 1000}.
+         * 
+         * @param  maxQueueSize the maximum queue size
+         * @return              the builder instance, for chaining purposes
+         */
+        public Builder maxQueueSize(int maxQueueSize) {
+            if (maxQueueSize < 0) {
+                throw new IllegalArgumentException("The queue size cannot be negative!");
+            }
+            this.maxQueueSize = maxQueueSize;
+            return this;
+        }
+
+        /**
+         * Sets the policy used when the queue is full. <br>
+         * By default, this is {@link RejectionPolicy#REJECT}.
+         * 
+         * @param  rejectionPolicy the rejection policy
+         * @return                 the builder instance, for chaining purposes
+         */
+        public Builder rejectionPolicy(RejectionPolicy rejectionPolicy) {
+            this.rejectionPolicy = Objects.requireNonNull(rejectionPolicy);
+            return this;
+        }
+
+        /**
+         * Builds the {@link ConcurrencyLimiter}.
+         * 
+         * @return the concurrency limiter
+         */
+        public ConcurrencyLimiter build() {
+            return new ConcurrencyLimiter(Math.max(minLimit, Math.min(maxLimit, initialLimit)), minLimit, maxLimit,
+                backoffRatio, latencyTolerance, maxQueueSize, rejectionPolicy);
+        }
+    }
+}
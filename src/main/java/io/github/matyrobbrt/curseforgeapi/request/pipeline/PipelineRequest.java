@@ -0,0 +1,159 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.pipeline;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandler;
+import java.util.Set;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.Method;
+
+/**
+ * A request going through the {@link RequestPipeline}. <br>
+ * Pipeline requests are immutable. {@link RequestInterceptor Interceptors}
+ * wanting to modify the request should create a copy using one of the
+ * {@code with} methods, and {@link RequestInterceptor.Chain#proceed proceed}
+ * with it.
+ *
+ * @author     matyrobbrt
+ *
+ * @param  <T>         the type of the decoded response body
+ * @param  target      the API the request targets
+ * @param  method      the method of the request
+ * @param  endpoint    the endpoint of the request, relative to the target
+ * @param  body        the body of the request, if it is a JSON body
+ * @param  httpRequest the HTTP request which will be sent
+ * @param  bodyHandler the handler used for decoding the response body
+ */
+@ParametersAreNonnullByDefault
+public record PipelineRequest<T> (Target target, Method method, String endpoint, @Nullable String body,
+    HttpRequest httpRequest, BodyHandler<T> bodyHandler) {
+
+    /**
+     * The endpoints of the API which accept {@link Method#POST POST} requests,
+     * but only read data.
+     */
+    public static final Set<String> READ_ONLY_POST_ENDPOINTS = Set.of("/v1/mods", "/v1/mods/files", "/v1/mods/featured",
+        "/v1/fingerprints", "/v1/fingerprints/fuzzy");
+
+    /**
+     * Checks if this request is idempotent, and as such, can be safely sent
+     * multiple times. <br>
+     * {@link Method#GET GET} requests are always idempotent. {@link Method#POST
+     * POST} requests are only idempotent if they target one of the
+     * {@link #READ_ONLY_POST_ENDPOINTS read-only endpoints} of the API.
+     *
+     * @return if the request is idempotent
+     */
+    public boolean isIdempotent() {
+        return switch (method) {
+        case GET -> true;
+        case POST -> target == Target.API && READ_ONLY_POST_ENDPOINTS.contains(path());
+        case PUT -> false;
+        };
+    }
+
+    /**
+     * @return if the request is conditional, that is, if it carries an
+     *         {@code If-None-Match} or an {@code If-Modified-Since} header
+     */
+    public boolean isConditional() {
+        final var headers = httpRequest.headers();
+        return headers.firstValue("If-None-Match").isPresent() || headers.firstValue("If-Modified-Since").isPresent();
+    }
+
+    /**
+     * @return the {@link #endpoint()} of the request, without the query
+     */
+    public String path() {
+        final var queryStart = endpoint.indexOf('?');
+        return queryStart < 0 ? endpoint : endpoint.substring(0, queryStart);
+    }
+
+    /**
+     * Gets a key identifying this request. Two requests with equal keys send the
+     * same HTTP request, and decode the response the same way.
+     *
+     * @return the key of the request
+     */
+    public Key key() {
+        return new Key(target, method, httpRequest.uri(), body, bodyHandler);
+    }
+
+    /**
+     * Creates a copy of this request, which will send the given
+     * {@code httpRequest}.
+     *
+     * @param  httpRequest the new HTTP request
+     * @return             the new request
+     */
+    public PipelineRequest<T> withHttpRequest(HttpRequest httpRequest) {
+        return new PipelineRequest<>(target, method, endpoint, body, httpRequest, bodyHandler);
+    }
+
+    /**
+     * Creates a copy of this request, which will decode the response using the
+     * given {@code bodyHandler}.
+     *
+     * @param  bodyHandler the new body handler
+     * @return             the new request
+     */
+    public PipelineRequest<T> withBodyHandler(BodyHandler<T> bodyHandler) {
+        return new PipelineRequest<>(target, method, endpoint, body, httpRequest, bodyHandler);
+    }
+
+    /**
+     * A key identifying a {@link PipelineRequest}.
+     *
+     * @param target      the API the request targets
+     * @param method      the method of the request
+     * @param uri         the URI the request is sent to
+     * @param body        the body of the request
+     * @param bodyHandler the handler used for decoding the response body
+     */
+    public record Key(Target target, Method method, URI uri, @Nullable String body, BodyHandler<?> bodyHandler) {}
+
+    /**
+     * The APIs a request can target.
+     */
+    public enum Target {
+        /**
+         * The <a href="https://docs.curseforge.com/">CurseForge API</a>.
+         */
+        API,
+        /**
+         * The <a href=
+         * "https://support.curseforge.com/en/support/solutions/articles/9000197321-curseforge-upload-api">CurseForge
+         * Upload API</a>.
+         */
+        UPLOAD_API
+    }
+}
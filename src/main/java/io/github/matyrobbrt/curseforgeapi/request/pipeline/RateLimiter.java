@@ -0,0 +1,244 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.pipeline;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.request.Method;
+
+/**
+ * A client-side, token bucket based rate limiter. <br>
+ * Each {@link EndpointClass endpoint class} has its own bucket, and an
+ * optional global bucket limits all requests. Buckets are lock-free: acquiring
+ * a permit is a single compare-and-set on the bucket's state, so a limiter can
+ * be used from any number of threads without becoming a contention point.
+ * <br>
+ * <br>
+ * A rate limiter is not tied to a
+ * {@link io.github.matyrobbrt.curseforgeapi.CurseForgeAPI} instance. In order to
+ * limit the requests made with the same API key by multiple instances, the same
+ * limiter should be given to all of them.
+ * 
+ * @author matyrobbrt
+ * @see    RateLimitInterceptor
+ */
+@ParametersAreNonnullByDefault
+public final class RateLimiter {
+
+    /**
+     * Creates a {@link Builder} for a rate limiter.
+     * 
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Nullable
+    private final Bucket global;
+    private final Bucket[] buckets;
+
+    private RateLimiter(@Nullable Bucket global, Bucket[] buckets) {
+        this.global = global;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Reserves a permit for the given {@code request}. The request must wait the
+     * returned amount of time before being sent.
+     * 
+     * @param  request the request to reserve a permit for
+     * @return         the time to wait before sending the request, in nanoseconds
+     */
+    public long reserve(PipelineRequest<?> request) {
+        return reserve(EndpointClass.of(request));
+    }
+
+    /**
+     * Reserves a permit for a request of the given {@code endpointClass}. The
+     * request must wait the returned amount of time before being sent.
+     * 
+     * @param  endpointClass the class of the request
+     * @return               the time to wait before sending the request, in
+     *                       nanoseconds
+     */
+    public long reserve(EndpointClass endpointClass) {
+        final var now = System.nanoTime();
+        final var bucket = buckets[endpointClass.ordinal()];
+        final var wait = bucket == null ? 0 : bucket.reserve(now);
+        return global == null ? wait : Math.max(wait, global.reserve(now));
+    }
+
+    /**
+     * The classes of endpoints which are limited separately.
+     */
+    public enum EndpointClass {
+        /**
+         * Mod searches.
+         */
+        SEARCH,
+        /**
+         * Bulk requests, such as getting multiple files, or matching fingerprints.
+         */
+        BULK,
+        /**
+         * Requests to the Upload API.
+         */
+        UPLOAD,
+        /**
+         * Any other request.
+         */
+        DEFAULT;
+
+        /**
+         * Gets the class of the given {@code request}.
+         * 
+         * @param  request the request
+         * @return         the class of the request
+         */
+        public static EndpointClass of(PipelineRequest<?> request) {
+            if (request.target() == PipelineRequest.Target.UPLOAD_API) {
+                return UPLOAD;
+            }
+            if (request.path().startsWith("/v1/mods/search")) {
+                return SEARCH;
+            }
+            return request.method() == Method.POST ? BULK : DEFAULT;
+        }
+    }
+
+    /**
+     * A token bucket implemented using the generic cell rate algorithm. The only
+     * state of the bucket is the theoretical arrival time of the next request.
+     */
+    private static final class Bucket {
+        private final long interval;
+        private final long tolerance;
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+        Bucket(double permitsPerSecond, int burst) {
+            this.interval = Math.max(1, (long) (1_000_000_000D / permitsPerSecond));
+            this.tolerance = interval * (burst - 1);
+        }
+
+        long reserve(long now) {
+            while (true) {
+                final var current = theoreticalArrival.get();
+                final var arrival = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+                if (theoreticalArrival.compareAndSet(current, arrival + interval)) {
+                    return Math.max(0, arrival - tolerance - now);
+                }
+            }
+        }
+    }
+
+    /**
+     * A builder for {@link RateLimiter rate limiters}.
+     * 
+     * @author matyrobbrt
+     *
+     */
+    public static final class Builder {
+
+        private final Map<EndpointClass, double[]> limits = new EnumMap<>(EndpointClass.class);
+        private double[] defaultLimit;
+        private double[] globalLimit;
+
+        private Builder() {
+        }
+
+        /**
+         * Limits requests of every endpoint class without a
+         * {@link #limit(EndpointClass, double, int) specific limit}.
+         * 
+         * @param  permitsPerSecond the amount of requests allowed per second
+         * @param  burst            the amount of requests which can be sent at once
+         * @return                  the builder instance, for chaining purposes
+         */
+        public Builder limit(double permitsPerSecond, int burst) {
+            this.defaultLimit = validate(permitsPerSecond, burst);
+            return this;
+        }
+
+        /**
+         * Limits requests of the given {@code endpointClass}.
+         * 
+         * @param  endpointClass    the endpoint class to limit
+         * @param  permitsPerSecond the amount of requests allowed per second
+         * @param  burst            the amount of requests which can be sent at once
+         * @return                  the builder instance, for chaining purposes
+         */
+        public Builder limit(EndpointClass endpointClass, double permitsPerSecond, int burst) {
+            this.limits.put(endpointClass, validate(permitsPerSecond, burst));
+            return this;
+        }
+
+        /**
+         * Limits all requests, regardless of their endpoint class. A request must
+         * acquire a permit from both the global limit and the limit of its class.
+         * 
+         * @param  permitsPerSecond the amount of requests allowed per second
+         * @param  burst            the amount of requests which can be sent at once
+         * @return                  the builder instance, for chaining purposes
+         */
+        public Builder globalLimit(double permitsPerSecond, int burst) {
+            this.globalLimit = validate(permitsPerSecond, burst);
+            return this;
+        }
+
+        /**
+         * Builds the {@link RateLimiter}.
+         * 
+         * @return the rate limiter
+         */
+        public RateLimiter build() {
+            final var buckets = new Bucket[EndpointClass.values().length];
+            for (final var endpointClass : EndpointClass.values()) {
+                final var limit = limits.getOrDefault(endpointClass, defaultLimit);
+                if (limit != null) {
+                    buckets[endpointClass.ordinal()] = new Bucket(limit[0], (int) limit[1]);
+                }
+            }
+            return new RateLimiter(globalLimit == null ? null : new Bucket(globalLimit[0], (int) globalLimit[1]), buckets);
+        }
+
+        private static double[] validate(double permitsPerSecond, int burst) {
+            if (!(permitsPerSecond > 0)) {
+                throw new IllegalArgumentException("Rate must be positive!");
+            }
+            if (burst < 1) {
+                throw new IllegalArgumentException("Burst must be at least 1!");
+            }
+            return new double[] { permitsPerSecond, burst };
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.pipeline;
+
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * An interceptor which is invoked for every request sent by a
+ * {@link io.github.matyrobbrt.curseforgeapi.CurseForgeAPI}, be it blocking or
+ * async, to the API or to the Upload API. <br>
+ * Interceptors are registered using
+ * {@link io.github.matyrobbrt.curseforgeapi.CurseForgeAPI.Builder#addInterceptor(RequestInterceptor)},
+ * and are invoked in the order they were registered in, the first one being the
+ * outermost. <br>
+ * <br>
+ * An interceptor may:
+ * <ul>
+ * <li>{@link Chain#proceed(PipelineRequest) proceed} with the request, or with
+ * a modified copy of it</li>
+ * <li>proceed multiple times (for example, when retrying)</li>
+ * <li>not proceed at all, and provide the response itself (for example, from a
+ * cache)</li>
+ * <li>delay proceeding (for example, when rate limiting)</li>
+ * </ul>
+ * 
+ * When {@link Chain#isAsync() the chain is async}, interceptors should avoid
+ * blocking, and instead compose the returned {@link CompletableFuture}s.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+public interface RequestInterceptor {
+
+    /**
+     * Intercepts a request.
+     * 
+     * @param  <T>   the type of the response body
+     * @param  chain the chain, containing the request
+     * @return       a future which will be completed with the response
+     */
+    <T> CompletableFuture<HttpResponse<T>> intercept(Chain<T> chain);
+
+    /**
+     * The chain of a request, which gives access to the request, and allows
+     * proceeding to the next interceptor.
+     *
+     * @param <T> the type of the response body
+     */
+    interface Chain<T> {
+
+        /**
+         * @return the request
+         */
+        PipelineRequest<T> request();
+
+        /**
+         * @return if the request was sent asynchronously. If {@code false}, the
+         *         future returned by {@link #proceed(PipelineRequest)} is
+         *         completed by the time the method returns, unless an interceptor
+         *         completes it later
+         */
+        boolean isAsync();
+
+        /**
+         * Proceeds with the given {@code request} to the next interceptor, or sends
+         * it if this is the last interceptor.
+         * 
+         * @param  request the request to proceed with
+         * @return         a future which will be completed with the response
+         */
+        CompletableFuture<HttpResponse<T>> proceed(PipelineRequest<T> request);
+
+        /**
+         * Proceeds with the {@link #request() current request}.
+         * 
+         * @return a future which will be completed with the response
+         */
+        default CompletableFuture<HttpResponse<T>> proceed() {
+            return proceed(request());
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.pipeline;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.util.Utils;
+
+/**
+ * The pipeline every request of a
+ * {@link io.github.matyrobbrt.curseforgeapi.CurseForgeAPI} goes through. The
+ * request passes through all the {@link RequestInterceptor interceptors}, in
+ * order, and is then sent using the {@link HttpClient}.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+public final class RequestPipeline {
+
+    private final HttpClient httpClient;
+    private final List<RequestInterceptor> interceptors;
+
+    public RequestPipeline(HttpClient httpClient, List<? extends RequestInterceptor> interceptors) {
+        this.httpClient = httpClient;
+        this.interceptors = List.copyOf(interceptors);
+    }
+
+    /**
+     * @return the interceptors of this pipeline
+     */
+    public List<RequestInterceptor> getInterceptors() {
+        return interceptors;
+    }
+
+    /**
+     * Sends a <b>blocking</b> request through the pipeline.
+     * 
+     * @param  <T>                  the type of the response body
+     * @param  request              the request to send
+     * @return                      the response
+     * @throws IOException          if an I/O error occurs when sending or
+     *                              receiving
+     * @throws InterruptedException if the operation is interrupted
+     */
+    public <T> HttpResponse<T> send(PipelineRequest<T> request) throws IOException, InterruptedException {
+        return send(request, null);
+    }
+
+    /**
+     * Sends a <b>blocking</b> request through the pipeline, running the tasks
+     * given to the {@code callingThreadExecutor} on the calling thread while
+     * waiting for the response. <br>
+     * Body handlers which decode on the {@code callingThreadExecutor} therefore
+     * decode on the calling thread.
+     * 
+     * @param  <T>                   the type of the response body
+     * @param  request               the request to send
+     * @param  callingThreadExecutor the executor whose tasks to run while
+     *                               waiting, if any
+     * @return                       the response
+     * @throws IOException           if an I/O error occurs when sending or
+     *                               receiving
+     * @throws InterruptedException  if the operation is interrupted
+     */
+    public <T> HttpResponse<T> send(PipelineRequest<T> request, @Nullable CallingThreadExecutor callingThreadExecutor)
+        throws IOException, InterruptedException {
+        final var future = new ChainImpl<T>(0, request, false, new CancellationScope(), callingThreadExecutor).proceed(request);
+        try {
+            if (callingThreadExecutor != null) {
+                callingThreadExecutor.runUntilDone(future);
+            }
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            final var cause = e.getCause();
+            if (cause instanceof IOException || cause instanceof InterruptedException || cause instanceof RuntimeException || cause instanceof Error) {
+                Utils.sneakyThrow(cause);
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Sends an <b>async</b> request through the pipeline. <br>
+     * Cancelling the returned future aborts the HTTP exchanges started for the
+     * request, and prevents further ones (such as retries) from being started.
+     * 
+     * @param  <T>     the type of the response body
+     * @param  request the request to send
+     * @return         a future which will be completed with the response
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(PipelineRequest<T> request) {
+        final var scope = new CancellationScope();
+        return scoped(new ChainImpl<T>(0, request, true, scope, null).proceed(request), scope);
+    }
+
+    /**
+     * Proceeds with the {@code chain} in a new cancellation scope, which is only
+     * cancelled when the returned future is. Used by interceptors whose
+     * exchanges are shared by multiple requests, and must not be aborted when
+     * one of them is cancelled.
+     */
+    static <T> CompletableFuture<HttpResponse<T>> proceedDetached(RequestInterceptor.Chain<T> chain) {
+        if (!(chain instanceof RequestPipeline.ChainImpl<T> impl)) {
+            return chain.proceed();
+        }
+        final var scope = new CancellationScope();
+        return scoped(impl.withScope(scope).proceed(), scope);
+    }
+
+    /**
+     * Registers a future created by an interceptor of the {@code chain} in the
+     * cancellation scope of the request, so that it is cancelled when the
+     * request is, even if it is not the future returned by the pipeline.
+     */
+    static <T extends CompletableFuture<?>> T registerInScope(RequestInterceptor.Chain<?> chain, T future) {
+        return chain instanceof RequestPipeline.ChainImpl<?> impl ? impl.scope.register(future) : future;
+    }
+
+    private static <T> CompletableFuture<HttpResponse<T>> scoped(CompletableFuture<HttpResponse<T>> future, CancellationScope scope) {
+        future.whenComplete((r, t) -> {
+            if (future.isCancelled()) {
+                scope.cancel();
+            }
+        });
+        return future;
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> execute(PipelineRequest<T> request, boolean async, CancellationScope scope,
+        @Nullable CallingThreadExecutor callingThreadExecutor) {
+        if (callingThreadExecutor != null) {
+            // The body may be decoded by the calling thread, so it cannot block in
+            // HttpClient#send while the response is received
+            final var future = scope.register(httpClient.sendAsync(request.httpRequest(), request.bodyHandler()));
+            try {
+                callingThreadExecutor.runUntilDone(future);
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                return CompletableFuture.failedFuture(e);
+            }
+            return future;
+        }
+        if (async) {
+            if (scope.isCancelled()) {
+                return CompletableFuture.failedFuture(new CancellationException("Request was cancelled"));
+            }
+            return scope.register(httpClient.sendAsync(request.httpRequest(), request.bodyHandler()));
+        }
+        try {
+            return CompletableFuture.completedFuture(httpClient.send(request.httpRequest(), request.bodyHandler()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private final class ChainImpl<T> implements RequestInterceptor.Chain<T> {
+
+        private final int index;
+        private final PipelineRequest<T> request;
+        private final boolean async;
+        private final CancellationScope scope;
+        @Nullable
+        private final CallingThreadExecutor callingThreadExecutor;
+
+        ChainImpl(int index, PipelineRequest<T> request, boolean async, CancellationScope scope,
+            @Nullable CallingThreadExecutor callingThreadExecutor) {
+            this.index = index;
+            this.request = request;
+            this.async = async;
+            this.scope = scope;
+            this.callingThreadExecutor = callingThreadExecutor;
+        }
+
+        ChainImpl<T> withScope(CancellationScope scope) {
+            return new ChainImpl<>(index, request, async, scope, callingThreadExecutor);
+        }
+
+        @Override
+        public PipelineRequest<T> request() {
+            return request;
+        }
+
+        @Override
+        public boolean isAsync() {
+            return async;
+        }
+
+        @Override
+        public CompletableFuture<HttpResponse<T>> proceed(PipelineRequest<T> request) {
+            if (index >= interceptors.size()) {
+                return execute(request, async, scope, callingThreadExecutor);
+            }
+            try {
+                final var future = interceptors.get(index).intercept(new ChainImpl<>(index + 1, request, async, scope, callingThreadExecutor));
+                return future == null
+                    ? CompletableFuture.failedFuture(new NullPointerException("Interceptor returned a null future"))
+                    : future;
+            } catch (Throwable t) {
+                return CompletableFuture.failedFuture(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.pipeline;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.google.gson.stream.MalformedJsonException;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * An interceptor which retries failed {@link PipelineRequest#isIdempotent()
+ * idempotent} requests, according to a {@link RetryPolicy}. <br>
+ * Blocking requests wait for the next attempt on the calling thread, while
+ * async requests schedule the next attempt, without blocking any thread.
+ * 
+ * @author matyrobbrt
+ *
+ */
+@ParametersAreNonnullByDefault
+public final class RetryInterceptor implements RequestInterceptor {
+
+    private final RetryPolicy policy;
+
+    public RetryInterceptor(RetryPolicy policy) {
+        this.policy = policy;
+    }
+
+    public RetryPolicy getPolicy() {
+        return policy;
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> intercept(Chain<T> chain) {
+        if (policy.getMaxAttempts() <= 1 || !chain.request().isIdempotent()) {
+            return chain.proceed();
+        }
+        return attempt(chain, 1);
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> attempt(Chain<T> chain, int attempt) {
+        return chain.proceed().handle((response, throwable) -> {
+            final var exception = unwrap(throwable);
+            if (attempt >= policy.getMaxAttempts() || !shouldRetry(response, exception)) {
+                return exception == null ? CompletableFuture.completedFuture(response)
+                    : CompletableFuture.<HttpResponse<T>>failedFuture(exception);
+            }
+            final var delay = policy.computeDelayNanos(attempt, response);
+            if (chain.isAsync()) {
+                return CompletableFuture.supplyAsync(() -> chain, CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS))
+                    .thenCompose(c -> attempt(c, attempt + 1));
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return CompletableFuture.<HttpResponse<T>>failedFuture(e);
+            }
+            return attempt(chain, attempt + 1);
+        }).thenCompose(Function.identity());
+    }
+
+    private boolean shouldRetry(@Nullable HttpResponse<?> response, @Nullable Throwable exception) {
+        if (exception != null) {
+            return isTransportFailure(exception);
+        }
+        return response != null && policy.isRetryable(response.statusCode());
+    }
+
+    /**
+     * Checks if the {@code throwable} is a failure of the connection, which may
+     * not happen again when the request is retried. Bodies which could not be
+     * decoded, such as malformed JSON, fail the same way every time, so they are
+     * not transport failures.
+     */
+    static boolean isTransportFailure(@Nullable Throwable throwable) {
+        final var exception = throwable instanceof UncheckedIOException unchecked ? unchecked.getCause() : throwable;
+        return exception instanceof IOException && !(exception instanceof MalformedJsonException);
+    }
+
+    @Nullable
+    static Throwable unwrap(@Nullable Throwable throwable) {
+        while (throwable instanceof CompletionException && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+}
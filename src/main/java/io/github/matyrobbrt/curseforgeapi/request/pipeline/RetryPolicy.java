@@ -0,0 +1,262 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.pipeline;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.util.Constants.StatusCodes;
+
+/**
+ * A policy describing how failed requests are retried. <br>
+ * Only {@link PipelineRequest#isIdempotent() idempotent} requests are retried.
+ * A request is retried when it fails with an I/O error, or when the API
+ * responds with one of the {@link Builder#retryOn(Set) retryable status codes}
+ * (by default {@link StatusCodes#TOO_MANY_REQUESTS 429},
+ * {@link StatusCodes#API_UNAVAILABLE 503} and
+ * {@link StatusCodes#GATEWAY_TIMEOUT 504}). <br>
+ * Attempts are delayed using an exponential backoff with full jitter: the delay
+ * before the n-th retry is a random duration between 0 and
+ * {@code min(maxDelay, baseDelay * 2^(n - 1))}. If the response contains a
+ * {@code Retry-After} header, its value is used instead (capped at
+ * {@code maxDelay}).
+ * 
+ * @author matyrobbrt
+ * @see    RetryInterceptor
+ */
+@ParametersAreNonnullByDefault
+public final class RetryPolicy {
+
+    /**
+     * The default retry policy: 4 attempts, with a base delay of 500 milliseconds
+     * and a max delay of 30 seconds.
+     */
+    public static final RetryPolicy DEFAULT = builder().build();
+
+    /**
+     * Creates a {@link Builder} for a retry policy.
+     * 
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final boolean respectRetryAfter;
+    private final Set<Integer> retryableStatusCodes;
+
+    private RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay, boolean respectRetryAfter,
+        Set<Integer> retryableStatusCodes) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.respectRetryAfter = respectRetryAfter;
+        this.retryableStatusCodes = retryableStatusCodes;
+    }
+
+    /**
+     * @return the maximum amount of times a request is sent, including the first
+     *         attempt
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @return the base delay of the backoff
+     */
+    public Duration getBaseDelay() {
+        return baseDelay;
+    }
+
+    /**
+     * @return the maximum delay between two attempts
+     */
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * Checks if a request with the given {@code statusCode} should be retried.
+     * 
+     * @param  statusCode the status code of the response
+     * @return            if the request should be retried
+     */
+    public boolean isRetryable(int statusCode) {
+        return retryableStatusCodes.contains(statusCode);
+    }
+
+    /**
+     * Computes the delay before the next attempt.
+     * 
+     * @param  attempt  the attempt which failed, starting from 1
+     * @param  response the response of the failed attempt, if the attempt did not
+     *                  fail with an exception
+     * @return          the delay, in nanoseconds
+     */
+    public long computeDelayNanos(int attempt, @Nullable HttpResponse<?> response) {
+        final var max = maxDelay.toNanos();
+        if (respectRetryAfter && response != null) {
+            final var retryAfter = response.headers().firstValue("Retry-After").map(RetryPolicy::parseRetryAfter);
+            if (retryAfter.isPresent() && retryAfter.get() >= 0) {
+                return Math.min(retryAfter.get(), max);
+            }
+        }
+        final var exponent = Math.min(attempt - 1, 30);
+        final var base = baseDelay.toNanos();
+        final var cap = base > (max >> exponent) ? max : base << exponent;
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    /**
+     * Parses the value of a {@code Retry-After} header, which can be either an
+     * amount of seconds, or an HTTP date.
+     * 
+     * @param  value the value of the header
+     * @return       the delay in nanoseconds, or {@code -1} if the value could not
+     *               be parsed
+     */
+    static long parseRetryAfter(String value) {
+        final var trimmed = value.trim();
+        try {
+            return Duration.ofSeconds(Long.parseLong(trimmed)).toNanos();
+        } catch (NumberFormatException ignored) {
+        }
+        try {
+            final var date = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toNanos());
+        } catch (DateTimeParseException ignored) {
+            return -1;
+        }
+    }
+
+    /**
+     * A builder for {@link RetryPolicy retry policies}.
+     * 
+     * @author matyrobbrt
+     *
+     */
+    public static final class Builder {
+
+        private int maxAttempts = 4;
+        private Duration baseDelay = Duration.ofMillis(500);
+        private Duration maxDelay = Duration.ofSeconds(30);
+        private boolean respectRetryAfter = true;
+        private Set<Integer> retryableStatusCodes = Set.of(StatusCodes.TOO_MANY_REQUESTS, StatusCodes.API_UNAVAILABLE,
+            StatusCodes.GATEWAY_TIMEOUT);
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum amount of times a request is sent, including the first
+         * attempt. <br>
+         * By default, this is {@code 4}.
+         * 
+         * @param  maxAttempts the maximum amount of attempts
+         * @return             the builder instance, for chaining purposes
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("A request must be attempted at least once!");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the base delay of the exponential backoff. <br>
+         * By default, this is 500 milliseconds.
+         * 
+         * @param  baseDelay the base delay
+         * @return           the builder instance, for chaining purposes
+         */
+        public Builder baseDelay(Duration baseDelay) {
+            this.baseDelay = Objects.requireNonNull(baseDelay);
+            return this;
+        }
+
+        /**
+         * Sets the maximum delay between two attempts. This also caps the delay
+         * requested by {@code Retry-After} headers. <br>
+         * By default, this is 30 seconds.
+         * 
+         * @param  maxDelay the max delay
+         * @return          the builder instance, for chaining purposes
+         */
+        public Builder maxDelay(Duration maxDelay) {
+            this.maxDelay = Objects.requireNonNull(maxDelay);
+            return this;
+        }
+
+        /**
+         * Sets if the delay requested by the {@code Retry-After} header of a
+         * response should be used instead of the computed backoff. <br>
+         * By default, this is {@code true}.
+         * 
+         * @param  respectRetryAfter if {@code Retry-After} headers should be
+         *                           respected
+         * @return                   the builder instance, for chaining purposes
+         */
+        public Builder respectRetryAfter(boolean respectRetryAfter) {
+            this.respectRetryAfter = respectRetryAfter;
+            return this;
+        }
+
+        /**
+         * Sets the status codes which cause a request to be retried.
+         * 
+         * @param  statusCodes the status codes
+         * @return             the builder instance, for chaining purposes
+         */
+        public Builder retryOn(Set<Integer> statusCodes) {
+            this.retryableStatusCodes = Set.copyOf(statusCodes);
+            return this;
+        }
+
+        /**
+         * Builds the {@link RetryPolicy}.
+         * 
+         * @return the policy
+         */
+        public RetryPolicy build() {
+            return new RetryPolicy(maxAttempts, baseDelay, maxDelay, respectRetryAfter, retryableStatusCodes);
+        }
+    }
+}
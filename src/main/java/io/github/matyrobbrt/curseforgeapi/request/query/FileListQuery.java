@@ -30,6 +30,7 @@ package io.github.matyrobbrt.curseforgeapi.request.query;
 import io.github.matyrobbrt.curseforgeapi.annotation.CurseForgeSchema;
 import io.github.matyrobbrt.curseforgeapi.request.Arguments;
 import io.github.matyrobbrt.curseforgeapi.schemas.mod.ModLoaderType;
+import io.github.matyrobbrt.curseforgeapi.util.gson.CFSchemaEnums;
 
 /**
  * A builders for file list search queries.
@@ -85,7 +86,7 @@ public final class FileListQuery extends PaginatedImpl<FileListQuery> {
     public Arguments toArgs() {
         return super.toArgs()
                 .put("gameVersion", gameVersion)
-                .put("modLoaderType", modLoaderType != null ? modLoaderType.ordinal() : null)
+                .put("modLoaderType", modLoaderType != null ? CFSchemaEnums.DEFAULT.adapter(ModLoaderType.class).id(modLoaderType) : null)
                 .put("gameVersionTypeId", gameVersionTypeId);
     }
 
@@ -32,6 +32,7 @@ import io.github.matyrobbrt.curseforgeapi.request.Arguments;
 import io.github.matyrobbrt.curseforgeapi.schemas.Category;
 import io.github.matyrobbrt.curseforgeapi.schemas.game.Game;
 import io.github.matyrobbrt.curseforgeapi.schemas.mod.ModLoaderType;
+import io.github.matyrobbrt.curseforgeapi.util.gson.CFSchemaEnums;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -194,7 +195,7 @@ public final class ModSearchQuery extends PaginatedImpl<ModSearchQuery> {
                 .put("sortField", sortField == null ? null : sortField.ordinal() + 1)
                 .put("sortOrder", sortOrder == null ? null : sortOrder.toString())
                 .put("modLoaderTypes", (modLoaderTypes == null || modLoaderTypes.isEmpty()) ? null : "[" + modLoaderTypes.stream()
-                        .map(type -> String.valueOf(type.ordinal())).collect(Collectors.joining(",")) + "]")
+                        .map(type -> String.valueOf(CFSchemaEnums.DEFAULT.adapter(ModLoaderType.class).id(type))).collect(Collectors.joining(",")) + "]")
                 .put("gameVersionTypeId", gameVersionTypeId)
                 .put("slug", encodeURL(slug));
     }
@@ -27,17 +27,44 @@
 
 package io.github.matyrobbrt.curseforgeapi.schemas;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+
+import io.github.matyrobbrt.curseforgeapi.util.gson.JsonUtils;
 
 public record PaginatedData<T> (T data, Pagination pagination) {
 
+    private static final String[] MEMBERS = { "data", "pagination" };
+
     public static <T> PaginatedData<T> fromJson(final Gson gson, final JsonObject json, Type dataType) {
         final var data = json.get("data");
         final var pagination = json.get("pagination");
         return new PaginatedData<>(gson.fromJson(data, dataType), gson.fromJson(pagination, Pagination.class));
     }
+
+    /**
+     * Decodes paginated data directly from the {@code reader}, without parsing
+     * the response into a {@link JsonObject} first.
+     *
+     * @param  <T>         the type of the data
+     * @param  gson        the gson to decode with
+     * @param  reader      the reader positioned at the start of the response
+     * @param  dataType    the type of the data
+     * @return             the decoded data
+     * @throws IOException if the response could not be read
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PaginatedData<T> fromJson(final Gson gson, final JsonReader reader, Type dataType) throws IOException {
+        final var members = JsonUtils.readMembers(reader, MEMBERS, new TypeAdapter<?>[] {
+            gson.getAdapter(TypeToken.get(dataType)), gson.getAdapter(Pagination.class)
+        });
+        return new PaginatedData<>((T) members[0], (Pagination) members[1]);
+    }
     
 }
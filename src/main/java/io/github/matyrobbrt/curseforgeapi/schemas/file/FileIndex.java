@@ -30,12 +30,18 @@ package io.github.matyrobbrt.curseforgeapi.schemas.file;
 import io.github.matyrobbrt.curseforgeapi.annotation.CurseForgeSchema;
 import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
 import io.github.matyrobbrt.curseforgeapi.schemas.mod.ModLoaderType;
+import io.github.matyrobbrt.curseforgeapi.util.gson.CFSchemaEnums;
 
 @CurseForgeSchema("https://docs.curseforge.com/#tocS_FileIndex")
 public record FileIndex(String gameVersion, int fileId, String filename, FileReleaseType releaseType, @Nullable Integer gameVersionTypeId, @Nullable Integer modLoader) {
     
+    /**
+     * @return the mod loader of the file, or {@code null} if it has none, or it is
+     *         unknown
+     */
+    @Nullable
     public ModLoaderType modLoaderType() {
-        return ModLoaderType.byId(modLoader);
+        return modLoader == null ? null : CFSchemaEnums.DEFAULT.byId(ModLoaderType.class, modLoader);
     }
     
 }
\ No newline at end of file
@@ -37,6 +37,8 @@ public enum FileRelationType {
 
     private final String uploadApiName;
 
+    private static final FileRelationType[] VALUES = values();
+
     private FileRelationType(String uploadApiName) {
         this.uploadApiName = uploadApiName;
     }
@@ -46,7 +48,7 @@ public enum FileRelationType {
     }
 
     public static FileRelationType byId(int id) {
-        return values()[id - 1];
+        return VALUES[id - 1];
     }
 
 }
@@ -33,9 +33,11 @@ import io.github.matyrobbrt.curseforgeapi.annotation.CurseForgeSchema;
 public enum FileReleaseType {
 
     RELEASE, BETA, ALPHA;
+
+    private static final FileReleaseType[] VALUES = values();
     
     public static FileReleaseType byId(int id) {
-        return values()[id - 1];
+        return VALUES[id - 1];
     }
     
 }
@@ -35,8 +35,10 @@ public enum FileStatus {
     PROCESSING, CHANGES_REQUIRED, UNDER_REVIEW, APPROVED, REJECTED, MALWARE_DETECTED, DELETED, ARCHIVED, TESTING,
     RELEASED, READY_FOR_REVIEW, DEPRECATED, BAKING, AWAITING_PUBLISHING, FAILED_PUBLISHING;
 
+    private static final FileStatus[] VALUES = values();
+
     public static FileStatus byId(int id) {
-        return values()[id - 1];
+        return VALUES[id - 1];
     }
 
 }
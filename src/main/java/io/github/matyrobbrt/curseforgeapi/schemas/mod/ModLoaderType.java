@@ -36,6 +36,8 @@ public enum ModLoaderType {
     LITE_LOADER("LiteLoader"), FABRIC("Fabric"), QUILT("Quilt"),
     NEOFORGE("NeoForge");
 
+    private static final ModLoaderType[] VALUES = values();
+
     private final String name;
 
     ModLoaderType(String name) {
@@ -48,6 +50,6 @@ public enum ModLoaderType {
     }
 
     public static ModLoaderType byId(int id) {
-        return values()[id];
+        return VALUES[id];
     }
 }
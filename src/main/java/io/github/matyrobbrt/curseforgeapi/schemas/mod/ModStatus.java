@@ -33,8 +33,10 @@ import io.github.matyrobbrt.curseforgeapi.annotation.CurseForgeSchema;
 public enum ModStatus {
 
     NEW, CHANGES_REQUIRED, UNDER_SOFT_REVIEW, APPROVED, REJECTED, CHANGES_MADE, INACTIVE, ABANDONED, DELETED, UNDER_REVIEW;
+
+    private static final ModStatus[] VALUES = values();
     
     public static ModStatus byId(int id) {
-        return values()[id - 1];
+        return VALUES[id - 1];
     }
 }
@@ -55,6 +55,17 @@ public final class Constants {
          */
         public static final int OK = 200;
 
+        /**
+         * The 304 (Not Modified) status code indicates that a conditional GET
+         * request has been received and would have resulted in a 200 (OK)
+         * response if it were not for the fact that the condition evaluated to
+         * false.
+         * 
+         * @see <a href=
+         *      "https://tools.ietf.org/html/rfc7232#section-4.1">https://tools.ietf.org/html/rfc7232#section-4.1</a>
+         */
+        public static final int NOT_MODIFIED = 304;
+
         /**
          * The 400 (Bad Request) status code indicates that the server cannot or will
          * not process the request due to something that is perceived to be a client
@@ -116,6 +127,15 @@ public final class Constants {
          */
         public static final int NOT_FOUND = 404;
 
+        /**
+         * The 429 (Too Many Requests) status code indicates that the user has sent
+         * too many requests in a given amount of time ("rate limiting").
+         * 
+         * @see <a href=
+         *      "https://tools.ietf.org/html/rfc6585#section-4">https://tools.ietf.org/html/rfc6585#section-4</a>
+         */
+        public static final int TOO_MANY_REQUESTS = 429;
+
         /**
          * The 500 (Internal Server Error) status code indicates that the server
          * encountered an unexpected condition that prevented it from fulfilling the
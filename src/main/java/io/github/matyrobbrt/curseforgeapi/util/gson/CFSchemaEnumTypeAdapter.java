@@ -31,8 +31,21 @@ import java.io.IOException;
 
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+
+/**
+ * A {@link TypeAdapter} for CurseForge schema enums, which are encoded as
+ * consecutive ids in the order of the enum constants. <br>
+ * The constants are looked up in a table built once, when the adapter is
+ * created, and ids outside of the table decode to the {@code unknown} value,
+ * so that ids added to the API do not fail the whole response.
+ * 
+ * @param <E> the type of the enum
+ * @see       CFSchemaEnums
+ */
 public class CFSchemaEnumTypeAdapter<E extends Enum<E>> extends TypeAdapter<E> {
 
     @SuppressWarnings("unchecked")
@@ -40,20 +53,69 @@ public class CFSchemaEnumTypeAdapter<E extends Enum<E>> extends TypeAdapter<E> {
         return new CFSchemaEnumTypeAdapter<>((Class<E>) clazz);
     }
 
-    private final Class<E> clazz;
+    private final E[] constants;
+    private final int firstId;
+    @Nullable
+    private final E unknown;
 
+    /**
+     * Creates an adapter for an enum whose ids start at {@code 1}, decoding
+     * unknown ids to {@code null}.
+     * 
+     * @param clazz the class of the enum
+     */
     public CFSchemaEnumTypeAdapter(Class<E> clazz) {
-        this.clazz = clazz;
+        this(clazz, 1, null);
+    }
+
+    /**
+     * @param clazz   the class of the enum
+     * @param firstId the id of the first constant of the enum
+     * @param unknown the value unknown ids decode to
+     */
+    public CFSchemaEnumTypeAdapter(Class<E> clazz, int firstId, @Nullable E unknown) {
+        this.constants = clazz.getEnumConstants();
+        this.firstId = firstId;
+        this.unknown = unknown;
+    }
+
+    /**
+     * Gets the constant with the given {@code id}.
+     * 
+     * @param  id the id of the constant
+     * @return    the constant, or the unknown value if no constant has the
+     *            {@code id}
+     */
+    @Nullable
+    public E byId(int id) {
+        final int index = id - firstId;
+        return index >= 0 && index < constants.length ? constants[index] : unknown;
+    }
+
+    /**
+     * @param  value the constant
+     * @return       the id of the constant
+     */
+    public int id(E value) {
+        return value.ordinal() + firstId;
     }
 
     @Override
     public void write(JsonWriter out, E value) throws IOException {
-        out.value(value.ordinal() + 1);
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.value(id(value));
+        }
     }
 
     @Override
     public E read(JsonReader in) throws IOException {
-        return clazz.getEnumConstants()[in.nextInt() - 1];
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return byId(in.nextInt());
     }
 
 }
@@ -0,0 +1,140 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.util.gson;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.google.gson.GsonBuilder;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.annotation.ParametersAreNonnullByDefault;
+import io.github.matyrobbrt.curseforgeapi.schemas.ApiStatus;
+import io.github.matyrobbrt.curseforgeapi.schemas.HashAlgo;
+import io.github.matyrobbrt.curseforgeapi.schemas.Status;
+import io.github.matyrobbrt.curseforgeapi.schemas.file.FileRelationType;
+import io.github.matyrobbrt.curseforgeapi.schemas.file.FileReleaseType;
+import io.github.matyrobbrt.curseforgeapi.schemas.file.FileStatus;
+import io.github.matyrobbrt.curseforgeapi.schemas.mod.ModLoaderType;
+import io.github.matyrobbrt.curseforgeapi.schemas.mod.ModStatus;
+
+/**
+ * The registry of the {@link CFSchemaEnumTypeAdapter adapters} of all the
+ * CurseForge schema enums. <br>
+ * By default, ids unknown to an enum decode to {@code null}. A different value
+ * can be configured using {@link #withUnknown(Class, Enum)}.
+ * 
+ * @author matyrobbrt
+ */
+@ParametersAreNonnullByDefault
+public final class CFSchemaEnums {
+
+    /**
+     * The default registry, used by {@link io.github.matyrobbrt.curseforgeapi.CurseForgeAPI#DEFAULT_GSON}.
+     */
+    public static final CFSchemaEnums DEFAULT = new CFSchemaEnums(new LinkedHashMap<>())
+        .with(ApiStatus.class, 1, null)
+        .with(FileRelationType.class, 1, null)
+        .with(FileReleaseType.class, 1, null)
+        .with(FileStatus.class, 1, null)
+        .with(HashAlgo.class, 1, null)
+        .with(Status.class, 1, null)
+        .with(ModStatus.class, 1, null)
+        // Mod loader ids start at 0, with ANY
+        .with(ModLoaderType.class, 0, null);
+
+    private final Map<Class<?>, CFSchemaEnumTypeAdapter<?>> adapters;
+
+    private CFSchemaEnums(Map<Class<?>, CFSchemaEnumTypeAdapter<?>> adapters) {
+        this.adapters = adapters;
+    }
+
+    /**
+     * Creates a copy of this registry, in which the ids unknown to the enum of
+     * the given {@code type} decode to the {@code unknown} value.
+     * 
+     * @param  <E>     the type of the enum
+     * @param  type    the class of the enum
+     * @param  unknown the value unknown ids decode to
+     * @return         the new registry
+     */
+    public <E extends Enum<E>> CFSchemaEnums withUnknown(Class<E> type, @Nullable E unknown) {
+        final var adapter = adapter(type);
+        return with(type, adapter.id(type.getEnumConstants()[0]), unknown);
+    }
+
+    /**
+     * Gets the adapter of the given schema enum.
+     * 
+     * @param  <E>                      the type of the enum
+     * @param  type                     the class of the enum
+     * @return                          the adapter
+     * @throws IllegalArgumentException if the {@code type} is not a known schema
+     *                                  enum
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Enum<E>> CFSchemaEnumTypeAdapter<E> adapter(Class<E> type) {
+        final var adapter = adapters.get(type);
+        if (adapter == null) {
+            throw new IllegalArgumentException("Unknown schema enum: " + type);
+        }
+        return (CFSchemaEnumTypeAdapter<E>) adapter;
+    }
+
+    /**
+     * Gets the constant of the given schema enum with the given {@code id}.
+     * 
+     * @param  <E>  the type of the enum
+     * @param  type the class of the enum
+     * @param  id   the id of the constant
+     * @return      the constant, or the unknown value of the enum if no constant
+     *              has the {@code id}
+     */
+    @Nullable
+    public <E extends Enum<E>> E byId(Class<E> type, int id) {
+        return adapter(type).byId(id);
+    }
+
+    /**
+     * Registers the adapters of all schema enums to the {@code builder}.
+     * 
+     * @param  builder the builder to register the adapters to
+     * @return         the {@code builder}
+     */
+    public GsonBuilder registerTo(GsonBuilder builder) {
+        adapters.forEach(builder::registerTypeAdapter);
+        return builder;
+    }
+
+    private <E extends Enum<E>> CFSchemaEnums with(Class<E> type, int firstId, @Nullable E unknown) {
+        final var copy = new LinkedHashMap<>(adapters);
+        copy.put(Objects.requireNonNull(type), new CFSchemaEnumTypeAdapter<>(type, firstId, unknown));
+        return new CFSchemaEnums(copy);
+    }
+}
@@ -27,12 +27,130 @@
 
 package io.github.matyrobbrt.curseforgeapi.util.gson;
 
+import java.io.IOException;
+
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
 
 public final class JsonUtils {
 
     public static boolean isString(final JsonElement element) {
         return element != null && element.isJsonPrimitive() && element.getAsJsonPrimitive().isString();
     }
+
+    /**
+     * Reads the given {@code members} from the object the {@code reader} is
+     * positioned at, skipping every other member without decoding it. The whole
+     * object is consumed.
+     *
+     * @param  reader      the reader to read from
+     * @param  members     the names of the members to read
+     * @param  adapters    the adapters used for decoding the members, in the
+     *                     order of the {@code members}
+     * @return             the decoded members, in the order of the
+     *                     {@code members}. Members missing from the object are
+     *                     {@code null}
+     * @throws IOException if the object could not be read
+     */
+    public static Object[] readMembers(final JsonReader reader, final String[] members, final TypeAdapter<?>[] adapters) throws IOException {
+        final var values = new Object[members.length];
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return values;
+        }
+        reader.beginObject();
+        outer:
+        while (reader.hasNext()) {
+            final var name = reader.nextName();
+            for (int i = 0; i < members.length; i++) {
+                if (members[i].equals(name)) {
+                    values[i] = adapters[i].read(reader);
+                    continue outer;
+                }
+            }
+            reader.skipValue();
+        }
+        reader.endObject();
+        return values;
+    }
+
+    /**
+     * Reads the value at the given {@code path} from the object the
+     * {@code reader} is positioned at, skipping every member which is not on the
+     * path without decoding it. The whole object is consumed.
+     *
+     * @param  <T>         the type of the value
+     * @param  reader      the reader to read from
+     * @param  path        the names of the members leading to the value, like
+     *                     {@code ["data", "fuzzyMatches"]}
+     * @param  adapter     the adapter used for decoding the value
+     * @return             the decoded value, or {@code null} if the object did
+     *                     not contain the path
+     * @throws IOException if the object could not be read
+     * @see                #splitPath(String)
+     */
+    @Nullable
+    public static <T> T readPath(final JsonReader reader, final String[] path, final TypeAdapter<T> adapter) throws IOException {
+        return readPath(reader, path, 0, adapter);
+    }
+
+    @Nullable
+    private static <T> T readPath(final JsonReader reader, final String[] path, final int depth, final TypeAdapter<T> adapter) throws IOException {
+        if (depth == path.length) {
+            return adapter.read(reader);
+        }
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            // The path goes through a value which is not an object
+            reader.skipValue();
+            return null;
+        }
+        T value = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (path[depth].equals(reader.nextName())) {
+                value = readPath(reader, path, depth + 1, adapter);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return value;
+    }
+
+    /**
+     * Gets the element at the given {@code path} from the {@code object}.
+     *
+     * @param  object the object to get the element from
+     * @param  path   the names of the members leading to the element
+     * @return        the element, or {@code null} if the object did not contain
+     *                the path
+     */
+    @Nullable
+    public static JsonElement getPath(final JsonObject object, final String[] path) {
+        JsonElement element = object;
+        for (final var name : path) {
+            if (element == null || !element.isJsonObject()) {
+                return null;
+            }
+            element = element.getAsJsonObject().get(name);
+        }
+        return element;
+    }
+
+    /**
+     * Splits a path expression like {@code data.fuzzyMatches} into the names of
+     * its members.
+     *
+     * @param  path the path expression
+     * @return      the names of the members of the path
+     */
+    public static String[] splitPath(final String path) {
+        return path.split("\\.");
+    }
     
-}
\ No newline at end of file
+}
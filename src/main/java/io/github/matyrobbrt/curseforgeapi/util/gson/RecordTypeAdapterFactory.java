@@ -28,8 +28,10 @@
 package io.github.matyrobbrt.curseforgeapi.util.gson;
 
 import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InaccessibleObjectException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -41,6 +43,18 @@ import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+
+/**
+ * A {@link TypeAdapterFactory} which decodes records through their canonical
+ * constructor. <br>
+ * Everything the decoding needs (the slot of each component, the adapters of
+ * the components, the defaults of primitive components and a handle to the
+ * constructor) is resolved once, when the adapter of a record type is created,
+ * so decoding an object only fills an array of arguments and invokes the
+ * constructor. If the constructor cannot be accessed, the adapter is still
+ * created, as writing does not need it, and reading fails instead.
+ */
 public class RecordTypeAdapterFactory implements TypeAdapterFactory {
     
     private static final Map<Class<?>, Object> PRIMITIVE_DEFAULTS = new HashMap<>();
@@ -57,64 +71,102 @@ public class RecordTypeAdapterFactory implements TypeAdapterFactory {
 
     @Override
     public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
-       @SuppressWarnings("unchecked")
-       Class<T> clazz = (Class<T>) type.getRawType();
-       if (!clazz.isRecord()) {
-          return null;
-       }
-       TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+        @SuppressWarnings("unchecked")
+        Class<T> clazz = (Class<T>) type.getRawType();
+        if (!clazz.isRecord()) {
+            return null;
+        }
+        TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+
+        final var recordComponents = clazz.getRecordComponents();
+        final var slots = new HashMap<String, Integer>(recordComponents.length * 4 / 3 + 1);
+        final var adapters = new TypeAdapter<?>[recordComponents.length];
+        final var defaults = new Object[recordComponents.length];
+        final var argTypes = new Class<?>[recordComponents.length];
+        for (int i = 0; i < recordComponents.length; i++) {
+            final var component = recordComponents[i];
+            slots.put(component.getName(), i);
+            adapters[i] = gson.getAdapter(TypeToken.get(component.getGenericType()));
+            defaults[i] = PRIMITIVE_DEFAULTS.get(component.getType());
+            argTypes[i] = component.getType();
+        }
+
+        MethodHandle constructor = null;
+        Exception constructorFailure = null;
+        try {
+            final var reflected = clazz.getDeclaredConstructor(argTypes);
+            reflected.setAccessible(true);
+            // Spread an Object[] into the arguments, so that the handle can be
+            // invoked exactly, regardless of the record
+            constructor = MethodHandles.lookup().unreflectConstructor(reflected)
+                .asSpreader(Object[].class, recordComponents.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (ReflectiveOperationException | SecurityException | InaccessibleObjectException e) {
+            constructorFailure = e;
+        }
+
+        return new RecordTypeAdapter<>(delegate, slots, adapters, defaults, constructor, constructorFailure);
+    }
 
-       return new TypeAdapter<T>() {
-          @Override
-          public void write(JsonWriter out, T value) throws IOException {
-             delegate.write(out, value);
-          }
+    private static final class RecordTypeAdapter<T> extends TypeAdapter<T> {
 
-          @Override
-          public T read(JsonReader reader) throws IOException {
-             if (reader.peek() == JsonToken.NULL) {
+        private final TypeAdapter<T> delegate;
+        private final Map<String, Integer> slots;
+        private final TypeAdapter<?>[] adapters;
+        private final Object[] defaults;
+        @Nullable
+        private final MethodHandle constructor;
+        @Nullable
+        private final Exception constructorFailure;
+
+        RecordTypeAdapter(TypeAdapter<T> delegate, Map<String, Integer> slots, TypeAdapter<?>[] adapters,
+            Object[] defaults, @Nullable MethodHandle constructor, @Nullable Exception constructorFailure) {
+            this.delegate = delegate;
+            this.slots = slots;
+            this.adapters = adapters;
+            this.defaults = defaults;
+            this.constructor = constructor;
+            this.constructorFailure = constructorFailure;
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            delegate.write(out, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T read(JsonReader reader) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
                 reader.nextNull();
                 return null;
-             } else {
-                var recordComponents = clazz.getRecordComponents();
-                var typeMap = new HashMap<String,TypeToken<?>>();
-                for (int i = 0; i < recordComponents.length; i++) {
-                   typeMap.put(recordComponents[i].getName(), TypeToken.get(recordComponents[i].getGenericType()));
+            }
+            if (constructor == null) {
+                throw new RuntimeException(constructorFailure);
+            }
+            final var args = defaults.clone();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final var slot = slots.get(reader.nextName());
+                if (slot == null) {
+                    reader.skipValue();
+                } else {
+                    final var value = adapters[slot].read(reader);
+                    // Explicit nulls keep the default of primitive components
+                    if (value != null) {
+                        args[slot] = value;
+                    }
                 }
-                var argsMap = new HashMap<String,Object>();
-                reader.beginObject();
-                while (reader.hasNext()) {
-                   String name = reader.nextName();
-                   if (typeMap.containsKey(name)) {
-                       argsMap.put(name, gson.getAdapter(typeMap.get(name)).read(reader));
-                   } else {
-                       reader.skipValue();
-                   }
-                }
-                reader.endObject();
+            }
+            reader.endObject();
 
-                var argTypes = new Class<?>[recordComponents.length];
-                var args = new Object[recordComponents.length];
-                for (int i = 0; i < recordComponents.length; i++) {
-                   argTypes[i] = recordComponents[i].getType();
-                   String name = recordComponents[i].getName();
-                   Object value = argsMap.get(name);
-                   TypeToken<?> type = typeMap.get(name);
-                   if (value == null && (type != null && type.getRawType().isPrimitive())) {
-                       value = PRIMITIVE_DEFAULTS.get(type.getRawType());
-                   }
-                   args[i] = value;
-                }
-                Constructor<T> constructor;
-                try {
-                   constructor = clazz.getDeclaredConstructor(argTypes);
-                   constructor.setAccessible(true);
-                   return constructor.newInstance(args);
-                } catch (NoSuchMethodException | InstantiationException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                   throw new RuntimeException(e);
-                }
-             }
-          }
-       };
+            try {
+                return (T) constructor.invokeExact(args);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        }
     }
- }
\ No newline at end of file
+}
@@ -10,10 +10,13 @@ open module curseforgeapi {
     exports io.github.matyrobbrt.curseforgeapi.request.uploadapi;
     exports io.github.matyrobbrt.curseforgeapi.request.helper;
     exports io.github.matyrobbrt.curseforgeapi.request.async;
+    exports io.github.matyrobbrt.curseforgeapi.request.pipeline;
+    exports io.github.matyrobbrt.curseforgeapi.request.cache;
     exports io.github.matyrobbrt.curseforgeapi.schemas;
     exports io.github.matyrobbrt.curseforgeapi.schemas.file;
     exports io.github.matyrobbrt.curseforgeapi.schemas.game;
     exports io.github.matyrobbrt.curseforgeapi.schemas.mod;
     exports io.github.matyrobbrt.curseforgeapi.schemas.fingerprint;
     exports io.github.matyrobbrt.curseforgeapi.util;
+    exports io.github.matyrobbrt.curseforgeapi.util.gson;
 }
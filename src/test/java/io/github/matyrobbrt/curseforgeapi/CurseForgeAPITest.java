@@ -0,0 +1,129 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.matyrobbrt.curseforgeapi.request.Method;
+import io.github.matyrobbrt.curseforgeapi.request.Request;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.RequestInterceptor;
+
+@SuppressWarnings("static-method")
+final class CurseForgeAPITest {
+
+    @Test
+    void defaultCallbackExecutorsAreNotShared() throws Exception {
+        try (final var first = CurseForgeAPI.builder().build(); final var second = CurseForgeAPI.builder().build()) {
+            assertThat(first.getCallbackExecutor()).isNotSameAs(second.getCallbackExecutor());
+        }
+    }
+
+    @Test
+    void closingShutsDownTheDefaultCallbackExecutor() throws Exception {
+        final var api = CurseForgeAPI.builder().build();
+        final var executor = (ExecutorService) api.getCallbackExecutor();
+        assertThat(executor.isShutdown()).isFalse();
+
+        api.close();
+        assertThat(executor.isShutdown()).isTrue();
+    }
+
+    @Test
+    void closingLeavesGivenExecutorsRunning() throws Exception {
+        final var executor = Executors.newSingleThreadExecutor();
+        try {
+            CurseForgeAPI.builder().callbackExecutor(executor).build().close();
+            assertThat(executor.isShutdown()).isFalse();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void blockingRequestsDecodeOnTheCallingThread() throws Exception {
+        final var server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            final var body = "{\"data\":{}}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (final var out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        // A single callback thread, which is busy running the callback sending
+        // the blocking request
+        final var callbacks = Executors.newSingleThreadExecutor(r -> new Thread(r, "single-callback"));
+        try (final var api = CurseForgeAPI.builder().apiKey("key").callbackExecutor(callbacks)
+            .addInterceptor(redirectingTo(URI.create("http://localhost:" + server.getAddress().getPort()))).build()) {
+            final var request = new Request<String>("/v1/thread", Method.GET, null, (g, j) -> "tree",
+                (g, reader) -> {
+                    reader.skipValue();
+                    return Thread.currentThread().getName();
+                });
+
+            assertThat(api.makeRequest(request).get()).isEqualTo(Thread.currentThread().getName());
+            final var fromCallback = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return api.makeRequest(request).get();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, callbacks);
+            assertThat(fromCallback.get(10, TimeUnit.SECONDS)).isEqualTo("single-callback");
+        } finally {
+            callbacks.shutdownNow();
+            server.stop(0);
+        }
+    }
+
+    private static RequestInterceptor redirectingTo(URI base) {
+        return new RequestInterceptor() {
+            @Override
+            public <T> CompletableFuture<HttpResponse<T>> intercept(Chain<T> chain) {
+                final var request = chain.request();
+                final var uri = base.resolve(request.httpRequest().uri().getRawPath());
+                return chain.proceed(request.withHttpRequest(HttpRequest.newBuilder(request.httpRequest(), (n, v) -> true).uri(uri).build()));
+            }
+        };
+    }
+}
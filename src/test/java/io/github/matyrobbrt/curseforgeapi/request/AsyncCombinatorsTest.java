@@ -0,0 +1,166 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest.BatchRequestException;
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest.FailureMode;
+
+@SuppressWarnings("static-method")
+final class AsyncCombinatorsTest {
+
+    @Test
+    void mapFailuresAreReportedWithoutASuccessCallback() {
+        final var future = new CompletableFuture<String>();
+        final var failure = new CompletableFuture<Throwable>();
+        AsyncRequest.fromStage(future).map(String::length).map(length -> {
+            throw new IllegalStateException("length " + length);
+        }).queue(null, failure::complete);
+
+        future.complete("abc");
+        assertThat(failure.getNow(null)).isInstanceOf(IllegalStateException.class).hasMessage("length 3");
+    }
+
+    @Test
+    void allOfJoinsInIterationOrder() {
+        final var futures = futures(3);
+        final var all = AsyncRequest.allOf(requests(futures)).toCompletableFuture();
+        futures.get(2).complete("c");
+        futures.get(0).complete("a");
+        assertThat(all).isNotDone();
+        futures.get(1).complete("b");
+        assertThat(all.join()).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void allOfFailsFastAndCancelsTheRest() {
+        final var futures = futures(3);
+        final var all = AsyncRequest.allOf(requests(futures)).toCompletableFuture();
+        futures.get(1).completeExceptionally(new IllegalStateException("failed"));
+        assertThatThrownBy(all::join).isInstanceOf(CompletionException.class)
+            .hasRootCauseInstanceOf(IllegalStateException.class);
+        assertThat(futures.get(0)).isCancelled();
+        assertThat(futures.get(2)).isCancelled();
+    }
+
+    @Test
+    void allOfCanCollectErrors() {
+        final var futures = futures(3);
+        final var all = AsyncRequest.allOf(requests(futures), FailureMode.COLLECT_ERRORS, Runnable::run)
+            .toCompletableFuture();
+        futures.get(1).completeExceptionally(new IllegalStateException("failed"));
+        futures.get(0).complete("a");
+        assertThat(all).isNotDone();
+        futures.get(2).complete("c");
+
+        assertThatThrownBy(all::join).hasCauseInstanceOf(BatchRequestException.class).satisfies(e -> {
+            final var batch = (BatchRequestException) e.getCause();
+            assertThat(batch.getResults()).isEqualTo(Arrays.asList("a", null, "c"));
+            assertThat(batch.getFailures().get(1)).isInstanceOf(IllegalStateException.class);
+        });
+    }
+
+    @Test
+    void allOfEmptyCompletesImmediately() {
+        assertThat(AsyncRequest.<String>allOf(List.of()).toCompletableFuture().join()).isEmpty();
+    }
+
+    @Test
+    void anyOfCompletesWithTheFirstSuccess() {
+        final var futures = futures(3);
+        final var any = AsyncRequest.anyOf(requests(futures)).toCompletableFuture();
+        futures.get(0).completeExceptionally(new IllegalStateException());
+        assertThat(any).isNotDone();
+        futures.get(2).complete("c");
+        assertThat(any.join()).isEqualTo("c");
+        assertThat(futures.get(1)).isCancelled();
+    }
+
+    @Test
+    void anyOfFailsOnceEveryRequestFailed() {
+        final var futures = futures(2);
+        final var any = AsyncRequest.anyOf(requests(futures)).toCompletableFuture();
+        futures.forEach(f -> f.completeExceptionally(new IllegalStateException()));
+        assertThatThrownBy(any::join).hasCauseInstanceOf(BatchRequestException.class);
+    }
+
+    @Test
+    void traverseBoundsTheRequestsInFlight() {
+        final var started = new ArrayList<CompletableFuture<Integer>>();
+        final var traversed = AsyncRequest.traverse(IntStream.range(0, 10).boxed().toList(), i -> {
+            final var future = new CompletableFuture<Integer>();
+            started.add(future);
+            return AsyncRequest.fromStage(future);
+        }, 3).toCompletableFuture();
+
+        for (int i = 0; i < 10; i++) {
+            final var inFlight = started.stream().filter(f -> !f.isDone()).count();
+            assertThat(inFlight).isLessThanOrEqualTo(3);
+            // Complete the most recent request first, so that the results arrive
+            // out of order
+            final var next = started.stream().filter(f -> !f.isDone()).reduce((a, b) -> b).orElseThrow();
+            next.complete(started.indexOf(next) * 10);
+        }
+        assertThat(started).hasSize(10);
+        assertThat(traversed.join()).containsExactly(0, 10, 20, 30, 40, 50, 60, 70, 80, 90);
+    }
+
+    @Test
+    void traverseStopsCreatingRequestsAfterAFailure() {
+        final var started = new ArrayList<CompletableFuture<Integer>>();
+        final var traversed = AsyncRequest.traverse(IntStream.range(0, 10).boxed().toList(), i -> {
+            final var future = new CompletableFuture<Integer>();
+            started.add(future);
+            return AsyncRequest.fromStage(future);
+        }, 2).toCompletableFuture();
+
+        started.get(0).completeExceptionally(new IllegalStateException());
+        assertThat(traversed).isCompletedExceptionally();
+        assertThat(started).hasSize(2);
+        assertThat(started.get(1)).isCancelled();
+    }
+
+    private static List<CompletableFuture<String>> futures(int count) {
+        return IntStream.range(0, count).mapToObj(i -> new CompletableFuture<String>()).toList();
+    }
+
+    private static List<AsyncRequest<String>> requests(List<CompletableFuture<String>> futures) {
+        return futures.stream().map(AsyncRequest::fromStage).toList();
+    }
+}
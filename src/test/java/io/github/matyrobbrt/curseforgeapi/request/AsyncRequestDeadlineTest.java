@@ -0,0 +1,125 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+final class AsyncRequestDeadlineTest {
+
+    @Test
+    void failsAndCancelsOnceTheTimeoutElapses() {
+        final var future = new CompletableFuture<String>();
+        final var request = AsyncRequest.fromStage(future).timeout(Duration.ofMillis(50)).toCompletableFuture();
+
+        assertThatThrownBy(() -> request.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(future).isCancelled();
+    }
+
+    @Test
+    void timeoutsRunOnTheCallbackExecutor() throws Exception {
+        final var executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "Callbacks"));
+        try {
+            final var thread = new CompletableFuture<String>();
+            AsyncRequest.fromStage(new CompletableFuture<String>(), executor).timeout(Duration.ofMillis(50))
+                .queue(null, t -> thread.complete(Thread.currentThread().getName()));
+
+            assertThat(thread.get(5, TimeUnit.SECONDS)).isEqualTo("Callbacks");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void completesBeforeTheTimeout() throws Exception {
+        final var future = new CompletableFuture<String>();
+        final var request = AsyncRequest.fromStage(future).timeout(Duration.ofSeconds(10)).toCompletableFuture();
+        future.complete("done");
+        assertThat(request.get(1, TimeUnit.SECONDS)).isEqualTo("done");
+    }
+
+    @Test
+    void earliestNestedDeadlineWins() {
+        final var future = new CompletableFuture<String>();
+        final var request = AsyncRequest.fromStage(future).timeout(Duration.ofMillis(50)).timeout(Duration.ofMinutes(1))
+            .toCompletableFuture();
+
+        assertThatThrownBy(() -> request.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void pastDeadlinesFailImmediately() {
+        final var future = new CompletableFuture<String>();
+        final var request = AsyncRequest.fromStage(future).deadline(Instant.now().minusSeconds(1)).toCompletableFuture();
+
+        assertThat(request).isCompletedExceptionally();
+        assertThat(future).isCancelled();
+    }
+
+    @Test
+    void cancellationReachesNestedRequests() {
+        final var parent = new CompletableFuture<String>();
+        final var nested = new CompletableFuture<String>();
+        final var started = new boolean[1];
+        final var request = AsyncRequest.fromStage(parent).flatMap(value -> {
+            started[0] = true;
+            return AsyncRequest.fromStage(nested);
+        }).map(String::length);
+        request.queue(null, t -> {});
+
+        parent.complete("parent");
+        assertThat(started[0]).isTrue();
+        assertThat(request.cancel()).isTrue();
+        assertThat(nested).isCancelled();
+    }
+
+    @Test
+    void cancelledChainsDoNotStartNestedRequests() {
+        final var parent = new CompletableFuture<String>();
+        final var started = new boolean[1];
+        final var request = AsyncRequest.fromStage(parent).flatMap(value -> {
+            started[0] = true;
+            return AsyncRequest.of(value);
+        });
+        request.queue(null, t -> {});
+
+        request.cancel();
+        assertThat(parent).isCancelled();
+        assertThat(started[0]).isFalse();
+    }
+}
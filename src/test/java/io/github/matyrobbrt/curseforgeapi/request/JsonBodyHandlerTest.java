@@ -0,0 +1,137 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.CurseForgeAPI;
+import io.github.matyrobbrt.curseforgeapi.util.gson.JsonUtils;
+
+@SuppressWarnings("static-method")
+final class JsonBodyHandlerTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "decoder"));
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void decodesOnTheExecutorOnceTheBytesArrive() throws Exception {
+        final var decodingThread = new CompletableFuture<String>();
+        final var handler = new JsonBodyHandler<String>(CurseForgeAPI.DEFAULT_GSON, (g, reader) -> {
+            decodingThread.complete(Thread.currentThread().getName());
+            return JsonUtils.readPath(reader, new String[] {
+                "data"
+            }, g.getAdapter(String.class));
+        }, "key", executor);
+        final var subscriber = subscribe(handler, 200);
+
+        // The body stage must be available before any bytes are received
+        final var body = subscriber.getBody().toCompletableFuture();
+        assertThat(body).isNotDone();
+
+        subscriber.onNext(List.of(ByteBuffer.wrap("{\"data\":\"value\"}".getBytes(StandardCharsets.UTF_8))));
+        subscriber.onComplete();
+
+        assertThat(body.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(decodingThread.getNow(null)).isEqualTo("decoder");
+    }
+
+    @Test
+    void decodesEmptyBodiesAsNull() throws Exception {
+        final var subscriber = subscribe(JsonBodyHandler.ofTree(CurseForgeAPI.DEFAULT_GSON, executor), 200);
+        final var body = subscriber.getBody().toCompletableFuture();
+        subscriber.onComplete();
+        assertThat(body.get(5, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    void discardsBodiesOfNotFoundResponses() throws Exception {
+        final var subscriber = subscribe(JsonBodyHandler.ofTree(CurseForgeAPI.DEFAULT_GSON, executor), 404);
+        subscriber.onNext(List.of(ByteBuffer.wrap("{\"error\":1}".getBytes(StandardCharsets.UTF_8))));
+        subscriber.onComplete();
+        assertThat(subscriber.getBody().toCompletableFuture().get(5, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    void handlersWithEqualKeysAreEqual() {
+        final var gson = CurseForgeAPI.DEFAULT_GSON;
+        assertThat(JsonBodyHandler.of(gson, Requests.getMod(1), executor))
+            .isEqualTo(JsonBodyHandler.of(gson, Requests.getMod(2)))
+            .isNotEqualTo(JsonBodyHandler.of(gson, Requests.getFiles(1)));
+    }
+
+    private static <T> BodySubscriber<T> subscribe(BodyHandler<T> handler, int statusCode) {
+        final BodySubscriber<T> subscriber = handler.apply(new ResponseInfo() {
+            @Override
+            public int statusCode() {
+                return statusCode;
+            }
+
+            @Override
+            public HttpHeaders headers() {
+                return HttpHeaders.of(Map.of("Content-Type", List.of("application/json; charset=utf-8")), (a, b) -> true);
+            }
+
+            @Override
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_1_1;
+            }
+        });
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        return subscriber;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.matyrobbrt.curseforgeapi.request.JsonBodyHandler;
+import io.github.matyrobbrt.curseforgeapi.request.Method;
+import io.github.matyrobbrt.curseforgeapi.request.Response.Freshness;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.PipelineRequest;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.PipelineRequest.Target;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.RequestPipeline;
+import io.github.matyrobbrt.curseforgeapi.testing.FakeHttp;
+
+@SuppressWarnings("static-method")
+final class DiskCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void servesResponsesStoredByAPreviousRun() throws Exception {
+        final var server = FakeHttp.Server.decoding(200, "{\"data\":1}", "ETag", "\"1\"");
+        try (final var cache = DiskCache.builder(directory).build()) {
+            FakeHttp.pipeline(server, cache).send(FakeHttp.get("/v1/mods/1"));
+        }
+        try (final var cache = DiskCache.builder(directory).build()) {
+            final var response = FakeHttp.pipeline(server, cache).send(FakeHttp.get("/v1/mods/1"));
+            assertThat(response.body()).isEqualTo("{\"data\":1}");
+            assertThat(response.headers().firstValue("ETag")).hasValue("\"1\"");
+            assertThat(CachedHttpResponse.freshnessOf(response)).isEqualTo(Freshness.FRESH);
+            assertThat(cache.stats().hitCount()).isOne();
+        }
+        assertThat(server.requestCount()).isOne();
+    }
+
+    @Test
+    void hitsAreDecodedWithoutBlocking() throws Exception {
+        final var server = FakeHttp.Server.decoding(200, "body");
+        try (final var cache = DiskCache.builder(directory).build()) {
+            FakeHttp.pipeline(server, cache).send(FakeHttp.get("/v1/mods/1"));
+        }
+        final var decoder = new ConcurrentLinkedQueue<Runnable>();
+        try (final var cache = DiskCache.builder(directory).build()) {
+            final var request = FakeHttp.get("/v1/mods/1").withBodyHandler(new DeferredBodyHandler(decoder));
+            final var response = FakeHttp.pipeline(server, cache).sendAsync(request);
+            assertThat(response).isNotDone();
+
+            decoder.forEach(Runnable::run);
+            assertThat(response.join().body()).isEqualTo("body");
+        }
+        assertThat(server.requestCount()).isOne();
+    }
+
+    @Test
+    void lateEndOfStreamDoesNotHangTheResponse() throws Exception {
+        // The JSON value is complete long before the last (empty) chunk is sent
+        final var server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (final var out = exchange.getResponseBody()) {
+                out.write("{\"data\":7}".getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                Thread.sleep(300);
+                out.write("   ".getBytes(StandardCharsets.UTF_8));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+        final var decoding = Executors.newSingleThreadExecutor();
+        try (final var cache = DiskCache.builder(directory).build()) {
+            final var handler = new JsonBodyHandler<Integer>(new Gson(), (g, reader) -> {
+                // Only read the value, leaving the end of the object unread
+                reader.beginObject();
+                reader.nextName();
+                return reader.nextInt();
+            }, "data", decoding);
+            final var request = new PipelineRequest<>(Target.API, Method.GET, "/v1/mods/1", null,
+                HttpRequest.newBuilder(URI.create("http://localhost:" + server.getAddress().getPort() + "/v1/mods/1")).build(),
+                handler);
+            final var pipeline = new RequestPipeline(HttpClient.newHttpClient(), List.of(cache));
+
+            assertThat(pipeline.sendAsync(request).get(10, TimeUnit.SECONDS).body()).isEqualTo(7);
+            // The whole body was received, so it is stored
+            for (int i = 0; i < 100 && cache.size() == 0; i++) {
+                Thread.sleep(10);
+            }
+            assertThat(cache.size()).isOne();
+        } finally {
+            decoding.shutdownNow();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void bodiesReadPartiallyAreNotKept() throws Exception {
+        final var tee = new TeeBodyHandler<>(responseInfo -> new BodySubscriber<String>() {
+            private final CompletableFuture<String> body = new CompletableFuture<>();
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+            }
+
+            @Override
+            public void onNext(List<ByteBuffer> item) {
+                // Stop reading after the first bytes, like a decoder closing its stream
+                subscription.cancel();
+                body.complete("partial");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                body.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                body.complete("complete");
+            }
+
+            @Override
+            public CompletionStage<String> getBody() {
+                return body;
+            }
+        }, 1024);
+        final var subscriber = tee.apply(new ResponseInfo() {
+            @Override
+            public int statusCode() {
+                return 200;
+            }
+
+            @Override
+            public HttpHeaders headers() {
+                return HttpHeaders.of(Map.of(), (name, value) -> true);
+            }
+
+            @Override
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_1_1;
+            }
+        });
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {}
+
+            @Override
+            public void cancel() {}
+        });
+        subscriber.onNext(List.of(ByteBuffer.wrap("{\"da".getBytes(StandardCharsets.UTF_8))));
+
+        // The body completes without the end of the stream, but its copy is incomplete
+        assertThat(subscriber.getBody().toCompletableFuture().getNow(null)).isEqualTo("partial");
+        assertThat(tee.bytes()).isNull();
+    }
+
+    /**
+     * A body handler which completes the body once the tasks queued in the
+     * {@code decoder} are run.
+     */
+    private record DeferredBodyHandler(ConcurrentLinkedQueue<Runnable> decoder) implements BodyHandler<String> {
+
+        @Override
+        public BodySubscriber<String> apply(ResponseInfo responseInfo) {
+            final var delegate = BodyHandlers.ofString().apply(responseInfo);
+            return new BodySubscriber<>() {
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    delegate.onSubscribe(subscription);
+                }
+
+                @Override
+                public void onNext(List<ByteBuffer> item) {
+                    delegate.onNext(item);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    delegate.onError(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    delegate.onComplete();
+                }
+
+                @Override
+                public CompletionStage<String> getBody() {
+                    return delegate.getBody().thenApplyAsync(Function.identity(), decoder::add);
+                }
+            };
+        }
+    }
+}
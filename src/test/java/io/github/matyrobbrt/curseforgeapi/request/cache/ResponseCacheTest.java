@@ -0,0 +1,145 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.http.HttpResponse.BodySubscriber;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.Response.Freshness;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.CoalescingInterceptor;
+import io.github.matyrobbrt.curseforgeapi.testing.FakeHttp;
+
+@SuppressWarnings("static-method")
+final class ResponseCacheTest {
+
+    private static final String BODY = "{\"data\":\"caf\u00e9\"}";
+
+    @Test
+    void servesCachedResponses() {
+        final var server = FakeHttp.Server.decoding(200, BODY);
+        final var cache = ResponseCache.builder().build();
+        final var pipeline = FakeHttp.pipeline(server, cache);
+
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/1")).join();
+        final var cached = pipeline.sendAsync(FakeHttp.get("/v1/mods/1")).join();
+        assertThat(cached.body()).isEqualTo(BODY);
+        assertThat(CachedHttpResponse.freshnessOf(cached)).isEqualTo(Freshness.FRESH);
+        assertThat(server.requestCount()).isOne();
+        assertThat(cache.stats().hitCount()).isOne();
+        assertThat(cache.stats().missCount()).isOne();
+    }
+
+    @Test
+    void weighsResponsesByTheirBodyBytes() {
+        final var cache = ResponseCache.builder().build();
+        final var pipeline = FakeHttp.pipeline(FakeHttp.Server.decoding(200, BODY, "Content-Length", "1"), cache);
+
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/1")).join();
+        assertThat(cache.weight()).isEqualTo(BODY.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void doesNotCacheUncacheableResponses() {
+        final var cache = ResponseCache.builder().build();
+        FakeHttp.pipeline(FakeHttp.Server.decoding(404, ""), cache).sendAsync(FakeHttp.get("/v1/mods/1")).join();
+        FakeHttp.pipeline(FakeHttp.Server.decoding(200, BODY), cache).sendAsync(FakeHttp.get("/v1/minecraft/version")).join();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void coalescedRequestsShareTheCachedResponse() {
+        final var release = new CompletableFuture<Void>();
+        final var server = new FakeHttp.Server(request -> release.thenCompose(v -> FakeHttp.exchange(request, 200, BODY)));
+        final var cache = ResponseCache.builder().build();
+        final var pipeline = FakeHttp.pipeline(server, cache, new CoalescingInterceptor());
+
+        final var first = pipeline.sendAsync(FakeHttp.get("/v1/mods/1"));
+        final var second = pipeline.sendAsync(FakeHttp.get("/v1/mods/1"));
+        release.complete(null);
+        assertThat(first.join().body()).isEqualTo(BODY);
+        assertThat(second.join().body()).isEqualTo(BODY);
+        assertThat(server.requestCount()).isOne();
+        assertThat(cache.size()).isOne();
+        assertThat(cache.weight()).isEqualTo(BODY.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void countsBodiesDecodedBeforeTheEndOfTheStream() {
+        final var counter = new ResponseCache.CountingBodyHandler<String>(responseInfo -> new BodySubscriber<String>() {
+            private final CompletableFuture<String> body = new CompletableFuture<>();
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+            }
+
+            @Override
+            public void onNext(List<ByteBuffer> item) {
+                // Stop reading after the first bytes, like a decoder closing its stream
+                subscription.cancel();
+                body.complete(StandardCharsets.UTF_8.decode(item.get(0)).toString());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                body.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {}
+
+            @Override
+            public CompletionStage<String> getBody() {
+                return body;
+            }
+        });
+        final var subscriber = counter.apply(null);
+        subscriber.onSubscribe(new Flow.Subscription() {
+
+            @Override
+            public void request(long n) {}
+
+            @Override
+            public void cancel() {}
+        });
+        subscriber.onNext(List.of(ByteBuffer.wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+
+        assertThat(subscriber.getBody().toCompletableFuture().join()).isEqualTo(BODY);
+        assertThat(counter.bytes).isEqualTo(BODY.getBytes(StandardCharsets.UTF_8).length);
+    }
+}
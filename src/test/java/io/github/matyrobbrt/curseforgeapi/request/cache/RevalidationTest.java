@@ -0,0 +1,136 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.matyrobbrt.curseforgeapi.request.Response.Freshness;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.PipelineRequest;
+import io.github.matyrobbrt.curseforgeapi.testing.FakeHttp;
+
+@SuppressWarnings("static-method")
+final class RevalidationTest {
+
+    private static final CachePolicy EXPIRING = CachePolicy.builder().defaultTtl(Duration.ofMillis(1)).build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void expiredResponsesAreRevalidatedWithTheirETag() throws Exception {
+        final var server = new FakeHttp.Server(RevalidationTest::etagServer);
+        final var cache = ResponseCache.builder().policy(EXPIRING).build();
+        final var pipeline = FakeHttp.pipeline(server, cache);
+
+        pipeline.send(FakeHttp.get("/v1/mods/1"));
+        Thread.sleep(5);
+        final var revalidated = pipeline.send(FakeHttp.get("/v1/mods/1"));
+
+        assertThat(revalidated.statusCode()).isEqualTo(200);
+        assertThat(revalidated.body()).isEqualTo("body");
+        assertThat(CachedHttpResponse.freshnessOf(revalidated)).isEqualTo(Freshness.REVALIDATED);
+        assertThat(server.received()).element(1).extracting(PipelineRequest::isConditional).isEqualTo(true);
+        assertThat(cache.stats().revalidationCount()).isOne();
+    }
+
+    @Test
+    void lastModifiedIsSentAsIfModifiedSince() throws Exception {
+        final var date = "Wed, 21 Oct 2015 07:28:00 GMT";
+        final var server = FakeHttp.Server.decoding(200, "body", "Last-Modified", date);
+        final var pipeline = FakeHttp.pipeline(server, ResponseCache.builder().policy(EXPIRING).build());
+
+        pipeline.send(FakeHttp.get("/v1/mods/1"));
+        Thread.sleep(5);
+        pipeline.send(FakeHttp.get("/v1/mods/1"));
+
+        assertThat(server.received().get(1).httpRequest().headers().firstValue("If-Modified-Since")).hasValue(date);
+    }
+
+    @Test
+    void responsesWithoutValidatorsAreFetchedAgain() throws Exception {
+        final var server = FakeHttp.Server.decoding(200, "body");
+        final var cache = ResponseCache.builder().policy(EXPIRING).build();
+        final var pipeline = FakeHttp.pipeline(server, cache);
+
+        pipeline.send(FakeHttp.get("/v1/mods/1"));
+        Thread.sleep(5);
+        final var response = pipeline.send(FakeHttp.get("/v1/mods/1"));
+
+        assertThat(server.received()).noneMatch(PipelineRequest::isConditional);
+        assertThat(CachedHttpResponse.freshnessOf(response)).isEqualTo(Freshness.FRESH);
+        assertThat(cache.stats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void diskCacheRevalidatesStoredResponses() throws Exception {
+        final var server = new FakeHttp.Server(RevalidationTest::etagServer);
+        try (final var cache = DiskCache.builder(directory).policy(EXPIRING).build()) {
+            final var pipeline = FakeHttp.pipeline(server, cache);
+            pipeline.send(FakeHttp.get("/v1/mods/1"));
+            // Responses are stored in the background
+            for (int i = 0; i < 100 && cache.size() == 0; i++) {
+                Thread.sleep(10);
+            }
+            // Let the stored response expire
+            Thread.sleep(5);
+
+            final var revalidated = pipeline.send(FakeHttp.get("/v1/mods/1"));
+            assertThat(revalidated.body()).isEqualTo("body");
+            assertThat(CachedHttpResponse.freshnessOf(revalidated)).isEqualTo(Freshness.REVALIDATED);
+            assertThat(cache.stats().revalidationCount()).isOne();
+        }
+    }
+
+    @Test
+    void conditionalRequestsOfTheCallerAreNotCached() throws Exception {
+        final var server = FakeHttp.Server.decoding(304, "");
+        final var cache = ResponseCache.builder().policy(EXPIRING).build();
+        final var request = FakeHttp.get("/v1/mods/1");
+        final var conditional = request.withHttpRequest(HttpRequest.newBuilder(request.httpRequest(), (n, v) -> true)
+            .header("If-None-Match", "\"v1\"").build());
+
+        assertThat(FakeHttp.pipeline(server, cache).send(conditional).statusCode()).isEqualTo(304);
+        assertThat(cache.size()).isZero();
+    }
+
+    private static CompletableFuture<? extends HttpResponse<?>> etagServer(PipelineRequest<?> request) {
+        if (request.httpRequest().headers().firstValue("If-None-Match").filter("\"v1\""::equals).isPresent()) {
+            return FakeHttp.exchange(request, 304, "");
+        }
+        return FakeHttp.exchange(request, 200, "body", "ETag", "\"v1\"");
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@SuppressWarnings("static-method")
+final class SegmentStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackWhatWasPut() throws IOException {
+        try (final var store = new SegmentStore(directory, 1024)) {
+            for (int i = 0; i < 50; i++) {
+                store.put("key" + i, "meta" + i, bytes("value" + i), i);
+                // Reads interleaved with appends must see the latest records
+                assertThat(read(store, "key" + i)).isEqualTo("value" + i);
+            }
+            assertThat(store.size()).isEqualTo(50);
+            assertThat(store.get("key7")).isEqualTo(new SegmentStore.Stored("meta7", 7));
+            assertThat(read(store, "key7")).isEqualTo("value7");
+            assertThat(store.read("missing", (stored, value) -> CompletableFuture.completedFuture(value))).isNull();
+        }
+    }
+
+    @Test
+    void rebuildsTheIndexOnStartup() throws IOException {
+        try (final var store = new SegmentStore(directory, 1024)) {
+            for (int i = 0; i < 50; i++) {
+                store.put("key" + i, "", bytes("value" + i), 1);
+            }
+            store.put("key1", "", bytes("overwritten"), 2);
+            store.touch("key2", 3);
+            store.remove("key3");
+        }
+        try (final var store = new SegmentStore(directory, 1024)) {
+            assertThat(store.size()).isEqualTo(49);
+            assertThat(read(store, "key1")).isEqualTo("overwritten");
+            assertThat(store.storedAt("key2")).isEqualTo(3);
+            assertThat(store.get("key3")).isNull();
+        }
+    }
+
+    @Test
+    void directoryCannotBeSharedInTheSameJvm() throws IOException {
+        try (final var ignored = new SegmentStore(directory, 1024)) {
+            assertThatThrownBy(() -> new SegmentStore(directory, 1024)).isInstanceOf(IOException.class)
+                .hasMessageContaining("used by another process");
+        }
+        // The lock channel of the failed store was closed, so the directory can
+        // be used again
+        new SegmentStore(directory, 1024).close();
+    }
+
+    @Test
+    void compactionWaitsForReaders() throws IOException {
+        try (final var store = new SegmentStore(directory, 1024)) {
+            store.put("kept", "", bytes("kept value"), System.currentTimeMillis());
+            for (int i = 0; i < 100; i++) {
+                store.put("garbage", "", bytes("garbage " + i), System.currentTimeMillis());
+            }
+            final var firstSegment = directory.resolve("segment-00000001.dat");
+            final var reading = new CompletableFuture<Void>();
+            final var held = new ByteBuffer[1];
+            store.read("kept", (stored, value) -> {
+                held[0] = value;
+                return reading;
+            });
+
+            store.compact(Long.MAX_VALUE / 2, 0.5);
+            assertThat(Files.exists(firstSegment)).isTrue();
+            assertThat(StandardCharsets.UTF_8.decode(held[0].duplicate()).toString()).isEqualTo("kept value");
+            assertThat(read(store, "kept")).isEqualTo("kept value");
+
+            reading.complete(null);
+            assertThat(Files.exists(firstSegment)).isFalse();
+            assertThat(read(store, "kept")).isEqualTo("kept value");
+        }
+    }
+
+    @Test
+    void compactionKeepsRemovalsAndTouchesOfOlderValues() throws IOException {
+        try (final var store = new SegmentStore(directory, 1024)) {
+            store.put("removed", "", bytes("removed value"), 1);
+            store.put("touched", "", bytes("touched value"), 1);
+            for (int i = 0; !Files.exists(directory.resolve("segment-00000002.dat")); i++) {
+                store.put("kept" + i, "", bytes("kept value"), 1);
+            }
+            store.remove("removed");
+            store.touch("touched", 2);
+            for (int i = 0; !Files.exists(directory.resolve("segment-00000003.dat")); i++) {
+                store.put("garbage", "", bytes("garbage " + i), 1);
+            }
+
+            store.compact(Long.MAX_VALUE / 2, 0.5);
+            assertThat(directory.resolve("segment-00000001.dat")).exists();
+            assertThat(directory.resolve("segment-00000002.dat")).doesNotExist();
+        }
+        try (final var store = new SegmentStore(directory, 1024)) {
+            assertThat(store.get("removed")).isNull();
+            assertThat(store.storedAt("touched")).isEqualTo(2);
+            assertThat(read(store, "touched")).isEqualTo("touched value");
+        }
+    }
+
+    @Test
+    void compactionDropsRemovalsOfCompactedValues() throws IOException {
+        try (final var store = new SegmentStore(directory, 1024)) {
+            store.put("removed", "", bytes("removed value"), 1);
+            store.remove("removed");
+            for (int i = 0; !Files.exists(directory.resolve("segment-00000002.dat")); i++) {
+                store.put("garbage", "", bytes("garbage " + i), 1);
+            }
+            final var active = Files.size(directory.resolve("segment-00000002.dat"));
+
+            store.compact(Long.MAX_VALUE / 2, 0.5);
+            assertThat(directory.resolve("segment-00000001.dat")).doesNotExist();
+            // The removal is not copied, as the removed value was compacted with it
+            assertThat(Files.size(directory.resolve("segment-00000002.dat"))).isEqualTo(active);
+        }
+        try (final var store = new SegmentStore(directory, 1024)) {
+            assertThat(store.get("removed")).isNull();
+            assertThat(store.size()).isOne();
+        }
+    }
+
+    @Test
+    void rejectsSegmentsLargerThanTwoGibibytes() {
+        assertThatThrownBy(() -> new SegmentStore(directory, Integer.MAX_VALUE + 1L))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ByteBuffer bytes(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(SegmentStore store, String key) throws IOException {
+        return store.read(key, (stored, value) -> CompletableFuture.completedFuture(StandardCharsets.UTF_8.decode(value).toString()))
+            .join();
+    }
+}
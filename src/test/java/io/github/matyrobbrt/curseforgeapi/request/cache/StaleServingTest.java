@@ -0,0 +1,110 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.Response.Freshness;
+import io.github.matyrobbrt.curseforgeapi.testing.FakeHttp;
+
+@SuppressWarnings("static-method")
+final class StaleServingTest {
+
+    @Test
+    void staleResponsesAreServedWhileRevalidating() throws Exception {
+        final var version = new AtomicInteger();
+        final var refresh = new CompletableFuture<Void>();
+        final var server = new FakeHttp.Server(request -> {
+            final var body = "v" + version.incrementAndGet();
+            return version.get() == 1 ? FakeHttp.exchange(request, 200, body)
+                : refresh.thenCompose(v -> FakeHttp.exchange(request, 200, body));
+        });
+        final var cache = ResponseCache.builder().policy(CachePolicy.builder()
+            .defaultTtl(Duration.ofMillis(1))
+            .staleWhileRevalidate(Duration.ofMinutes(1))
+            .build()).build();
+        final var pipeline = FakeHttp.pipeline(server, cache);
+
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/1")).join();
+        Thread.sleep(5);
+        final var stale = pipeline.sendAsync(FakeHttp.get("/v1/mods/1")).join();
+        assertThat(stale.body()).isEqualTo("v1");
+        assertThat(CachedHttpResponse.freshnessOf(stale)).isEqualTo(Freshness.STALE);
+        assertThat(server.requestCount()).isEqualTo(2);
+
+        // Only one refresh runs at a time
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/1")).join();
+        assertThat(server.requestCount()).isEqualTo(2);
+        assertThat(cache.stats().staleCount()).isEqualTo(2);
+
+        refresh.complete(null);
+        Thread.sleep(5);
+        assertThat(pipeline.sendAsync(FakeHttp.get("/v1/mods/1")).join().body()).isEqualTo("v2");
+    }
+
+    @Test
+    void staleResponsesAreServedWhenRefreshingFails() throws Exception {
+        final var version = new AtomicInteger();
+        final var server = new FakeHttp.Server(request -> FakeHttp.exchange(request,
+            version.incrementAndGet() == 1 ? 200 : 503, "body"));
+        final var cache = ResponseCache.builder().policy(CachePolicy.builder()
+            .defaultTtl(Duration.ofMillis(1))
+            .staleIfError(Duration.ofMinutes(1))
+            .build()).build();
+        final var pipeline = FakeHttp.pipeline(server, cache);
+
+        pipeline.send(FakeHttp.get("/v1/mods/1"));
+        Thread.sleep(5);
+        final var stale = pipeline.send(FakeHttp.get("/v1/mods/1"));
+        assertThat(stale.statusCode()).isEqualTo(200);
+        assertThat(CachedHttpResponse.freshnessOf(stale)).isEqualTo(Freshness.STALE);
+        assertThat(cache.stats().staleCount()).isOne();
+    }
+
+    @Test
+    void errorsArePassedOnOutsideOfTheWindows() throws Exception {
+        final var version = new AtomicInteger();
+        final var server = new FakeHttp.Server(request -> FakeHttp.exchange(request,
+            version.incrementAndGet() == 1 ? 200 : 503, "body"));
+        final var cache = ResponseCache.builder().policy(CachePolicy.builder()
+            .defaultTtl(Duration.ofMillis(1))
+            .build()).build();
+        final var pipeline = FakeHttp.pipeline(server, cache);
+
+        pipeline.send(FakeHttp.get("/v1/mods/1"));
+        Thread.sleep(5);
+        assertThat(pipeline.send(FakeHttp.get("/v1/mods/1")).statusCode()).isEqualTo(503);
+        assertThat(cache.stats().staleCount()).isZero();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+final class WTinyLfuMapTest {
+
+    @Test
+    void staysWithinTheMaximumWeight() {
+        final var map = new WTinyLfuMap<Integer, String>(1000, 100);
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, "value", 1 + i % 50);
+            assertThat(map.weight()).isLessThanOrEqualTo(1000);
+        }
+    }
+
+    @Test
+    void frequentEntriesSurviveAScan() {
+        final var map = new WTinyLfuMap<Integer, String>(100, 100);
+        for (int i = 0; i < 50; i++) {
+            map.put(i, "hot", 1);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                map.get(i);
+            }
+        }
+        for (int i = 1000; i < 10_000; i++) {
+            map.put(i, "cold", 1);
+        }
+        var hot = 0;
+        for (int i = 0; i < 50; i++) {
+            if (map.peek(i) != null) {
+                hot++;
+            }
+        }
+        assertThat(hot).isGreaterThanOrEqualTo(45);
+    }
+
+    @Test
+    void heavierReplacementsEvict() {
+        final var map = new WTinyLfuMap<Integer, String>(100, 100);
+        for (int i = 0; i < 10; i++) {
+            map.put(i, "small", 10);
+        }
+        assertThat(map.weight()).isEqualTo(100);
+
+        map.put(5, "large", 60);
+        assertThat(map.weight()).isLessThanOrEqualTo(100);
+        assertThat(map.peek(5)).isEqualTo("large");
+    }
+
+    @Test
+    void valuesHeavierThanTheMaximumAreNotStored() {
+        final var map = new WTinyLfuMap<Integer, String>(100, 100);
+        map.put(1, "too large", 101);
+        assertThat(map.size()).isZero();
+
+        map.put(2, "small", 10);
+        map.put(2, "too large", 101);
+        assertThat(map.peek(2)).isNull();
+        assertThat(map.weight()).isZero();
+    }
+
+    @Test
+    void sketchCountsAndAges() {
+        final var sketch = new FrequencySketch(16);
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("key");
+        }
+        assertThat(sketch.frequency("key")).isEqualTo(15);
+        assertThat(sketch.frequency("other")).isLessThan(15);
+
+        // Reaching the sample size halves every counter
+        for (int i = 0; sketch.frequency("key") == 15 && i < 1000; i++) {
+            sketch.increment(i);
+        }
+        assertThat(sketch.frequency("key")).isEqualTo(7);
+    }
+}
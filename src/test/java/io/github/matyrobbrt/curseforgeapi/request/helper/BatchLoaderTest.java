@@ -0,0 +1,174 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.Response;
+
+@SuppressWarnings("static-method")
+final class BatchLoaderTest {
+
+    private static final Duration LONG_WINDOW = Duration.ofMinutes(1);
+    private static final Executor DIRECT = Runnable::run;
+
+    /**
+     * The keys of every bulk request sent by the loader.
+     */
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+    private final List<String> fetchingThreads = new CopyOnWriteArrayList<>();
+
+    /**
+     * Makes a loader whose bulk requests answer with the value {@code "v<key>"}
+     * for every key but those in {@code missing}.
+     */
+    private BatchLoader<Integer, String> loader(Executor callbackExecutor, Duration window, int maxBatchSize, Integer... missing) {
+        final var missingKeys = List.of(missing);
+        return new BatchLoader<>(keys -> {
+            batches.add(keys);
+            fetchingThreads.add(Thread.currentThread().getName());
+            return AsyncRequest.of(Response.of(keys.stream().filter(k -> !missingKeys.contains(k)).map(k -> "v" + k).toList(), 200));
+        }, value -> Integer.parseInt(value.substring(1)), callbackExecutor, window, maxBatchSize);
+    }
+
+    @Test
+    void duplicateKeysAreRequestedOnce() {
+        final var loader = loader(DIRECT, LONG_WINDOW, 10);
+        final var first = loader.load(1).toCompletableFuture();
+        final var second = loader.load(1).toCompletableFuture();
+        final var other = loader.load(2).toCompletableFuture();
+        loader.flush();
+
+        assertThat(batches).containsExactly(List.of(1, 2));
+        assertThat(first.join().get()).isEqualTo("v1");
+        assertThat(second.join().get()).isEqualTo("v1");
+        assertThat(other.join().get()).isEqualTo("v2");
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaitingForTheWindow() {
+        final var loader = loader(DIRECT, LONG_WINDOW, 2);
+        final var first = loader.load(1).toCompletableFuture();
+        final var second = loader.load(2).toCompletableFuture();
+        final var third = loader.load(3).toCompletableFuture();
+
+        assertThat(batches).containsExactly(List.of(1, 2));
+        assertThat(first.join().get()).isEqualTo("v1");
+        assertThat(second.join().get()).isEqualTo("v2");
+        assertThat(third).isNotDone();
+
+        loader.flush();
+        assertThat(batches).containsExactly(List.of(1, 2), List.of(3));
+        assertThat(third.join().get()).isEqualTo("v3");
+    }
+
+    @Test
+    void windowFlushRunsOnTheCallbackExecutor() throws Exception {
+        final var callbackExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "batch-callbacks"));
+        try {
+            final var loader = loader(callbackExecutor, Duration.ofMillis(20), 10);
+            final var first = loader.load(1).toCompletableFuture();
+            final var second = loader.load(2).toCompletableFuture();
+
+            assertThat(first.get(5, TimeUnit.SECONDS).get()).isEqualTo("v1");
+            assertThat(second.get(5, TimeUnit.SECONDS).get()).isEqualTo("v2");
+            assertThat(batches).containsExactly(List.of(1, 2));
+            assertThat(fetchingThreads).containsExactly("batch-callbacks");
+        } finally {
+            callbackExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void missingKeysCompleteWithNotFound() {
+        final var loader = loader(DIRECT, LONG_WINDOW, 10, 2);
+        final var present = loader.load(1).toCompletableFuture();
+        final var missing = loader.load(2).toCompletableFuture();
+        loader.flush();
+
+        assertThat(present.join().get()).isEqualTo("v1");
+        assertThat(missing.join().isEmpty()).isTrue();
+        assertThat(missing.join().getStatusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void unsuccessfulBulkRequestCompletesEveryKeyWithItsStatus() {
+        final var loader = new BatchLoader<Integer, String>(keys -> AsyncRequest.of(Response.empty(503)),
+            value -> 0, DIRECT, LONG_WINDOW, 10);
+        final var first = loader.load(1).toCompletableFuture();
+        final var second = loader.load(2).toCompletableFuture();
+        loader.flush();
+
+        assertThat(first.join().getStatusCode()).isEqualTo(503);
+        assertThat(second.join().isEmpty()).isTrue();
+    }
+
+    @Test
+    void failedBulkRequestFailsEveryKey() {
+        final var failure = new IllegalStateException("boom");
+        final var loader = new BatchLoader<Integer, String>(keys -> AsyncRequest.fromStage(CompletableFuture.failedFuture(failure)),
+            value -> 0, DIRECT, LONG_WINDOW, 10);
+        final var first = loader.load(1).toCompletableFuture();
+        final var second = loader.load(2).toCompletableFuture();
+        loader.flush();
+
+        assertThatThrownBy(first::get).isInstanceOf(ExecutionException.class).hasCause(failure);
+        assertThatThrownBy(second::get).isInstanceOf(ExecutionException.class).hasCause(failure);
+    }
+
+    @Test
+    void cancellingOneCallerDoesNotCancelTheOthers() {
+        final var loader = loader(DIRECT, LONG_WINDOW, 10);
+        final var cancelled = loader.load(1).toCompletableFuture();
+        final var other = loader.load(1).toCompletableFuture();
+        cancelled.cancel(true);
+        loader.flush();
+
+        assertThat(cancelled).isCancelled();
+        assertThat(other.join().get()).isEqualTo("v1");
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThatThrownBy(() -> loader(DIRECT, Duration.ZERO, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> loader(DIRECT, LONG_WINDOW, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
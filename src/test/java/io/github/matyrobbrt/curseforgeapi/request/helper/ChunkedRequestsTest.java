@@ -0,0 +1,141 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.Response;
+import io.github.matyrobbrt.curseforgeapi.schemas.fingerprint.FingerprintsMatchesResult;
+
+@SuppressWarnings("static-method")
+final class ChunkedRequestsTest {
+
+    @Test
+    void chunksSkipDuplicatesAndKeepTheOrder() {
+        final var chunks = ChunkedRequests.chunks(new int[] {
+            5, 3, 5, 1, 3, 9, 7
+        }, 2);
+
+        assertThat(chunks).hasSize(3);
+        assertThat(chunks.get(0)).containsExactly(5, 3);
+        assertThat(chunks.get(1)).containsExactly(1, 9);
+        assertThat(chunks.get(2)).containsExactly(7);
+
+        final var longChunks = ChunkedRequests.chunks(new long[] {
+            10L, 20L, 10L, 30L
+        }, 5);
+        assertThat(longChunks).hasSize(1);
+        assertThat(longChunks.get(0)).containsExactly(10L, 20L, 30L);
+    }
+
+    @Test
+    void chunksRejectNonPositiveSizes() {
+        assertThatThrownBy(() -> ChunkedRequests.chunks(new int[] {
+            1
+        }, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(ChunkedRequests.chunks(new int[0], 3)).isEmpty();
+    }
+
+    @Test
+    void sendLimitsTheChunksInFlight() {
+        final var chunks = IntStream.range(0, 5).boxed().toList();
+        final var inFlight = new ArrayList<CompletableFuture<Response<Integer>>>();
+        final var request = ChunkedRequests.send(chunks, chunk -> {
+            final var future = new CompletableFuture<Response<Integer>>();
+            synchronized (inFlight) {
+                inFlight.add(future);
+            }
+            return AsyncRequest.fromStage(future, Runnable::run);
+        }, 2, values -> values.stream().mapToInt(Integer::intValue).sum()).toCompletableFuture();
+
+        assertThat(inFlight).hasSize(2);
+        for (int i = 0; i < chunks.size(); i++) {
+            final CompletableFuture<Response<Integer>> next;
+            synchronized (inFlight) {
+                assertThat(inFlight.stream().filter(f -> !f.isDone()).count()).isLessThanOrEqualTo(2);
+                next = inFlight.get(i);
+            }
+            next.complete(Response.of(i * 10, 200));
+        }
+
+        assertThat(inFlight).hasSize(5);
+        assertThat(request.join().get()).isEqualTo(100);
+        assertThat(request.join().getStatusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void sendFailsWithTheFirstUnsuccessfulChunk() {
+        final var request = ChunkedRequests.send(List.of(200, 429, 503),
+            status -> AsyncRequest.of(status == 200 ? Response.of("ok", status) : Response.<String>empty(status)), 3,
+            values -> String.join(",", values));
+
+        final var response = request.toCompletableFuture().join();
+        assertThat(response.isEmpty()).isTrue();
+        assertThat(response.getStatusCode()).isEqualTo(429);
+    }
+
+    @Test
+    void inOrderFollowsTheRequestedIds() {
+        final var chunks = List.of(new int[] {
+            3, 1
+        }, new int[] {
+            4, 2
+        });
+        // Chunk results may be returned in any order, and may lack some of the ids
+        final var results = List.of(List.of("1", "3"), List.of("2"));
+
+        assertThat(ChunkedRequests.inOrder(chunks, results, Integer::parseInt)).containsExactly("3", "1", "2");
+    }
+
+    @Test
+    void mergeFingerprintsConcatenatesInChunkOrder() {
+        final var first = new FingerprintsMatchesResult(true, List.of(), List.of(1), List.of(), Map.of("1", List.of(11)),
+            List.of(), List.of(1, 2), null);
+        final var second = new FingerprintsMatchesResult(false, List.of(), List.of(3), List.of(), Map.of("3", List.of(33)),
+            List.of(), List.of(3), List.of(4));
+
+        final var merged = ChunkedRequests.mergeFingerprints(List.of(first, second));
+        assertThat(merged.isCacheBuilt()).isFalse();
+        assertThat(merged.exactFingerprints()).containsExactly(1, 3);
+        assertThat(merged.installedFingerprints()).containsExactly(1, 2, 3);
+        assertThat(merged.unmatchedFingerprints()).containsExactly(4);
+        assertThat(merged.partialMatchFingerprints()).isEqualTo(Map.of("1", List.of(11), "3", List.of(33)));
+
+        assertThat(ChunkedRequests.mergeFingerprints(List.of(first))).isSameAs(first);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.AsyncRequest;
+import io.github.matyrobbrt.curseforgeapi.request.Response;
+import io.github.matyrobbrt.curseforgeapi.request.query.PaginationQuery;
+import io.github.matyrobbrt.curseforgeapi.schemas.PaginatedData;
+import io.github.matyrobbrt.curseforgeapi.schemas.Pagination;
+
+@SuppressWarnings("static-method")
+final class PaginatedPublisherTest {
+
+    private static final Pattern INDEX = Pattern.compile("index=(\\d+)");
+    private static final int PAGE_SIZE = 10;
+    private static final int TOTAL = 45;
+
+    /**
+     * The pages requested by the publisher, by index.
+     */
+    private final Map<Integer, CompletableFuture<Response<PaginatedData<List<Integer>>>>> pages = new TreeMap<>();
+    private final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+    @Test
+    void pagesAreOnlyRequestedOnDemand() {
+        publisher(4).subscribe(subscriber);
+        assertThat(pages).isEmpty();
+
+        subscriber.subscription.request(5);
+        assertThat(pages).containsOnlyKeys(0);
+
+        complete(0);
+        assertThat(subscriber.items).containsExactly(0, 1, 2, 3, 4);
+        // The rest of the page covers the next requests
+        subscriber.subscription.request(5);
+        assertThat(pages).containsOnlyKeys(0);
+        assertThat(subscriber.items).hasSize(10);
+    }
+
+    @Test
+    void atMostMaxPagesAreInFlight() {
+        publisher(2).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertThat(pages).containsOnlyKeys(0, 10);
+
+        complete(0);
+        assertThat(pages).containsOnlyKeys(0, 10, 20);
+    }
+
+    @Test
+    void outOfOrderPagesAreEmittedInOrder() {
+        publisher(5).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertThat(pages).containsOnlyKeys(0, 10, 20, 30, 40);
+
+        complete(40);
+        complete(20);
+        complete(10);
+        assertThat(subscriber.items).isEmpty();
+        complete(0);
+        complete(30);
+        assertThat(subscriber.items).containsExactlyElementsOf(IntStream.range(0, TOTAL).boxed().toList());
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    void nonPositiveRequestsSignalAnError() {
+        publisher(1).subscribe(subscriber);
+        subscriber.subscription.request(0);
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+        assertThat(pages).isEmpty();
+    }
+
+    @Test
+    void cancelStopsThePagesInFlight() {
+        publisher(3).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.subscription.cancel();
+        assertThat(pages.values()).allMatch(CompletableFuture::isCancelled);
+
+        subscriber.subscription.request(10);
+        assertThat(pages).hasSize(3);
+        assertThat(subscriber.items).isEmpty();
+        assertThat(subscriber.completed).isFalse();
+        assertThat(subscriber.error).isNull();
+    }
+
+    private PaginatedPublisher<List<Integer>, Integer> publisher(int maxPagesInFlight) {
+        return new PaginatedPublisher<>(query -> {
+            final var matcher = INDEX.matcher(query.toArgs().build());
+            matcher.find();
+            final var future = new CompletableFuture<Response<PaginatedData<List<Integer>>>>();
+            pages.put(Integer.parseInt(matcher.group(1)), future);
+            return AsyncRequest.fromStage(future);
+        }, Function.identity(), PAGE_SIZE, maxPagesInFlight);
+    }
+
+    private void complete(int index) {
+        final var items = IntStream.range(index, Math.min(index + PAGE_SIZE, TOTAL)).boxed().toList();
+        pages.get(index).complete(Response.of(new PaginatedData<>(items,
+            new Pagination(index, PAGE_SIZE, items.size(), TOTAL)), 200));
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<Integer> {
+        final List<Integer> items = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.reflect.TypeToken;
+
+import io.github.matyrobbrt.curseforgeapi.CurseForgeAPI;
+import io.github.matyrobbrt.curseforgeapi.annotation.Nullable;
+import io.github.matyrobbrt.curseforgeapi.request.Method;
+import io.github.matyrobbrt.curseforgeapi.request.Request;
+import io.github.matyrobbrt.curseforgeapi.request.Requests;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.PipelineRequest;
+import io.github.matyrobbrt.curseforgeapi.request.query.PaginationQuery;
+import io.github.matyrobbrt.curseforgeapi.schemas.PaginatedData;
+import io.github.matyrobbrt.curseforgeapi.testing.FakeHttp;
+import io.github.matyrobbrt.curseforgeapi.testing.FakeHttp.Server;
+
+@SuppressWarnings("static-method")
+final class RequestHelperTest {
+
+    private static final Pattern INDEX = Pattern.compile("index=(\\d+)");
+    private static final Type INT_LIST = new TypeToken<List<Integer>>() {}.getType();
+    private static final Function<PaginationQuery, Request<PaginatedData<List<Integer>>>> REQUESTER = q -> new Request<>(
+        Requests.format("/v1/numbers", q.toArgs()), Method.GET, null,
+        (g, j) -> PaginatedData.fromJson(g, j, INT_LIST), (g, r) -> PaginatedData.fromJson(g, r, INT_LIST));
+
+    @Test
+    void readAheadWithUnknownTotalReusesTheFirstPage() throws Exception {
+        final var server = numbers(120, null);
+        final var iterator = helper(server).paginated(REQUESTER, Function.identity(), 4).orElseThrow();
+
+        final var items = new ArrayList<Integer>();
+        iterator.forEachRemaining(items::add);
+
+        assertThat(items).isEqualTo(range(120));
+        assertThat(indices(server)).containsExactly(0, 50, 100, 120);
+    }
+
+    @Test
+    void unknownTotalEndsOnTheFirstEmptyPage() throws Exception {
+        final var server = numbers(100, null);
+        final var iterator = helper(server).paginated(REQUESTER, Function.identity(), 2).orElseThrow();
+
+        final var items = new ArrayList<Integer>();
+        iterator.forEachRemaining(items::add);
+
+        assertThat(items).isEqualTo(range(100));
+        assertThat(iterator.hasNext()).isFalse();
+        assertThat(indices(server)).containsExactly(0, 50, 100);
+    }
+
+    @Test
+    void streamCollectsEveryPage() throws Exception {
+        final var server = numbers(120, 120);
+
+        assertThat(helper(server).stream(REQUESTER, Function.identity()).toList()).isEqualTo(range(120));
+        assertThat(indices(server)).containsExactly(0, 50, 100);
+    }
+
+    @Test
+    void parallelStreamKeepsTheEncounterOrder() throws Exception {
+        final var server = numbers(420, 420);
+
+        assertThat(helper(server).stream(REQUESTER, Function.identity()).parallel().toList()).isEqualTo(range(420));
+        assertThat(indices(server)).containsExactlyInAnyOrder(0, 50, 100, 150, 200, 250, 300, 350, 400);
+    }
+
+    @Test
+    void streamToleratesAnOverestimatedTotal() throws Exception {
+        final var server = numbers(110, 130);
+        final var stream = helper(server).stream(REQUESTER, Function.identity());
+
+        assertThat(stream.spliterator().hasCharacteristics(Spliterator.SIZED)).isFalse();
+        assertThat(helper(server).stream(REQUESTER, Function.identity()).toList()).isEqualTo(range(110));
+        assertThat(helper(server).stream(REQUESTER, Function.identity()).toArray()).hasSize(110);
+    }
+
+    @Test
+    void streamWithUnknownTotalReusesTheFirstPage() throws Exception {
+        final var server = numbers(70, null);
+
+        assertThat(helper(server).stream(REQUESTER, Function.identity()).toList()).isEqualTo(range(70));
+        assertThat(indices(server)).containsExactly(0, 50, 70);
+    }
+
+    private static RequestHelper helper(Server server) throws Exception {
+        return new RequestHelper(CurseForgeAPI.builder().apiKey("key").addInterceptor(server).build());
+    }
+
+    /**
+     * Makes a server listing the numbers up to {@code total}, 50 per page, and
+     * reporting the {@code reportedTotal} as the total count.
+     */
+    static Server numbers(int total, @Nullable Integer reportedTotal) {
+        final IntFunction<String> page = index -> {
+            final var data = IntStream.range(Math.min(index, total), Math.min(index + 50, total))
+                .mapToObj(String::valueOf).collect(Collectors.joining(","));
+            final var count = Math.max(0, Math.min(50, total - index));
+            return "{\"data\":[%s],\"pagination\":{\"index\":%s,\"pageSize\":50,\"resultCount\":%s,\"totalCount\":%s}}"
+                .formatted(data, index, count, reportedTotal);
+        };
+        return new Server(request -> isListing(request)
+            ? FakeHttp.exchange(request, 200, page.apply(index(request.httpRequest().uri().getQuery())))
+            // The API key check
+            : FakeHttp.exchange(request, 200, "{\"data\":{}}"));
+    }
+
+    static List<Integer> indices(Server server) {
+        return server.received().stream().filter(RequestHelperTest::isListing).map(r -> index(r.httpRequest().uri().getQuery())).toList();
+    }
+
+    static List<Integer> range(int total) {
+        return IntStream.range(0, total).boxed().toList();
+    }
+
+    private static boolean isListing(PipelineRequest<?> request) {
+        return request.httpRequest().uri().getPath().endsWith("/numbers");
+    }
+
+    private static int index(String query) {
+        final Matcher matcher = INDEX.matcher(query);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.Method;
+import io.github.matyrobbrt.curseforgeapi.testing.FakeHttp;
+
+@SuppressWarnings("static-method")
+final class CoalescingInterceptorTest {
+
+    private final List<CompletableFuture<HttpResponse<?>>> responses = new CopyOnWriteArrayList<>();
+    private final FakeHttp.Server server = new FakeHttp.Server(request -> {
+        final var future = new CompletableFuture<HttpResponse<?>>();
+        responses.add(future);
+        return future;
+    });
+    private final CoalescingInterceptor coalescing = new CoalescingInterceptor();
+    private final RequestPipeline pipeline = FakeHttp.pipeline(server, coalescing);
+
+    @Test
+    void identicalRequestsShareAnExchange() {
+        final var first = pipeline.sendAsync(FakeHttp.get("/v1/mods/1"));
+        final var second = pipeline.sendAsync(FakeHttp.get("/v1/mods/1"));
+        assertThat(server.requestCount()).isOne();
+        assertThat(coalescing.getInFlight()).isOne();
+
+        final var response = respond(0);
+        assertThat(first.join()).isSameAs(response);
+        assertThat(second.join()).isSameAs(response);
+        assertThat(coalescing.getInFlight()).isZero();
+    }
+
+    @Test
+    void responsesAreNotReusedOnceComplete() {
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/1"));
+        respond(0);
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/1"));
+        assertThat(server.requestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void distinctRequestsAreNotCoalesced() {
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/1"));
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/2"));
+        assertThat(server.requestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void nonIdempotentRequestsAreNotCoalesced() {
+        pipeline.sendAsync(FakeHttp.request(Method.POST, "/v1/mods/search", "{}"));
+        pipeline.sendAsync(FakeHttp.request(Method.POST, "/v1/mods/search", "{}"));
+        assertThat(server.requestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void cancellingOneCallerDoesNotAffectTheOthers() {
+        final var cancelled = pipeline.sendAsync(FakeHttp.get("/v1/mods/1"));
+        final var other = pipeline.sendAsync(FakeHttp.get("/v1/mods/1"));
+        cancelled.cancel(true);
+        assertThat(responses.get(0)).isNotCancelled();
+
+        final var response = respond(0);
+        assertThat(other.join()).isSameAs(response);
+    }
+
+    @Test
+    void exchangeIsAbortedOnceEveryCallerCancelled() {
+        final var first = pipeline.sendAsync(FakeHttp.get("/v1/mods/1"));
+        final var second = pipeline.sendAsync(FakeHttp.get("/v1/mods/1"));
+        first.cancel(true);
+        second.cancel(true);
+        assertThat(responses.get(0)).isCancelled();
+
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/1"));
+        assertThat(server.requestCount()).isEqualTo(2);
+    }
+
+    private HttpResponse<?> respond(int index) {
+        final var response = FakeHttp.response(server.received().get(index).httpRequest(), 200, "body");
+        responses.get(index).complete(response);
+        return response;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.stream.MalformedJsonException;
+
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.ConcurrencyLimiter.RejectionPolicy;
+import io.github.matyrobbrt.curseforgeapi.testing.FakeHttp;
+
+@SuppressWarnings("static-method")
+final class ConcurrencyLimiterTest {
+
+    @Test
+    void queuesRequestsOverTheLimit() {
+        final var server = new PendingServer();
+        final var limiter = ConcurrencyLimiter.builder().initialLimit(2).build();
+        final var pipeline = FakeHttp.pipeline(server.server, limiter);
+
+        final var futures = IntStream.range(0, 5).mapToObj(i -> pipeline.sendAsync(FakeHttp.get("/v1/mods/" + i))).toList();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getQueueDepth()).isEqualTo(3);
+        assertThat(server.server.requestCount()).isEqualTo(2);
+
+        server.respond(0, 200);
+        assertThat(futures.get(0)).isCompleted();
+        assertThat(server.server.requestCount()).isEqualTo(3);
+        assertThat(server.server.received().get(2).endpoint()).isEqualTo("/v1/mods/2");
+        assertThat(limiter.getQueueDepth()).isEqualTo(2);
+    }
+
+    @Test
+    void cancelledRequestsLeaveTheQueue() {
+        final var server = new PendingServer();
+        final var limiter = ConcurrencyLimiter.builder().initialLimit(1).build();
+        final var pipeline = FakeHttp.pipeline(server.server, limiter);
+
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/0"));
+        final var cancelled = pipeline.sendAsync(FakeHttp.get("/v1/mods/1"));
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/2"));
+        assertThat(limiter.getQueueDepth()).isEqualTo(2);
+
+        cancelled.cancel(true);
+        assertThat(limiter.getQueueDepth()).isOne();
+
+        server.respond(0, 200);
+        assertThat(server.server.received()).extracting(PipelineRequest::endpoint)
+            .containsExactly("/v1/mods/0", "/v1/mods/2");
+    }
+
+    @Test
+    void cancellingAnOuterFutureRemovesQueuedRequests() {
+        final var server = new PendingServer();
+        final var limiter = ConcurrencyLimiter.builder().initialLimit(1).build();
+        final var pipeline = FakeHttp.pipeline(server.server, new RequestInterceptor() {
+
+            @Override
+            public <T> CompletableFuture<HttpResponse<T>> intercept(Chain<T> chain) {
+                return chain.proceed().thenApply(Function.identity());
+            }
+        }, limiter);
+
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/0"));
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/1")).cancel(true);
+        assertThat(limiter.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void rejectsNewRequestsWhenTheQueueIsFull() {
+        final var server = new PendingServer();
+        final var pipeline = FakeHttp.pipeline(server.server, ConcurrencyLimiter.builder().initialLimit(1).maxQueueSize(1).build());
+
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/0"));
+        final var queued = pipeline.sendAsync(FakeHttp.get("/v1/mods/1"));
+        final var rejected = pipeline.sendAsync(FakeHttp.get("/v1/mods/2"));
+        assertThat(queued).isNotDone();
+        assertThatThrownBy(rejected::join).isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void discardsTheOldestQueuedRequest() {
+        final var server = new PendingServer();
+        final var pipeline = FakeHttp.pipeline(server.server, ConcurrencyLimiter.builder().initialLimit(1).maxQueueSize(1)
+            .rejectionPolicy(RejectionPolicy.DISCARD_OLDEST).build());
+
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/0"));
+        final var discarded = pipeline.sendAsync(FakeHttp.get("/v1/mods/1"));
+        final var queued = pipeline.sendAsync(FakeHttp.get("/v1/mods/2"));
+        assertThatThrownBy(discarded::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(queued).isNotDone();
+    }
+
+    @Test
+    void limitDecreasesOnFailures() {
+        final var server = new PendingServer();
+        final var limiter = ConcurrencyLimiter.builder().initialLimit(10).backoffRatio(0.5).build();
+        final var pipeline = FakeHttp.pipeline(server.server, limiter);
+
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/0"));
+        server.respond(0, 503);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void malformedBodiesDoNotDecreaseTheLimit() {
+        final var server = new PendingServer();
+        final var limiter = ConcurrencyLimiter.builder().initialLimit(10).backoffRatio(0.5).build();
+        final var pipeline = FakeHttp.pipeline(server.server, limiter);
+
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/0"));
+        server.responses.get(0).completeExceptionally(new UncheckedIOException(new MalformedJsonException("Unterminated object")));
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        pipeline.sendAsync(FakeHttp.get("/v1/mods/1"));
+        server.responses.get(1).completeExceptionally(new IOException("reset"));
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void blockingRequestsAreNotLimited() throws Exception {
+        final var server = FakeHttp.Server.answering(200, "");
+        final var limiter = ConcurrencyLimiter.builder().initialLimit(1).build();
+        final var pipeline = FakeHttp.pipeline(server, limiter);
+
+        pipeline.send(FakeHttp.get("/v1/games"));
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private static final class PendingServer {
+        final List<CompletableFuture<HttpResponse<?>>> responses = new CopyOnWriteArrayList<>();
+        final FakeHttp.Server server = new FakeHttp.Server(request -> {
+            final var future = new CompletableFuture<HttpResponse<?>>();
+            responses.add(future);
+            return future;
+        });
+
+        void respond(int index, int statusCode) {
+            final var request = server.received().get(index);
+            responses.get(index).complete(FakeHttp.response(request.httpRequest(), statusCode, ""));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.Method;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.RateLimiter.EndpointClass;
+import io.github.matyrobbrt.curseforgeapi.testing.FakeHttp;
+
+@SuppressWarnings("static-method")
+final class RateLimiterTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void burstIsAllowedImmediately() {
+        final var limiter = RateLimiter.builder().limit(1, 3).build();
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.reserve(EndpointClass.DEFAULT)).isZero();
+        }
+        assertThat(limiter.reserve(EndpointClass.DEFAULT)).isBetween(SECOND / 2, SECOND);
+        assertThat(limiter.reserve(EndpointClass.DEFAULT)).isBetween(SECOND * 3 / 2, SECOND * 2);
+    }
+
+    @Test
+    void endpointClassesAreLimitedSeparately() {
+        final var limiter = RateLimiter.builder().limit(1, 1).limit(EndpointClass.SEARCH, 1, 1).build();
+        assertThat(limiter.reserve(EndpointClass.DEFAULT)).isZero();
+        assertThat(limiter.reserve(EndpointClass.SEARCH)).isZero();
+        assertThat(limiter.reserve(EndpointClass.BULK)).isZero();
+        assertThat(limiter.reserve(EndpointClass.SEARCH)).isPositive();
+    }
+
+    @Test
+    void globalLimitAppliesToEveryClass() {
+        final var limiter = RateLimiter.builder().globalLimit(1, 1).build();
+        assertThat(limiter.reserve(EndpointClass.DEFAULT)).isZero();
+        assertThat(limiter.reserve(EndpointClass.SEARCH)).isPositive();
+    }
+
+    @Test
+    void unlimitedClassesNeverWait() {
+        final var limiter = RateLimiter.builder().limit(EndpointClass.UPLOAD, 1, 1).build();
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.reserve(EndpointClass.DEFAULT)).isZero();
+        }
+    }
+
+    @Test
+    void classifiesRequests() {
+        assertThat(EndpointClass.of(FakeHttp.get("/v1/mods/search?gameId=432"))).isEqualTo(EndpointClass.SEARCH);
+        assertThat(EndpointClass.of(FakeHttp.request(Method.POST, "/v1/mods/files", "{}"))).isEqualTo(EndpointClass.BULK);
+        assertThat(EndpointClass.of(FakeHttp.get("/v1/mods/1"))).isEqualTo(EndpointClass.DEFAULT);
+    }
+
+    @Test
+    void rejectsInvalidLimits() {
+        assertThatThrownBy(() -> RateLimiter.builder().limit(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimiter.builder().limit(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void interceptorDelaysRequestsOverTheLimit() {
+        final var server = FakeHttp.Server.answering(200, "");
+        final var pipeline = FakeHttp.pipeline(server, new RateLimitInterceptor(RateLimiter.builder().limit(5, 1).build()));
+
+        pipeline.sendAsync(FakeHttp.get("/v1/games")).join();
+        final var start = System.nanoTime();
+        final var delayed = pipeline.sendAsync(FakeHttp.get("/v1/games"));
+        assertThat(delayed).isNotDone();
+        delayed.join();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(server.requestCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.request.Method;
+import io.github.matyrobbrt.curseforgeapi.testing.FakeHttp;
+
+@SuppressWarnings("static-method")
+final class RequestPipelineTest {
+
+    @Test
+    void interceptorsRunInOrder() throws Exception {
+        final var calls = new ArrayList<String>();
+        final var pipeline = FakeHttp.pipeline(FakeHttp.Server.answering(200, "body"), recording("first", calls),
+            recording("second", calls));
+
+        assertThat(pipeline.send(FakeHttp.get("/v1/games")).body()).isEqualTo("body");
+        assertThat(calls).containsExactly("first", "second");
+    }
+
+    @Test
+    void interceptorsCanReplaceTheRequest() throws Exception {
+        final var server = FakeHttp.Server.answering(200, "body");
+        final var pipeline = FakeHttp.pipeline(server, new RequestInterceptor() {
+
+            @Override
+            public <T> CompletableFuture<HttpResponse<T>> intercept(Chain<T> chain) {
+                final var request = chain.request();
+                return chain.proceed(new PipelineRequest<>(request.target(), Method.POST, "/v1/mods", "{}",
+                    request.httpRequest(), request.bodyHandler()));
+            }
+        });
+
+        pipeline.sendAsync(FakeHttp.get("/v1/games")).join();
+        assertThat(server.received()).singleElement().satisfies(request -> {
+            assertThat(request.method()).isEqualTo(Method.POST);
+            assertThat(request.endpoint()).isEqualTo("/v1/mods");
+        });
+    }
+
+    @Test
+    void sendRethrowsIOExceptions() {
+        final var pipeline = FakeHttp.pipeline(new FakeHttp.Server(request -> CompletableFuture.failedFuture(new IOException("reset"))));
+
+        assertThatThrownBy(() -> pipeline.send(FakeHttp.get("/v1/games"))).isInstanceOf(IOException.class)
+            .hasMessage("reset");
+    }
+
+    private static RequestInterceptor recording(String name, List<String> calls) {
+        return new RequestInterceptor() {
+
+            @Override
+            public <T> CompletableFuture<HttpResponse<T>> intercept(Chain<T> chain) {
+                calls.add(name);
+                return chain.proceed();
+            }
+        };
+    }
+}
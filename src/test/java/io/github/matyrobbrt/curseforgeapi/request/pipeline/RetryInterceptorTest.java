@@ -0,0 +1,123 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.stream.MalformedJsonException;
+
+import io.github.matyrobbrt.curseforgeapi.request.Method;
+import io.github.matyrobbrt.curseforgeapi.testing.FakeHttp;
+
+@SuppressWarnings("static-method")
+final class RetryInterceptorTest {
+
+    private static final RetryInterceptor RETRY = new RetryInterceptor(RetryPolicy.builder()
+        .maxAttempts(3)
+        .baseDelay(Duration.ofMillis(1))
+        .maxDelay(Duration.ofMillis(5))
+        .build());
+
+    @Test
+    void retriesUntilSuccessful() throws Exception {
+        final var attempts = new AtomicInteger();
+        final var server = new FakeHttp.Server(request -> CompletableFuture.completedFuture(
+            FakeHttp.response(request.httpRequest(), attempts.incrementAndGet() < 3 ? 503 : 200, "body")));
+
+        assertThat(FakeHttp.pipeline(server, RETRY).send(FakeHttp.get("/v1/games")).statusCode()).isEqualTo(200);
+        assertThat(server.requestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void returnsTheLastResponseOnceAttemptsRunOut() {
+        final var server = FakeHttp.Server.answering(429, "slow down");
+
+        assertThat(FakeHttp.pipeline(server, RETRY).sendAsync(FakeHttp.get("/v1/games")).join().statusCode())
+            .isEqualTo(429);
+        assertThat(server.requestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void doesNotRetryOtherStatusCodes() throws Exception {
+        final var server = FakeHttp.Server.answering(404, "");
+
+        assertThat(FakeHttp.pipeline(server, RETRY).send(FakeHttp.get("/v1/mods/1")).statusCode()).isEqualTo(404);
+        assertThat(server.requestCount()).isOne();
+    }
+
+    @Test
+    void doesNotRetryNonIdempotentRequests() throws Exception {
+        final var server = FakeHttp.Server.answering(503, "");
+        final var pipeline = FakeHttp.pipeline(server, RETRY);
+
+        pipeline.send(FakeHttp.request(Method.POST, "/v1/mods/search", "{}"));
+        assertThat(server.requestCount()).isOne();
+
+        pipeline.send(FakeHttp.request(Method.POST, "/v1/mods", "{}"));
+        assertThat(server.requestCount()).isEqualTo(1 + 3);
+    }
+
+    @Test
+    void retriesIOExceptions() {
+        final var server = new FakeHttp.Server(request -> CompletableFuture.failedFuture(new IOException("reset")));
+
+        assertThatThrownBy(() -> FakeHttp.pipeline(server, RETRY).sendAsync(FakeHttp.get("/v1/games")).join())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(IOException.class);
+        assertThat(server.requestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void doesNotRetryMalformedBodies() {
+        final var server = new FakeHttp.Server(request -> CompletableFuture.failedFuture(
+            new UncheckedIOException(new MalformedJsonException("Unterminated object"))));
+
+        assertThatThrownBy(() -> FakeHttp.pipeline(server, RETRY).sendAsync(FakeHttp.get("/v1/games")).join())
+            .hasCauseInstanceOf(UncheckedIOException.class);
+        assertThat(server.requestCount()).isOne();
+    }
+
+    @Test
+    void doesNotRetryOtherExceptions() {
+        final var server = new FakeHttp.Server(request -> CompletableFuture.failedFuture(new IllegalStateException()));
+
+        assertThatThrownBy(() -> FakeHttp.pipeline(server, RETRY).send(FakeHttp.get("/v1/games")))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(server.requestCount()).isOne();
+    }
+}
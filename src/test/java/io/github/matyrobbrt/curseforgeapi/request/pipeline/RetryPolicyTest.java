@@ -0,0 +1,99 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.request.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.matyrobbrt.curseforgeapi.testing.FakeHttp;
+
+@SuppressWarnings("static-method")
+final class RetryPolicyTest {
+
+    private static final RetryPolicy POLICY = RetryPolicy.builder()
+        .baseDelay(Duration.ofMillis(100))
+        .maxDelay(Duration.ofSeconds(1))
+        .build();
+
+    @Test
+    void backoffIsBoundedByTheExponentialCap() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(POLICY.computeDelayNanos(1, null)).isBetween(0L, Duration.ofMillis(100).toNanos());
+            assertThat(POLICY.computeDelayNanos(3, null)).isBetween(0L, Duration.ofMillis(400).toNanos());
+            assertThat(POLICY.computeDelayNanos(40, null)).isBetween(0L, Duration.ofSeconds(1).toNanos());
+        }
+    }
+
+    @Test
+    void retryAfterSecondsWinsOverBackoff() {
+        final var response = FakeHttp.response(FakeHttp.get("/v1/games"), 429, "", "Retry-After", "0");
+        assertThat(POLICY.computeDelayNanos(5, response)).isZero();
+    }
+
+    @Test
+    void retryAfterIsCappedAtTheMaxDelay() {
+        final var response = FakeHttp.response(FakeHttp.get("/v1/games"), 429, "", "Retry-After", "120");
+        assertThat(POLICY.computeDelayNanos(1, response)).isEqualTo(Duration.ofSeconds(1).toNanos());
+    }
+
+    @Test
+    void retryAfterIsIgnoredWhenNotRespected() {
+        final var policy = RetryPolicy.builder().baseDelay(Duration.ZERO).respectRetryAfter(false).build();
+        final var response = FakeHttp.response(FakeHttp.get("/v1/games"), 429, "", "Retry-After", "10");
+        assertThat(policy.computeDelayNanos(1, response)).isZero();
+    }
+
+    @Test
+    void parsesRetryAfter() {
+        assertThat(RetryPolicy.parseRetryAfter(" 3 ")).isEqualTo(Duration.ofSeconds(3).toNanos());
+        assertThat(RetryPolicy.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT")).isZero();
+        final var inAMinute = ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(1).format(DateTimeFormatter.RFC_1123_DATE_TIME);
+        assertThat(RetryPolicy.parseRetryAfter(inAMinute)).isBetween(Duration.ofSeconds(50).toNanos(),
+            Duration.ofMinutes(1).toNanos());
+        assertThat(RetryPolicy.parseRetryAfter("soon")).isEqualTo(-1);
+    }
+
+    @Test
+    void retriesOnlyTheConfiguredStatusCodes() {
+        assertThat(RetryPolicy.DEFAULT.isRetryable(429)).isTrue();
+        assertThat(RetryPolicy.DEFAULT.isRetryable(503)).isTrue();
+        assertThat(RetryPolicy.DEFAULT.isRetryable(404)).isFalse();
+        assertThat(RetryPolicy.DEFAULT.isRetryable(500)).isFalse();
+
+        final var policy = RetryPolicy.builder().retryOn(Set.of(500)).build();
+        assertThat(policy.isRetryable(500)).isTrue();
+        assertThat(policy.isRetryable(429)).isFalse();
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.testing;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+import javax.net.ssl.SSLSession;
+
+import io.github.matyrobbrt.curseforgeapi.CurseForgeAPI;
+import io.github.matyrobbrt.curseforgeapi.request.Method;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.PipelineRequest;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.RequestInterceptor;
+import io.github.matyrobbrt.curseforgeapi.request.pipeline.RequestPipeline;
+
+/**
+ * Utilities for testing interceptors without a network, by replacing the
+ * server with a {@link Server} interceptor at the end of the pipeline.
+ * 
+ * @author matyrobbrt
+ */
+public final class FakeHttp {
+
+    private FakeHttp() {}
+
+    public static PipelineRequest<String> get(String endpoint) {
+        return request(Method.GET, endpoint, null);
+    }
+
+    public static PipelineRequest<String> request(Method method, String endpoint, String body) {
+        final var builder = HttpRequest.newBuilder(URI.create(CurseForgeAPI.REQUEST_TARGET + endpoint));
+        final var httpRequest = switch (method) {
+        case GET -> builder.GET();
+        case POST -> builder.POST(HttpRequest.BodyPublishers.ofString(body == null ? "" : body));
+        case PUT -> builder.PUT(HttpRequest.BodyPublishers.ofString(body == null ? "" : body));
+        };
+        return new PipelineRequest<>(PipelineRequest.Target.API, method, endpoint, body, httpRequest.build(),
+            HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Makes a response to the {@code request}.
+     * 
+     * @param headers the headers of the response, as name and value pairs
+     */
+    public static <T> HttpResponse<T> response(PipelineRequest<T> request, int statusCode, T body, String... headers) {
+        return response(request.httpRequest(), statusCode, body, headers);
+    }
+
+    public static <T> HttpResponse<T> response(HttpRequest request, int statusCode, T body, String... headers) {
+        final var map = new LinkedHashMap<String, List<String>>();
+        for (int i = 0; i < headers.length; i += 2) {
+            map.computeIfAbsent(headers[i], k -> new ArrayList<>()).add(headers[i + 1]);
+        }
+        return new FakeResponse<>(statusCode, request, HttpHeaders.of(map, (a, b) -> true), body);
+    }
+
+    /**
+     * Makes a response to the {@code request}, decoding the {@code body} with the
+     * body handler of the request, as if it was received from the network.
+     * 
+     * @param headers the headers of the response, as name and value pairs
+     */
+    public static <T> CompletableFuture<HttpResponse<T>> exchange(PipelineRequest<T> request, int statusCode, String body,
+        String... headers) {
+        final var response = response(request, statusCode, null, headers);
+        final var subscriber = request.bodyHandler().apply(new HttpResponse.ResponseInfo() {
+
+            @Override
+            public int statusCode() {
+                return statusCode;
+            }
+
+            @Override
+            public HttpHeaders headers() {
+                return response.headers();
+            }
+
+            @Override
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_1_1;
+            }
+        });
+        subscriber.onSubscribe(new Flow.Subscription() {
+
+            @Override
+            public void request(long n) {}
+
+            @Override
+            public void cancel() {}
+        });
+        final var bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0) {
+            subscriber.onNext(List.of(ByteBuffer.wrap(bytes)));
+        }
+        subscriber.onComplete();
+        return subscriber.getBody().toCompletableFuture()
+            .thenApply(decoded -> new FakeResponse<>(statusCode, request.httpRequest(), response.headers(), decoded));
+    }
+
+    /**
+     * Makes a pipeline ending with the {@code server}.
+     */
+    public static RequestPipeline pipeline(Server server, RequestInterceptor... interceptors) {
+        final var all = new ArrayList<RequestInterceptor>(List.of(interceptors));
+        all.add(server);
+        return new RequestPipeline(HttpClient.newHttpClient(), all);
+    }
+
+    /**
+     * An interceptor answering requests with the responses of its handler, and
+     * recording the requests it received.
+     */
+    public static final class Server implements RequestInterceptor {
+
+        private final Function<PipelineRequest<?>, CompletableFuture<? extends HttpResponse<?>>> handler;
+        private final List<PipelineRequest<?>> received = Collections.synchronizedList(new ArrayList<>());
+
+        public Server(Function<PipelineRequest<?>, CompletableFuture<? extends HttpResponse<?>>> handler) {
+            this.handler = handler;
+        }
+
+        /**
+         * Makes a server answering every request with the given status code and
+         * body.
+         */
+        public static Server answering(int statusCode, String body, String... headers) {
+            return new Server(request -> CompletableFuture.completedFuture(response(request.httpRequest(), statusCode, body, headers)));
+        }
+
+        /**
+         * Makes a server answering every request with the given status code and
+         * body, decoded with the body handler of the request.
+         */
+        public static Server decoding(int statusCode, String body, String... headers) {
+            return new Server(request -> exchange(request, statusCode, body, headers));
+        }
+
+        public List<PipelineRequest<?>> received() {
+            return received;
+        }
+
+        public int requestCount() {
+            return received.size();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> CompletableFuture<HttpResponse<T>> intercept(Chain<T> chain) {
+            received.add(chain.request());
+            return (CompletableFuture<HttpResponse<T>>) (CompletableFuture<?>) handler.apply(chain.request());
+        }
+    }
+
+    private record FakeResponse<T> (int statusCode, HttpRequest request, HttpHeaders headers, T body) implements HttpResponse<T> {
+
+        @Override
+        public Optional<HttpResponse<T>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return Optional.empty();
+        }
+
+        @Override
+        public URI uri() {
+            return request.uri();
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return HttpClient.Version.HTTP_1_1;
+        }
+    }
+}
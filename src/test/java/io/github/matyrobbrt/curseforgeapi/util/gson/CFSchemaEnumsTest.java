@@ -0,0 +1,92 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.util.gson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import io.github.matyrobbrt.curseforgeapi.schemas.file.FileReleaseType;
+import io.github.matyrobbrt.curseforgeapi.schemas.mod.ModLoaderType;
+
+@SuppressWarnings("static-method")
+final class CFSchemaEnumsTest {
+
+    private static final TypeToken<List<FileReleaseType>> RELEASE_TYPES = new TypeToken<>() {};
+
+    @Test
+    void decodesIdsFromTheFirstId() {
+        final var gson = CFSchemaEnums.DEFAULT.registerTo(new GsonBuilder()).create();
+
+        assertThat(gson.fromJson("[1,2,3]", RELEASE_TYPES)).containsExactly(FileReleaseType.RELEASE, FileReleaseType.BETA,
+            FileReleaseType.ALPHA);
+        assertThat(gson.fromJson("0", ModLoaderType.class)).isEqualTo(ModLoaderType.ANY);
+        assertThat(gson.fromJson("1", ModLoaderType.class)).isEqualTo(ModLoaderType.FORGE);
+    }
+
+    @Test
+    void unknownIdsDecodeToNullByDefault() {
+        final var gson = CFSchemaEnums.DEFAULT.registerTo(new GsonBuilder()).create();
+
+        assertThat(gson.fromJson("[0,2,99,null]", RELEASE_TYPES)).containsExactly(null, FileReleaseType.BETA, null, null);
+        assertThat(CFSchemaEnums.DEFAULT.byId(ModLoaderType.class, -1)).isNull();
+    }
+
+    @Test
+    void unknownIdsDecodeToTheConfiguredValue() {
+        final var enums = CFSchemaEnums.DEFAULT.withUnknown(ModLoaderType.class, ModLoaderType.ANY);
+        final Gson gson = enums.registerTo(new GsonBuilder()).create();
+
+        assertThat(gson.fromJson("42", ModLoaderType.class)).isEqualTo(ModLoaderType.ANY);
+        // The ids of the known constants are kept
+        assertThat(gson.fromJson("4", ModLoaderType.class)).isEqualTo(ModLoaderType.FABRIC);
+        assertThat(gson.fromJson("null", ModLoaderType.class)).isNull();
+        // The default registry is left untouched
+        assertThat(CFSchemaEnums.DEFAULT.byId(ModLoaderType.class, 42)).isNull();
+    }
+
+    @Test
+    void writesIds() {
+        final var gson = CFSchemaEnums.DEFAULT.registerTo(new GsonBuilder()).create();
+
+        assertThat(gson.toJson(List.of(FileReleaseType.ALPHA, FileReleaseType.RELEASE))).isEqualTo("[3,1]");
+        assertThat(gson.toJson(ModLoaderType.NEOFORGE)).isEqualTo("6");
+    }
+
+    @Test
+    void rejectsUnknownEnums() {
+        assertThatThrownBy(() -> CFSchemaEnums.DEFAULT.adapter(Thread.State.class)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
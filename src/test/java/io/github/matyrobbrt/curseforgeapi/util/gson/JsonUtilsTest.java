@@ -0,0 +1,115 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.util.gson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+@SuppressWarnings("static-method")
+final class JsonUtilsTest {
+
+    private static final Gson GSON = new Gson();
+    private static final TypeAdapter<Integer> INT = GSON.getAdapter(Integer.class);
+    private static final TypeAdapter<String> STRING = GSON.getAdapter(String.class);
+    private static final TypeAdapter<List<Integer>> INT_LIST = GSON.getAdapter(new TypeToken<>() {});
+
+    @Test
+    void readPathReadsNestedValues() throws IOException {
+        final var reader = reader("{\"skip\":{\"data\":{\"ids\":[0]}},\"data\":{\"before\":[1,{\"x\":2}],\"ids\":[4,5],\"after\":true}}");
+
+        assertThat(JsonUtils.readPath(reader, JsonUtils.splitPath("data.ids"), INT_LIST)).containsExactly(4, 5);
+        assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+    }
+
+    @Test
+    void readPathReturnsNullForMissingPaths() throws IOException {
+        assertThat(JsonUtils.readPath(reader("{\"data\":{\"other\":1}}"), new String[] {
+            "data", "ids"
+        }, INT_LIST)).isNull();
+        // The path goes through a value which is not an object
+        final var reader = reader("{\"data\":[1,2],\"next\":3}");
+        assertThat(JsonUtils.readPath(reader, new String[] {
+            "data", "ids"
+        }, INT_LIST)).isNull();
+        assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+    }
+
+    @Test
+    void readPathWithAnEmptyPathReadsTheWholeValue() throws IOException {
+        assertThat(JsonUtils.readPath(reader("[7]"), new String[0], INT_LIST)).containsExactly(7);
+    }
+
+    @Test
+    void readMembersReadsInTheOrderOfTheMembers() throws IOException {
+        final var reader = reader("{\"b\":\"two\",\"ignored\":{\"a\":9},\"a\":1}");
+        final var values = JsonUtils.readMembers(reader, new String[] {
+            "a", "b", "c"
+        }, new TypeAdapter<?>[] {
+            INT, STRING, INT
+        });
+
+        assertThat(values).containsExactly(1, "two", null);
+        assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+    }
+
+    @Test
+    void readMembersOfNullIsAllNulls() throws IOException {
+        assertThat(JsonUtils.readMembers(reader("null"), new String[] {
+            "a", "b"
+        }, new TypeAdapter<?>[] {
+            INT, STRING
+        })).containsExactly(null, null);
+    }
+
+    @Test
+    void getPathMatchesReadPath() throws IOException {
+        final var json = "{\"data\":{\"ids\":[4,5],\"name\":\"n\"}}";
+        final var object = JsonParser.parseString(json).getAsJsonObject();
+
+        assertThat(JsonUtils.getPath(object, JsonUtils.splitPath("data.ids"))).isEqualTo(JsonParser.parseString("[4,5]"));
+        assertThat(JsonUtils.getPath(object, JsonUtils.splitPath("data.name.length"))).isNull();
+        assertThat(JsonUtils.getPath(object, JsonUtils.splitPath("missing.ids"))).isNull();
+        assertThat(JsonUtils.splitPath("data.ids")).containsExactly("data", "ids");
+    }
+
+    private static JsonReader reader(String json) {
+        return new JsonReader(new StringReader(json));
+    }
+}
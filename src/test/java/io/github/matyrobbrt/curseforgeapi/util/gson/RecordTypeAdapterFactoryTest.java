@@ -0,0 +1,92 @@
+/*
+ * This file is part of the CurseForge Java API library and is licensed under
+ * the MIT license:
+ *
+ * MIT License
+ *
+ * Copyright (c) 2022 Matyrobbrt
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.matyrobbrt.curseforgeapi.util.gson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+@SuppressWarnings("static-method")
+final class RecordTypeAdapterFactoryTest {
+
+    private static final Gson GSON = new GsonBuilder().registerTypeAdapterFactory(new RecordTypeAdapterFactory()).create();
+
+    record Primitives(int id, long size, double score, boolean enabled, char flag, String name) {}
+
+    record Outer(String name, Primitives inner, List<Integer> values) {}
+
+    private record Hidden(int id) {}
+
+    @Test
+    void missingComponentsUseTheirDefaults() {
+        final var decoded = GSON.fromJson("{}", Primitives.class);
+
+        assertThat(decoded).isEqualTo(new Primitives(0, 0L, 0D, false, '\0', null));
+    }
+
+    @Test
+    void explicitNullsKeepTheDefaultsOfPrimitives() {
+        final var decoded = GSON.fromJson("{\"id\":null,\"enabled\":null,\"name\":null}", Primitives.class);
+
+        assertThat(decoded).isEqualTo(new Primitives(0, 0L, 0D, false, '\0', null));
+    }
+
+    @Test
+    void unknownMembersAreSkipped() {
+        final var decoded = GSON.fromJson("{\"extra\":{\"nested\":[1,2,{\"a\":null}]},\"id\":4,\"other\":\"x\",\"name\":\"n\",\"size\":9}",
+            Primitives.class);
+
+        assertThat(decoded).isEqualTo(new Primitives(4, 9L, 0D, false, '\0', "n"));
+    }
+
+    @Test
+    void decodesNestedRecordsAndGenericComponents() {
+        final var decoded = GSON.fromJson("{\"name\":\"outer\",\"inner\":{\"id\":1,\"enabled\":true},\"values\":[3,1,2]}",
+            Outer.class);
+
+        assertThat(decoded).isEqualTo(new Outer("outer", new Primitives(1, 0L, 0D, true, '\0', null), List.of(3, 1, 2)));
+        assertThat(GSON.fromJson("null", Outer.class)).isNull();
+    }
+
+    @Test
+    void decodesRecordsWithNonPublicConstructors() {
+        assertThat(GSON.fromJson("{\"id\":7}", Hidden.class)).isEqualTo(new Hidden(7));
+    }
+
+    @Test
+    void writesThroughTheDelegate() {
+        final var value = new Outer("o", new Primitives(1, 2L, 0.5D, true, 'c', "i"), List.of(1));
+
+        assertThat(GSON.fromJson(GSON.toJson(value), Outer.class)).isEqualTo(value);
+    }
+}